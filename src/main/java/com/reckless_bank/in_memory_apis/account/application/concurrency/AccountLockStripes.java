@@ -0,0 +1,128 @@
+package com.reckless_bank.in_memory_apis.account.application.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of locks that account mutations are striped across.
+ * Only operations touching the same stripe are serialized, so independent
+ * transfers proceed in parallel while operations on the same account stay
+ * consistent. Multi-account operations acquire their stripes in index order
+ * to avoid deadlock.
+ */
+@Component
+public class AccountLockStripes {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public AccountLockStripes(@Value("${bank.locking.stripes:1024}") int stripes) {
+        if (stripes <= 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Lock stripes must be between 1 and " + MAX_STRIPES);
+        }
+        // Round up to a power of two so the stripe index is a mask, not a modulo
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Runs the action while holding the stripe of a single account.
+     * @param accountId The account being mutated
+     * @param action The work to run under the lock
+     * @return The action's result
+     */
+    public <T> T withLock(String accountId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeOf(accountId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripes of both accounts.
+     * Stripes are always acquired lowest index first, and only once when both
+     * accounts hash to the same stripe.
+     * @param firstAccountId One account being mutated
+     * @param secondAccountId The other account being mutated
+     * @param action The work to run under the locks
+     * @return The action's result
+     */
+    public <T> T withLocks(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        int first = stripeOf(firstAccountId);
+        int second = stripeOf(secondAccountId);
+        if (first == second) {
+            return withLock(firstAccountId, action);
+        }
+
+        ReentrantLock lower = locks[Math.min(first, second)];
+        ReentrantLock upper = locks[Math.max(first, second)];
+        lower.lock();
+        try {
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripes of every given account.
+     * Distinct stripes are acquired in ascending index order, as in the two-account case.
+     * @param accountIds The accounts being mutated; nulls are ignored
+     * @param action The work to run under the locks
+     * @return The action's result
+     */
+    public <T> T withLocks(Collection<String> accountIds, Supplier<T> action) {
+        BitSet stripes = new BitSet(locks.length);
+        for (String accountId : accountIds) {
+            if (accountId != null) {
+                stripes.set(stripeOf(accountId));
+            }
+        }
+        int acquired = 0;
+        int[] held = new int[stripes.cardinality()];
+        try {
+            for (int stripe = stripes.nextSetBit(0); stripe >= 0; stripe = stripes.nextSetBit(stripe + 1)) {
+                locks[stripe].lock();
+                held[acquired++] = stripe;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[held[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stripes after rounding to a power of two.
+     * @return The stripe count
+     */
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    int stripeOf(String accountId) {
+        int h = accountId.hashCode();
+        // Spread the high bits down, as ConcurrentHashMap does, so sequential IDs don't cluster
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,161 @@
+package com.reckless_bank.in_memory_apis.account.application.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Multi-producer, single-consumer ring buffer that applies commands on one
+ * dedicated thread in the order they were claimed.
+ * Slots are allocated once up front; producers claim a sequence with a single
+ * atomic increment, fill the slot and publish it, and the consumer thread runs
+ * the handler and completes the caller's future. Because only the consumer
+ * applies commands, the handler needs no locking of its own.
+ */
+public final class CommandSequencer<C, R> implements AutoCloseable {
+
+    private static final int SPIN_TRIES = 1_000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    // Set as the claim counter by the exiting consumer, so every later claim is negative
+    private static final long SEALED = Long.MIN_VALUE;
+
+    private static final class Slot<C, R> {
+        // Sequence of the command currently held; written last by the producer to publish it
+        volatile long published = -1;
+        C command;
+        CompletableFuture<R> future;
+    }
+
+    private final Slot<C, R>[] slots;
+    private final int mask;
+    private final Function<C, R> handler;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Thread consumer;
+
+    // Next sequence the consumer will read; every slot below it may be reused
+    private volatile long nextToConsume;
+    private volatile boolean consumerIdle;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public CommandSequencer(int capacity, String threadName, Function<C, R> handler) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a positive power of two");
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot<>();
+        }
+        this.mask = capacity - 1;
+        this.handler = handler;
+        this.consumer = new Thread(this::consumeLoop, threadName);
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Publishes a command for the sequencer thread.
+     * Blocks while the ring is full, i.e. while the consumer is a full lap behind.
+     * @param command The command to apply
+     * @return Future completed with the handler's result, or exceptionally with what it threw
+     * @throws IllegalStateException If the sequencer has been closed
+     */
+    public CompletableFuture<R> submit(C command) {
+        if (!running) {
+            throw new IllegalStateException("Sequencer has been closed");
+        }
+        long sequence = claimed.getAndIncrement();
+        if (sequence < 0) {
+            // Claimed after the consumer sealed the ring on its way out, nobody would apply it
+            throw new IllegalStateException("Sequencer has been closed");
+        }
+        Slot<C, R> slot = slots[(int) (sequence & mask)];
+        int tries = 0;
+        while (sequence - slots.length >= nextToConsume) {
+            // Wait for the consumer to release this slot from the previous lap
+            backOff(++tries);
+        }
+
+        CompletableFuture<R> future = new CompletableFuture<>();
+        slot.command = command;
+        slot.future = future;
+        slot.published = sequence;
+
+        if (consumerIdle) {
+            LockSupport.unpark(consumer);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of commands published but not yet taken by the consumer.
+     * @return The current ring backlog
+     */
+    public long backlog() {
+        return Math.max(0, claimed.get() - nextToConsume);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consumeLoop() {
+        long next = 0;
+        int idleTries = 0;
+        while (true) {
+            Slot<C, R> slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                // Sealing fails if a producer claimed a slot since, and that command is applied first
+                if (!running && claimed.compareAndSet(next, SEALED)) {
+                    return;
+                }
+                idleTries = idle(slot, next, ++idleTries);
+                continue;
+            }
+            idleTries = 0;
+
+            C command = slot.command;
+            CompletableFuture<R> future = slot.future;
+            slot.command = null;
+            slot.future = null;
+            nextToConsume = ++next;
+
+            try {
+                future.complete(handler.apply(command));
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private int idle(Slot<C, R> slot, long expected, int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+            return tries;
+        }
+        // Producers check consumerIdle after publishing, so re-check once it is set before parking
+        consumerIdle = true;
+        if (slot.published != expected && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        consumerIdle = false;
+        return 0;
+    }
+
+    private static void backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
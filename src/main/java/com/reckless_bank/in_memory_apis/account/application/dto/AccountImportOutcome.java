@@ -0,0 +1,19 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one line of a bulk account import.
+ * Carries the assigned account ID on success, or the reason the line was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountImportOutcome(long line, String accountId, String error) {
+    
+    public static AccountImportOutcome created(long line, String accountId) {
+        return new AccountImportOutcome(line, accountId, null);
+    }
+    
+    public static AccountImportOutcome rejected(long line, String error) {
+        return new AccountImportOutcome(line, null, error);
+    }
+}
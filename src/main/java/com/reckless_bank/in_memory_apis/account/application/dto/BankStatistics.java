@@ -0,0 +1,21 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Bank-wide figures: how many accounts there are, how many hold money, the money held,
+ * and what moved today.
+ */
+public record BankStatistics(long accounts, long activeAccounts, BigDecimal totalDeposits, DailyFlow today) {
+
+    /**
+     * Money moved by successful operations on one UTC day. Transfers stay inside the bank,
+     * so only deposits and withdrawals change the total held.
+     */
+    public record DailyFlow(@JsonFormat(shape = JsonFormat.Shape.STRING) LocalDate date, BigDecimal deposited,
+                            BigDecimal withdrawn, BigDecimal transferred, BigDecimal netFlow) {
+    }
+}
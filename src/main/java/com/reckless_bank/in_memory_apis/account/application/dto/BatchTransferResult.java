@@ -0,0 +1,14 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch of transfers, with one entry per request in request order.
+ */
+public record BatchTransferResult(boolean atomic, int succeeded, int failed, List<TransferOutcome> results) {
+    
+    public static BatchTransferResult of(boolean atomic, List<TransferOutcome> results) {
+        int succeeded = (int) results.stream().filter(r -> r.status() == TransferOutcome.Status.SUCCEEDED).count();
+        return new BatchTransferResult(atomic, succeeded, results.size() - succeeded, results);
+    }
+}
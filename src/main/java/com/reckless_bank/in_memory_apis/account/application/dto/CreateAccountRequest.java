@@ -1,14 +1,45 @@
 package com.reckless_bank.in_memory_apis.account.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+
 import java.math.BigDecimal;
 
-public record CreateAccountRequest(String accountHolder, BigDecimal initialBalance) {
+/**
+ * An account-opening request. The initial balance is converted to minor units once, when the
+ * request is built; it is exposed as a decimal only through {@link #initialBalance()}.
+ */
+@JsonPropertyOrder({"accountHolder", "initialBalance"})
+public record CreateAccountRequest(String accountHolder, @JsonIgnore long initialBalanceCents) {
     public CreateAccountRequest {
         if (accountHolder == null || accountHolder.trim().isEmpty()) {
             throw new IllegalArgumentException("Account holder cannot be null or empty");
         }
-        if (initialBalance == null || initialBalance.compareTo(BigDecimal.ZERO) < 0) {
+        if (initialBalanceCents < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be null or negative");
+        }
+    }
+    
+    // Boundary constructor taking a decimal balance
+    @JsonCreator
+    public CreateAccountRequest(@JsonProperty("accountHolder") String accountHolder,
+                                @JsonProperty("initialBalance") BigDecimal initialBalance) {
+        this(accountHolder, toInitialBalanceCents(initialBalance));
+    }
+    
+    // Decimal view of the initial balance, used at the JSON boundary
+    @JsonProperty("initialBalance")
+    public BigDecimal initialBalance() {
+        return Money.fromCents(initialBalanceCents);
+    }
+    
+    private static long toInitialBalanceCents(BigDecimal initialBalance) {
+        if (initialBalance == null || initialBalance.signum() < 0) {
             throw new IllegalArgumentException("Initial balance cannot be null or negative");
         }
+        return Money.toCents(initialBalance); // Rejects balances finer than a minor unit
     }
 }
@@ -1,12 +1,39 @@
 package com.reckless_bank.in_memory_apis.account.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+
 import java.math.BigDecimal;
 
-public record TransactionRequest(BigDecimal amount) {
+/**
+ * A single-account deposit or withdrawal body. The amount is converted to minor units once,
+ * when the request is built; it is exposed as a decimal only through {@link #amount()}.
+ */
+public record TransactionRequest(@JsonIgnore long amountCents) {
     public TransactionRequest {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Transaction amount must be positive");
         }
     }
 
+    // Boundary constructor taking a decimal amount
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public TransactionRequest(@JsonProperty("amount") BigDecimal amount) {
+        this(toAmountCents(amount));
+    }
+
+    // Decimal view of the amount, used at the JSON boundary and in error messages
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.fromCents(amountCents);
+    }
+
+    private static long toAmountCents(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Transaction amount must be positive");
+        }
+        return Money.toCents(amount); // Rejects amounts finer than a minor unit
+    }
 }
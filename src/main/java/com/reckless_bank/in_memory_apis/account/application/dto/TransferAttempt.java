@@ -0,0 +1,37 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+/**
+ * Result of a deposit, withdrawal or transfer: the updated accounts if it was applied,
+ * or why it was declined. Exactly one of the two is set.
+ */
+public record TransferAttempt(TransferResult result, TransferFailure failure) {
+
+    public TransferAttempt {
+        if ((result == null) == (failure == null)) {
+            throw new IllegalArgumentException("Exactly one of result and failure must be provided");
+        }
+    }
+
+    public static TransferAttempt succeeded(TransferResult result) {
+        return new TransferAttempt(result, null);
+    }
+
+    public static TransferAttempt failed(TransferFailure failure) {
+        return new TransferAttempt(null, failure);
+    }
+
+    public boolean succeeded() {
+        return result != null;
+    }
+
+    /**
+     * @return The updated accounts
+     * @throws RuntimeException The failure's exception if it was declined
+     */
+    public TransferResult orElseThrow() {
+        if (failure != null) {
+            throw failure.toException();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+
+/**
+ * An expected reason for a deposit, withdrawal or transfer to be declined, returned as a
+ * value instead of thrown. Amounts are in cents and only set for insufficient funds.
+ */
+public record TransferFailure(Reason reason, String accountId, long requestedCents, long availableCents) {
+
+    public enum Reason {
+        ACCOUNT_NOT_FOUND,
+        INSUFFICIENT_FUNDS
+    }
+
+    public static TransferFailure accountNotFound(String accountId) {
+        return new TransferFailure(Reason.ACCOUNT_NOT_FOUND, accountId, 0, 0);
+    }
+
+    public static TransferFailure insufficientFunds(String accountId, long requestedCents, long availableCents) {
+        return new TransferFailure(Reason.INSUFFICIENT_FUNDS, accountId, requestedCents, availableCents);
+    }
+
+    /**
+     * @return The exception callers of the throwing API get for this failure
+     */
+    public RuntimeException toException() {
+        return switch (reason) {
+            case ACCOUNT_NOT_FOUND -> new AccountNotFoundException(accountId);
+            case INSUFFICIENT_FUNDS -> new InsufficientFundsException(accountId,
+                Money.fromCents(requestedCents), Money.fromCents(availableCents));
+        };
+    }
+
+    /**
+     * @return The message {@link #toException()} would carry, formatted without building the exception
+     */
+    public String message() {
+        return switch (reason) {
+            case ACCOUNT_NOT_FOUND -> AccountNotFoundException.messageFor(accountId);
+            case INSUFFICIENT_FUNDS -> InsufficientFundsException.messageFor(accountId,
+                Money.toPlainString(requestedCents), Money.toPlainString(availableCents));
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.reckless_bank.in_memory_apis.account.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+
+/**
+ * Result of one item in a batch of transfers.
+ * Accounts are present for applied items; error and message for the failed one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransferOutcome(int index, Status status, Account fromAccount, Account toAccount,
+                              String error, String message) {
+    
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        // Would have succeeded, but a later item in an all-or-nothing batch failed, so none was applied
+        ROLLED_BACK,
+        // Skipped because an earlier item in an all-or-nothing batch failed
+        NOT_ATTEMPTED
+    }
+    
+    public static TransferOutcome succeeded(int index, TransferResult result) {
+        return new TransferOutcome(index, Status.SUCCEEDED, result.fromAccount(), result.toAccount(), null, null);
+    }
+    
+    public static TransferOutcome failed(int index, String error, String message) {
+        return new TransferOutcome(index, Status.FAILED, null, null, error, message);
+    }
+    
+    public static TransferOutcome rolledBack(int index) {
+        return new TransferOutcome(index, Status.ROLLED_BACK, null, null, null, null);
+    }
+    
+    public static TransferOutcome notAttempted(int index) {
+        return new TransferOutcome(index, Status.NOT_ATTEMPTED, null, null, null, null);
+    }
+}
@@ -1,8 +1,19 @@
 package com.reckless_bank.in_memory_apis.account.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+
 import java.math.BigDecimal;
 
-public record TransferRequest(String fromAccountId, String toAccountId, BigDecimal amount) {
+/**
+ * A deposit, withdrawal or transfer. The amount is converted to minor units once, when the
+ * request is built; it is exposed as a decimal only through {@link #amount()}.
+ */
+@JsonPropertyOrder({"fromAccountId", "toAccountId", "amount"})
+public record TransferRequest(String fromAccountId, String toAccountId, @JsonIgnore long amountCents) {
     public TransferRequest {
         // At least one account must be specified
         if ((fromAccountId == null || fromAccountId.trim().isEmpty()) && 
@@ -17,8 +28,29 @@ public record TransferRequest(String fromAccountId, String toAccountId, BigDecim
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
         
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+    }
+    
+    // Boundary constructor taking a decimal amount
+    @JsonCreator
+    public TransferRequest(@JsonProperty("fromAccountId") String fromAccountId,
+                           @JsonProperty("toAccountId") String toAccountId,
+                           @JsonProperty("amount") BigDecimal amount) {
+        this(fromAccountId, toAccountId, toAmountCents(amount));
+    }
+    
+    // Decimal view of the amount, used at the JSON boundary and in error messages
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.fromCents(amountCents);
+    }
+    
+    private static long toAmountCents(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
+        return Money.toCents(amount); // Rejects amounts finer than a minor unit
     }
-}
\ No newline at end of file
+}
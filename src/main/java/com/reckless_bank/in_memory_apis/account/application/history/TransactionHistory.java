@@ -0,0 +1,206 @@
+package com.reckless_bank.in_memory_apis.account.application.history;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountTransaction;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recent transactions of every account, kept in memory.
+ * Each account has a ring of packed primitive entries that starts small and doubles up to
+ * {@code bank.history.capacity} entries (default 256); once full, the oldest entry is
+ * folded into a per-account count and net balance change instead of being kept.
+ * A capacity of 0 disables recording. History starts empty at startup: recovery
+ * restores balances, not the operations that produced them.
+ */
+@Component
+public class TransactionHistory {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final AccountTransaction.Type[] TYPES = AccountTransaction.Type.values();
+
+    private final int capacity;
+    private final Map<String, AccountLog> logs = new ConcurrentHashMap<>();
+
+    public TransactionHistory(@Value("${bank.history.capacity:256}") int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("History capacity cannot be negative");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a deposit or withdrawal with the journal entry's timestamp.
+     * @param entry The journaled mutation
+     * @param balanceAfterCents The account's balance once it was applied
+     */
+    public void record(JournalEntry entry, long balanceAfterCents) {
+        if (capacity == 0) {
+            return;
+        }
+        switch (entry.type()) {
+            case DEPOSIT -> logOf(entry.accountId()).append(AccountTransaction.Type.DEPOSIT, null,
+                entry.amountCents(), balanceAfterCents, entry.timestamp());
+            case WITHDRAWAL -> logOf(entry.accountId()).append(AccountTransaction.Type.WITHDRAWAL, null,
+                -entry.amountCents(), balanceAfterCents, entry.timestamp());
+            default -> throw new IllegalArgumentException("Not a single-account transaction: " + entry.type());
+        }
+    }
+
+    /**
+     * Records both legs of a transfer with the journal entry's timestamp.
+     * @param entry The journaled transfer
+     * @param fromBalanceAfterCents The source account's balance once it was applied
+     * @param toBalanceAfterCents The destination account's balance once it was applied
+     */
+    public void recordTransfer(JournalEntry entry, long fromBalanceAfterCents, long toBalanceAfterCents) {
+        if (capacity == 0) {
+            return;
+        }
+        logOf(entry.accountId()).append(AccountTransaction.Type.TRANSFER_OUT, entry.counterpartyId(),
+            -entry.amountCents(), fromBalanceAfterCents, entry.timestamp());
+        logOf(entry.counterpartyId()).append(AccountTransaction.Type.TRANSFER_IN, entry.accountId(),
+            entry.amountCents(), toBalanceAfterCents, entry.timestamp());
+    }
+
+    /**
+     * Returns up to {@code limit} of the account's retained entries, newest first.
+     * Entries are listed in the order they were recorded; transfers on one account are
+     * recorded in the order they were applied, but a deposit or withdrawal racing another
+     * operation on the same account may be listed either side of it.
+     * @param accountId The account
+     * @param cursor The previous page's next cursor, or null for the newest entries
+     * @param limit Maximum number of entries, at least 1
+     * @return The page, empty if the account has no recorded transactions
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public TransactionPage findPage(String accountId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        long before = cursor == null ? Long.MAX_VALUE : sequenceOf(cursor);
+        AccountLog log = logs.get(accountId);
+        if (log == null) {
+            return new TransactionPage(List.of(), null, 0, 0);
+        }
+        return log.page(before, limit);
+    }
+
+    /**
+     * Forgets every account's history.
+     */
+    public void clear() {
+        logs.clear();
+    }
+
+    private AccountLog logOf(String accountId) {
+        AccountLog log = logs.get(accountId);
+        return log != null ? log : logs.computeIfAbsent(accountId, id -> new AccountLog(capacity));
+    }
+
+    private static long sequenceOf(String cursor) {
+        try {
+            long sequence = Long.parseLong(cursor);
+            if (sequence > 0) {
+                return sequence;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through to the common rejection
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+
+    // Entry n (sequence n + 1) occupies slot n % slots: three consecutive longs in entries
+    // (signed amount, balance after, timestamp << 2 | type), so an append touches one or two
+    // cache lines, plus the counterparty reference. The arrays only grow while nothing has
+    // been evicted, so growing never moves a retained entry. Guarded by a ReentrantLock rather
+    // than a monitor so a virtual thread waiting on a hot account parks instead of pinning its carrier
+    private static final class AccountLog {
+
+        private static final int STRIDE = 3;
+        private static final int TYPE_BITS = 2;
+
+        private final int capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] entries;
+        private String[] counterparties;
+        // Slot the next entry goes to
+        private int head;
+        private long appended;
+        private long compactedCount;
+        private long compactedNetCents;
+
+        AccountLog(int capacity) {
+            this.capacity = capacity;
+            int slots = Math.min(INITIAL_CAPACITY, capacity);
+            entries = new long[slots * STRIDE];
+            counterparties = new String[slots];
+        }
+
+        void append(AccountTransaction.Type type, String counterpartyId, long signedAmountCents,
+                    long balanceAfterCents, long timestamp) {
+            lock.lock();
+            try {
+                appendLocked(type, counterpartyId, signedAmountCents, balanceAfterCents, timestamp);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        TransactionPage page(long beforeSequence, int limit) {
+            lock.lock();
+            try {
+                return pageLocked(beforeSequence, limit);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void appendLocked(AccountTransaction.Type type, String counterpartyId, long signedAmountCents,
+                                  long balanceAfterCents, long timestamp) {
+            int slots = counterparties.length;
+            if (appended == slots && slots < capacity) {
+                slots = Math.min(capacity, slots * 2);
+                entries = Arrays.copyOf(entries, slots * STRIDE);
+                counterparties = Arrays.copyOf(counterparties, slots);
+                head = (int) appended;
+            }
+            int base = head * STRIDE;
+            if (appended >= slots) {
+                compactedCount++;
+                compactedNetCents += entries[base];
+            }
+            entries[base] = signedAmountCents;
+            entries[base + 1] = balanceAfterCents;
+            entries[base + 2] = timestamp << TYPE_BITS | type.ordinal();
+            counterparties[head] = counterpartyId;
+            head = head + 1 == slots ? 0 : head + 1;
+            appended++;
+        }
+
+        private TransactionPage pageLocked(long beforeSequence, int limit) {
+            int slots = counterparties.length;
+            long oldest = appended - Math.min(appended, slots);
+            long next = Math.min(appended, beforeSequence - 1) - 1;
+            List<AccountTransaction> page = new ArrayList<>(Math.min(limit, slots));
+            for (; next >= oldest && page.size() < limit; next--) {
+                int slot = (int) (next % slots);
+                int base = slot * STRIDE;
+                long stamped = entries[base + 2];
+                page.add(new AccountTransaction(next + 1, TYPES[(int) (stamped & ((1 << TYPE_BITS) - 1))],
+                    counterparties[slot], Math.abs(entries[base]), entries[base + 1], stamped >>> TYPE_BITS));
+            }
+            // next is now the entry index below the page; its sequence is next + 1
+            String nextCursor = next >= oldest ? Long.toString(next + 2) : null;
+            return new TransactionPage(page, nextCursor, compactedCount, compactedNetCents);
+        }
+    }
+}
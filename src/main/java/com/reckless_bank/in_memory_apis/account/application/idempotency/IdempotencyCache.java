@@ -0,0 +1,208 @@
+package com.reckless_bank.in_memory_apis.account.application.idempotency;
+
+import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
+import com.reckless_bank.in_memory_apis.common.exception.IdempotencyKeyReusedException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Results of recent mutations by client-supplied idempotency key, so a retried request
+ * gets the original result instead of being applied again.
+ * <p>
+ * Keys are hashed across segments, each an insertion-ordered map behind its own lock, so
+ * a lookup is one hash probe and unrelated keys rarely contend. Every entry lives for the
+ * same TTL, which makes a segment's oldest entry also the first to expire: inserting drops
+ * expired entries and, once the segment is full, the oldest live ones, both from the head
+ * in O(1) each. At most {@code bank.idempotency.max-entries} keys are held (default
+ * 100,000) for at most {@code bank.idempotency.ttl-seconds} (default 24 hours).
+ * <p>
+ * A duplicate arriving while the original is still running waits for its result. Business
+ * failures (unknown account, insufficient funds, invalid transaction) are kept like
+ * results; any other failure forgets the key so a retry runs again.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment[] segments;
+    private final int mask;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public IdempotencyCache(@Value("${bank.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${bank.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this(maxEntries, ttlSeconds, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, long ttlSeconds, LongSupplier nanoClock) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Idempotency cache size cannot be negative");
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Idempotency TTL must be positive");
+        }
+        // A power of two no larger than the cache, so every segment holds at least one key
+        int segmentCount = maxEntries == 0 ? 0 : Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxEntries / segmentCount);
+        }
+        this.mask = segmentCount - 1;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs the operation once per key, or returns the result of the run that first used it.
+     * @param key The client's idempotency key; null runs the operation without caching
+     * @param request What the key stands for; a duplicate must carry an equal request
+     * @param operation The mutation to run
+     * @return The operation's result, possibly from an earlier call
+     * @throws IdempotencyKeyReusedException If the key was used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> operation) {
+        if (key == null || segments.length == 0) {
+            return operation.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Segment segment = segments[spread(key.hashCode()) & mask];
+        Entry existing;
+        Entry created = null;
+        segment.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            existing = segment.entries.get(key);
+            if (existing == null || existing.expired(now)) {
+                created = new Entry(request, now + ttlNanos);
+                // Remove first so a reused key moves to the tail of the insertion order
+                segment.entries.remove(key);
+                segment.entries.put(key, created);
+                segment.evict(now);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (created == null) {
+            if (!existing.request.equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return (T) existing.await();
+        }
+        try {
+            T result = operation.get();
+            created.result.complete(result);
+            return result;
+        } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionException ex) {
+            created.result.completeExceptionally(ex);
+            throw ex;
+        } catch (RuntimeException | Error ex) {
+            segment.forget(key, created);
+            created.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return The number of keys held, including expired keys not evicted yet
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // Mixes high bits into the low ones used for the segment index, as HashMap does
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // Entries expire in insertion order, so only the head ever needs checking
+        void evict(long now) {
+            Iterator<Entry> oldest = entries.values().iterator();
+            while (oldest.hasNext()) {
+                Entry entry = oldest.next();
+                if (entries.size() <= capacity && !entry.expired(now)) {
+                    return;
+                }
+                oldest.remove();
+            }
+        }
+
+        void forget(String key, Entry entry) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object request;
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(Object request, long expiresAt) {
+            this.request = request;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        // Rethrows the original failure, not the CompletionException wrapping it
+        Object await() {
+            try {
+                return result.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.reckless_bank.in_memory_apis.account.application.index;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Account IDs by holder name, for exact and prefix lookups without scanning the store.
+ * Names are matched ignoring case and surrounding whitespace. Each account is one key in a
+ * concurrent skip list: the normalized name, a separator that sorts below every other
+ * character, then the account ID. The accounts of one holder, and of every holder whose
+ * name starts with a given prefix, are then a contiguous range found in O(log n).
+ * <p>
+ * The index is filled as accounts are created and restored; accounts removed from the
+ * store directly stay listed, so callers resolve the IDs and skip missing accounts.
+ */
+@Component
+public class AccountHolderIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+
+    public void add(Account account) {
+        keys.add(normalize(account.accountHolder()) + SEPARATOR + account.accountId());
+    }
+
+    public void remove(Account account) {
+        keys.remove(normalize(account.accountHolder()) + SEPARATOR + account.accountId());
+    }
+
+    /**
+     * @param holder The holder name
+     * @param limit The most IDs to return
+     * @return IDs of accounts whose holder is exactly this name, ordered by ID
+     */
+    public List<String> findByHolder(String holder, int limit) {
+        String name = normalize(holder);
+        return accountIds(keys.subSet(name + SEPARATOR, true, name + (char) (SEPARATOR + 1), false), limit);
+    }
+
+    /**
+     * @param prefix The start of the holder name, not blank
+     * @param limit The most IDs to return
+     * @return IDs of accounts whose holder name starts with the prefix, ordered by name then ID
+     */
+    public List<String> findByHolderPrefix(String prefix, int limit) {
+        String start = normalize(prefix);
+        if (start.isEmpty()) {
+            throw new IllegalArgumentException("Holder prefix cannot be empty");
+        }
+        return accountIds(keys.subSet(start, true, start + Character.MAX_VALUE, false), limit);
+    }
+
+    public void clear() {
+        keys.clear();
+    }
+
+    private static List<String> accountIds(NavigableSet<String> range, int limit) {
+        List<String> accountIds = new ArrayList<>(Math.min(limit, 64));
+        for (String key : range) {
+            if (accountIds.size() == limit) {
+                break;
+            }
+            accountIds.add(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+        }
+        return accountIds;
+    }
+
+    private static String normalize(String holder) {
+        return holder.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,210 @@
+package com.reckless_bank.in_memory_apis.account.application.index;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Account IDs ordered by balance, for top-N and balance range queries without sorting the
+ * store. Entries are (balance, account ID) pairs in a sorted set, next to a map of the
+ * balance each account is listed under.
+ * <p>
+ * Mutations only {@link #markChanged(String) mark} the accounts they changed, so the
+ * transfer path pays one concurrent set insert instead of two ordered-set updates per leg.
+ * Marked accounts are re-read from the store and re-listed every
+ * {@code bank.balance-index.refresh-millis} (default 100; 0 only on query) and before every
+ * query, so a query reflects every mutation that completed before it, and an account
+ * changed many times between refreshes is re-listed once. Disabled with
+ * {@code bank.balance-index.enabled=false}, which makes marking free.
+ */
+@Component
+public class BalanceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceIndex.class);
+
+    private static final Comparator<Entry> ORDER =
+        Comparator.comparingLong(Entry::balanceCents).thenComparing(Entry::accountId);
+
+    private final IAccountRepository accountRepository;
+    private final boolean enabled;
+    private final long refreshMillis;
+    // Accounts changed since they were last listed, each queued once until it is taken
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Guards entries and listedBalances
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NavigableSet<Entry> entries = new TreeSet<>(ORDER);
+    private final Map<String, Long> listedBalances = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public BalanceIndex(IAccountRepository accountRepository,
+                        @Value("${bank.balance-index.enabled:true}") boolean enabled,
+                        @Value("${bank.balance-index.refresh-millis:100}") long refreshMillis) {
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+        this.refreshMillis = refreshMillis;
+    }
+
+    // Index that lists nothing, for callers that do not query balances
+    public static BalanceIndex disabled() {
+        return new BalanceIndex(null, false, 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled && refreshMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "balance-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks an account for re-listing under its current balance, or for removal if it no
+     * longer exists. Call once the mutation is applied to the store.
+     * @param accountId The account a mutation has just changed
+     */
+    public void markChanged(String accountId) {
+        if (enabled && changed.add(accountId)) {
+            pending.add(accountId);
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param limit The most IDs to return
+     * @return IDs of the accounts with the highest balances, highest first
+     */
+    public List<String> top(int limit) {
+        lock.lock();
+        try {
+            refresh();
+            return accountIds(entries.descendingSet(), limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param minCents The lowest balance, inclusive
+     * @param maxCents The highest balance, inclusive
+     * @param limit The most IDs to return
+     * @return IDs of the accounts with a balance in the range, lowest first
+     */
+    public List<String> range(long minCents, long maxCents, int limit) {
+        if (minCents > maxCents) {
+            return List.of();
+        }
+        lock.lock();
+        try {
+            refresh();
+            NavigableSet<Entry> range = maxCents == Long.MAX_VALUE
+                ? entries.tailSet(new Entry(minCents, ""), true)
+                : entries.subSet(new Entry(minCents, ""), true, new Entry(maxCents + 1, ""), false);
+            return accountIds(range, limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            changed.clear();
+            pending.clear();
+            pendingCount.set(0);
+            listedBalances.clear();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock. Takes only the accounts queued when it starts, so writers
+    // cannot keep it running; one marked again while it is re-listed is queued again
+    private void refresh() {
+        for (int remaining = pendingCount.get(); remaining > 0; remaining--) {
+            String accountId = pending.poll();
+            pendingCount.decrementAndGet();
+            changed.remove(accountId);
+            relist(accountId);
+        }
+    }
+
+    private void relist(String accountId) {
+        Long balance = accountRepository.findById(accountId).map(Account::balanceCents).orElse(null);
+        Long listed = balance == null ? listedBalances.remove(accountId) : listedBalances.put(accountId, balance);
+        if (Objects.equals(listed, balance)) {
+            return;
+        }
+        if (listed != null) {
+            entries.remove(new Entry(listed, accountId));
+        }
+        if (balance != null) {
+            entries.add(new Entry(balance, accountId));
+        }
+    }
+
+    private void refreshQuietly() {
+        lock.lock();
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            logger.error("Balance index refresh failed", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<String> accountIds(NavigableSet<Entry> range, int limit) {
+        List<String> accountIds = new ArrayList<>(Math.min(limit, 128));
+        for (Entry entry : range) {
+            if (accountIds.size() == limit) {
+                break;
+            }
+            accountIds.add(entry.accountId());
+        }
+        return accountIds;
+    }
+
+    private record Entry(long balanceCents, String accountId) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.reckless_bank.in_memory_apis.account.application.journal;
+
+import java.util.function.Supplier;
+
+/**
+ * Append-only record of account mutations, written by the use cases before a mutation
+ * is acknowledged to the caller: a credit before it is applied, anything else after.
+ */
+public interface AccountJournal {
+    
+    /**
+     * Appends an entry. Depending on the durability mode this may only buffer it.
+     * @param entry The mutation to record
+     */
+    void append(JournalEntry entry);
+    
+    /**
+     * Blocks until every entry appended before this call is as durable as the
+     * configured mode promises. Concurrent callers share one fsync (group commit).
+     */
+    void flush();
+    
+    /**
+     * Runs a mutation together with the entries it appends, so that a snapshot
+     * never captures the mutation without its entry or the entry without the mutation.
+     * @param mutation Applies the change and appends its entries
+     * @return The mutation's result
+     */
+    <T> T record(Supplier<T> mutation);
+}
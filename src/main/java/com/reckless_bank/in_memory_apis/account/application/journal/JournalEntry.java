@@ -0,0 +1,59 @@
+package com.reckless_bank.in_memory_apis.account.application.journal;
+
+/**
+ * One account mutation as recorded in the journal.
+ * Deposits, withdrawals and transfers record balance changes that passed their funds
+ * check, not requests to check again; declined operations are never appended. Replay
+ * adds them up without re-validating, which is why it does not depend on the order in
+ * which concurrent operations were appended.
+ * A credit is appended before it is applied, so any operation that spends it is
+ * appended after it. Should the credit then fail, its {@link #reversed() reversal} is
+ * appended and the pair nets to nothing. Debits are appended once applied: nothing can
+ * depend on money that has left an account.
+ */
+public record JournalEntry(Type type, long timestamp, String accountId, String counterpartyId,
+                           String accountHolder, long amountCents) {
+    
+    public enum Type {
+        CREATE, DEPOSIT, WITHDRAWAL, TRANSFER
+    }
+    
+    public JournalEntry {
+        if (type == null) {
+            throw new IllegalArgumentException("Journal entry type cannot be null");
+        }
+        if (accountId == null || accountId.isEmpty()) {
+            throw new IllegalArgumentException("Journal entry account ID cannot be null or empty");
+        }
+    }
+    
+    public static JournalEntry created(String accountId, String accountHolder, long balanceCents) {
+        return new JournalEntry(Type.CREATE, System.currentTimeMillis(), accountId, null, accountHolder, balanceCents);
+    }
+    
+    public static JournalEntry deposited(String accountId, long amountCents) {
+        return new JournalEntry(Type.DEPOSIT, System.currentTimeMillis(), accountId, null, null, amountCents);
+    }
+    
+    public static JournalEntry withdrew(String accountId, long amountCents) {
+        return new JournalEntry(Type.WITHDRAWAL, System.currentTimeMillis(), accountId, null, null, amountCents);
+    }
+    
+    public static JournalEntry transferred(String fromAccountId, String toAccountId, long amountCents) {
+        return new JournalEntry(Type.TRANSFER, System.currentTimeMillis(), fromAccountId, toAccountId, null, amountCents);
+    }
+    
+    /**
+     * The entry that undoes this balance change: a withdrawal for a deposit, a deposit for
+     * a withdrawal, and the transfer back for a transfer.
+     * @throws IllegalStateException for a creation, which is never reversed
+     */
+    public JournalEntry reversed() {
+        return switch (type) {
+            case DEPOSIT -> withdrew(accountId, amountCents);
+            case WITHDRAWAL -> deposited(accountId, amountCents);
+            case TRANSFER -> transferred(counterpartyId, accountId, amountCents);
+            case CREATE -> throw new IllegalStateException("Account creations are not reversed");
+        };
+    }
+}
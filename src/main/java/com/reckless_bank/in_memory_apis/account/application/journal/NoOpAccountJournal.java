@@ -0,0 +1,29 @@
+package com.reckless_bank.in_memory_apis.account.application.journal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Journal used when journaling is disabled; state lives only in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpAccountJournal implements AccountJournal {
+    
+    @Override
+    public void append(JournalEntry entry) {
+        // Nothing to record
+    }
+    
+    @Override
+    public void flush() {
+        // Nothing to flush
+    }
+    
+    @Override
+    public <T> T record(Supplier<T> mutation) {
+        return mutation.get();
+    }
+}
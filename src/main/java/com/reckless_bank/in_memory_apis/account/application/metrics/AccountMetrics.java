@@ -0,0 +1,142 @@
+package com.reckless_bank.in_memory_apis.account.application.metrics;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferFailure;
+import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micrometer meters of the account use cases.
+ * <ul>
+ *   <li>{@code bank.operations}: timer per {@code type} (deposit, withdrawal, transfer) and
+ *   {@code outcome} (success, not_found, insufficient_funds, invalid, error)</li>
+ *   <li>{@code bank.operations.amount}: money moved by successful operations, per {@code type}</li>
+ *   <li>{@code bank.account.creations}: timer per {@code outcome} (success, error)</li>
+ * </ul>
+ * Timers measure applying the operation, excluding the wait for journal durability and,
+ * in sequenced mode, the wait for the sequencer. They report count and total time; every
+ * meter is resolved once here, so recording is a clock read and two adder increments with
+ * no tag lookup.
+ */
+@Component
+public class AccountMetrics {
+
+    public enum Operation { DEPOSIT, WITHDRAWAL, TRANSFER }
+
+    public enum Outcome {
+        SUCCESS, NOT_FOUND, INSUFFICIENT_FUNDS, INVALID, ERROR;
+
+        public static Outcome of(RuntimeException ex) {
+            if (ex instanceof AccountNotFoundException) {
+                return NOT_FOUND;
+            } else if (ex instanceof InsufficientFundsException) {
+                return INSUFFICIENT_FUNDS;
+            } else if (ex instanceof InvalidTransactionException) {
+                return INVALID;
+            }
+            return ERROR;
+        }
+
+        // A null failure is a success
+        public static Outcome of(TransferFailure failure) {
+            if (failure == null) {
+                return SUCCESS;
+            }
+            return switch (failure.reason()) {
+                case ACCOUNT_NOT_FOUND -> NOT_FOUND;
+                case INSUFFICIENT_FUNDS -> INSUFFICIENT_FUNDS;
+            };
+        }
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    // Indexed by operation ordinal, then outcome ordinal
+    private final TimedCount[][] operations = new TimedCount[Operation.values().length][OUTCOMES.length];
+    private final LongAdder[] amountCents = new LongAdder[Operation.values().length];
+    private final TimedCount createdAccounts;
+    private final TimedCount failedCreations;
+
+    public AccountMetrics(MeterRegistry registry) {
+        for (Operation operation : Operation.values()) {
+            String type = operation.name().toLowerCase();
+            for (Outcome outcome : OUTCOMES) {
+                operations[operation.ordinal()][outcome.ordinal()] = new TimedCount(registry, "bank.operations",
+                    "Deposits, withdrawals and transfers applied",
+                    Tags.of("type", type, "outcome", outcome.name().toLowerCase()));
+            }
+            LongAdder amount = new LongAdder();
+            amountCents[operation.ordinal()] = amount;
+            FunctionCounter.builder("bank.operations.amount", amount, adder -> adder.sum() / 100.0)
+                .description("Money moved by successful operations")
+                .tag("type", type)
+                .register(registry);
+        }
+        createdAccounts = new TimedCount(registry, "bank.account.creations",
+            "Accounts created, one by one or in bulk", Tags.of("outcome", "success"));
+        failedCreations = new TimedCount(registry, "bank.account.creations",
+            "Accounts created, one by one or in bulk", Tags.of("outcome", "error"));
+    }
+
+    /**
+     * Meters that record nowhere, for callers built outside Spring.
+     * @return Metrics bound to a registry with no backing registries
+     */
+    public static AccountMetrics disabled() {
+        return new AccountMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Records one applied deposit, withdrawal or transfer.
+     * @param operation The kind of operation
+     * @param outcome How it ended
+     * @param amountCents The requested amount, counted only on success
+     * @param startNanos {@link System#nanoTime()} when it started
+     */
+    public void recordOperation(Operation operation, Outcome outcome, long amountCents, long startNanos) {
+        operations[operation.ordinal()][outcome.ordinal()].record(startNanos);
+        if (outcome == Outcome.SUCCESS) {
+            this.amountCents[operation.ordinal()].add(amountCents);
+        }
+    }
+
+    /**
+     * Records one account creation.
+     * @param succeeded Whether the account was stored
+     * @param startNanos {@link System#nanoTime()} when it started
+     */
+    public void recordCreation(boolean succeeded, long startNanos) {
+        (succeeded ? createdAccounts : failedCreations).record(startNanos);
+    }
+
+    // Count and total time in striped adders, read by a function timer when the registry is
+    // scraped. Unlike a Timer it keeps no decaying maximum, which costs a wall-clock read and a
+    // compare-and-set on a shared field per recording
+    private static final class TimedCount {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        TimedCount(MeterRegistry registry, String name, String description, Tags tags) {
+            FunctionTimer.builder(name, this, timed -> timed.count.sum(), timed -> timed.totalNanos.sum(),
+                    TimeUnit.NANOSECONDS)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+        }
+
+        void record(long startNanos) {
+            totalNanos.add(System.nanoTime() - startNanos);
+            count.increment();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.reckless_bank.in_memory_apis.account.application.stats;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.BankStatistics;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bank-wide aggregates maintained by the use cases as they create and change accounts,
+ * so reading them never walks the store: the account count, the active accounts (those
+ * with a positive balance), the money held and the money moved today.
+ * <p>
+ * Every figure is a {@link LongAdder}, so concurrent operations add to separate cells
+ * rather than contend on one counter. Each figure is exact once the operations before the
+ * read have completed; figures read together are not one consistent snapshot under load.
+ * <p>
+ * Whether an account became active or inactive is known from the balances before and
+ * after a change. Credits to {@link IAccountRepository#hotAccountIds() hot accounts} do
+ * not report the balance they started from, so hot accounts are left out of the active
+ * count and checked when it is read instead; there are only a few of them.
+ * <p>
+ * The daily flow covers the current UTC day. Operations add to the day's counters without
+ * reading the clock; a background thread checks every second whether midnight has passed
+ * and starts a new day, as does every read. An operation in the first second after
+ * midnight may therefore be counted in the day before.
+ */
+@Component
+public class BankAggregates {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final IAccountRepository accountRepository;
+    private final Set<String> hotAccountIds;
+    private final LongSupplier millisClock;
+    private final LongAdder accounts = new LongAdder();
+    // Active accounts that are not hot
+    private final LongAdder activeAccounts = new LongAdder();
+    private final LongAdder totalCents = new LongAdder();
+    private final AtomicReference<DailyFlow> today;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public BankAggregates(IAccountRepository accountRepository) {
+        this(accountRepository, System::currentTimeMillis);
+    }
+
+    BankAggregates(IAccountRepository accountRepository, LongSupplier millisClock) {
+        this.accountRepository = accountRepository;
+        this.hotAccountIds = accountRepository.hotAccountIds();
+        this.millisClock = millisClock;
+        this.today = new AtomicReference<>(new DailyFlow(currentDay()));
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bank-aggregates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flowOfToday, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Counts a created or restored account with its initial balance.
+     */
+    public void recordCreated(Account account) {
+        accounts.increment();
+        totalCents.add(account.balanceCents());
+        if (account.isActive() && !hotAccountIds.contains(account.accountId())) {
+            activeAccounts.increment();
+        }
+    }
+
+    /**
+     * Counts a change of an account's balance made outside the deposit, withdrawal and
+     * transfer operations, such as replaying the journal at startup.
+     * @param accountId The account changed
+     * @param beforeCents Its balance just before the change
+     * @param afterCents Its balance just after the change
+     */
+    public void recordBalanceChange(String accountId, long beforeCents, long afterCents) {
+        totalCents.add(afterCents - beforeCents);
+        recordActivity(accountId, beforeCents, afterCents);
+    }
+
+    /**
+     * Counts an account becoming active or inactive. Use cases call this for every single
+     * balance change, as applied atomically by the store, and count the money itself once
+     * per operation, so a transfer and the legs it puts back add nothing to the total.
+     * @param accountId The account changed
+     * @param beforeCents Its balance just before the change
+     * @param afterCents Its balance just after the change
+     */
+    public void recordActivity(String accountId, long beforeCents, long afterCents) {
+        if ((beforeCents > 0) != (afterCents > 0) && !hotAccountIds.contains(accountId)) {
+            if (afterCents > 0) {
+                activeAccounts.increment();
+            } else {
+                activeAccounts.decrement();
+            }
+        }
+    }
+
+    public void recordDeposit(long amountCents) {
+        totalCents.add(amountCents);
+        today.get().depositedCents.add(amountCents);
+    }
+
+    public void recordWithdrawal(long amountCents) {
+        totalCents.add(-amountCents);
+        today.get().withdrawnCents.add(amountCents);
+    }
+
+    public void recordTransfer(long amountCents) {
+        today.get().transferredCents.add(amountCents);
+    }
+
+    public long accountCount() {
+        return accounts.sum();
+    }
+
+    public long activeAccountCount() {
+        long active = activeAccounts.sum();
+        for (String accountId : hotAccountIds) {
+            if (accountRepository.findById(accountId).filter(Account::isActive).isPresent()) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    public long totalBalanceCents() {
+        return totalCents.sum();
+    }
+
+    public BankStatistics snapshot() {
+        DailyFlow flow = flowOfToday();
+        long deposited = flow.depositedCents.sum();
+        long withdrawn = flow.withdrawnCents.sum();
+        return new BankStatistics(accountCount(), activeAccountCount(), Money.fromCents(totalBalanceCents()),
+            new BankStatistics.DailyFlow(LocalDate.ofEpochDay(flow.epochDay), Money.fromCents(deposited),
+                Money.fromCents(withdrawn), Money.fromCents(flow.transferredCents.sum()),
+                Money.fromCents(deposited - withdrawn)));
+    }
+
+    public long depositedTodayCents() {
+        return flowOfToday().depositedCents.sum();
+    }
+
+    public long withdrawnTodayCents() {
+        return flowOfToday().withdrawnCents.sum();
+    }
+
+    public long transferredTodayCents() {
+        return flowOfToday().transferredCents.sum();
+    }
+
+    // Starts a new day once the clock passes midnight; a clock set back keeps the current day
+    private DailyFlow flowOfToday() {
+        DailyFlow flow = today.get();
+        long day = currentDay();
+        if (day <= flow.epochDay) {
+            return flow;
+        }
+        DailyFlow next = new DailyFlow(day);
+        return today.compareAndSet(flow, next) ? next : today.get();
+    }
+
+    private long currentDay() {
+        return Math.floorDiv(millisClock.getAsLong(), MILLIS_PER_DAY);
+    }
+
+    private static final class DailyFlow {
+
+        private final long epochDay;
+        private final LongAdder depositedCents = new LongAdder();
+        private final LongAdder withdrawnCents = new LongAdder();
+        private final LongAdder transferredCents = new LongAdder();
+
+        DailyFlow(long epochDay) {
+            this.epochDay = epochDay;
+        }
+    }
+}
@@ -1,22 +1,101 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
+import com.reckless_bank.in_memory_apis.account.application.dto.AccountImportOutcome;
 import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.AccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
 import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class CreateAccountUseCase {
     
     private final IAccountRepository accountRepository;
+    private final AccountJournal journal;
+    private final AccountMetrics metrics;
+    private final AccountHolderIndex holderIndex;
+    private final BalanceIndex balanceIndex;
+    private final BankAggregates aggregates;
     
-    public CreateAccountUseCase(IAccountRepository accountRepository) {
+    public CreateAccountUseCase(IAccountRepository accountRepository, AccountJournal journal, AccountMetrics metrics,
+                                AccountHolderIndex holderIndex, BalanceIndex balanceIndex, BankAggregates aggregates) {
         this.accountRepository = accountRepository;
+        this.journal = journal;
+        this.metrics = metrics;
+        this.holderIndex = holderIndex;
+        this.balanceIndex = balanceIndex;
+        this.aggregates = aggregates;
     }
     
     public Account execute(CreateAccountRequest request) {
+        Account savedAccount = journal.record(() -> create(request));
+        journal.flush();
+        return savedAccount;
+    }
+    
+    /**
+     * Creates a chunk of accounts under one journal record and a single flush,
+     * so bulk imports pay for durability once per chunk instead of once per account.
+     * A request the repository cannot store is rejected on its own and the rest of the
+     * chunk is still created.
+     * @param requests The accounts to create
+     * @param lines The input line of each request, to report it against
+     * @return One outcome per request, in request order
+     */
+    public List<AccountImportOutcome> executeAll(List<CreateAccountRequest> requests, List<Long> lines) {
+        List<AccountImportOutcome> outcomes = journal.record(() -> {
+            List<AccountImportOutcome> created = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                long start = System.nanoTime();
+                Account saved;
+                try {
+                    saved = save(requests.get(i));
+                } catch (RuntimeException ex) {
+                    // Nothing was stored or journaled for this request
+                    metrics.recordCreation(false, start);
+                    created.add(AccountImportOutcome.rejected(lines.get(i), ex.getMessage()));
+                    continue;
+                }
+                recordCreated(saved);
+                metrics.recordCreation(true, start);
+                created.add(AccountImportOutcome.created(lines.get(i), saved.accountId()));
+            }
+            return created;
+        });
+        journal.flush();
+        return outcomes;
+    }
+    
+    private Account create(CreateAccountRequest request) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Account saved = save(request);
+            recordCreated(saved);
+            succeeded = true;
+            return saved;
+        } finally {
+            metrics.recordCreation(succeeded, start);
+        }
+    }
+    
+    private Account save(CreateAccountRequest request) {
         String accountId = accountRepository.generateNextAccountId();
-        Account newAccount = new Account(accountId, request.accountHolder(), request.initialBalance());
-        return accountRepository.save(newAccount);
+        return accountRepository.save(new Account(accountId, request.accountHolder(), request.initialBalanceCents()));
+    }
+    
+    private void recordCreated(Account saved) {
+        journal.append(JournalEntry.created(saved.accountId(), saved.accountHolder(), saved.balanceCents()));
+        holderIndex.add(saved);
+        balanceIndex.markChanged(saved.accountId());
+        aggregates.recordCreated(saved);
     }
-}
\ No newline at end of file
+}
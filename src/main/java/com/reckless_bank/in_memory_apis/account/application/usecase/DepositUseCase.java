@@ -1,6 +1,7 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
 import com.reckless_bank.in_memory_apis.account.application.dto.TransactionRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
@@ -19,7 +20,7 @@ public class DepositUseCase {
     
     public Optional<Account> execute(String accountId, TransactionRequest request) {
         // Create a TransferRequest for deposit (fromAccount = null, toAccount = accountId)
-        TransferRequest transferRequest = new TransferRequest(null, accountId, request.amount());
+        TransferRequest transferRequest = new TransferRequest(null, accountId, request.amountCents());
         
         Optional<TransferResult> transferResult = transferUseCase.execute(transferRequest);
         
@@ -29,4 +30,12 @@ public class DepositUseCase {
         
         return Optional.empty();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Deposits without throwing for an unknown account; see {@link TransferUseCase#attempt}.
+     * @return The attempt, whose result holds the updated account as {@code toAccount}
+     */
+    public TransferAttempt attempt(String accountId, TransactionRequest request) {
+        return transferUseCase.attempt(new TransferRequest(null, accountId, request.amountCents()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class GetAccountTransactionsUseCase {
+    
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    private final IAccountRepository accountRepository;
+    private final TransactionHistory history;
+    
+    public GetAccountTransactionsUseCase(IAccountRepository accountRepository, TransactionHistory history) {
+        this.accountRepository = accountRepository;
+        this.history = history;
+    }
+    
+    /**
+     * Returns one page of the account's recent transactions, newest first.
+     * @param accountId The account
+     * @param cursor The previous page's next cursor, or null for the newest entries
+     * @param limit Page size, from 1 to {@value #MAX_PAGE_SIZE}
+     * @return The page, empty if the account does not exist
+     */
+    public Optional<TransactionPage> execute(String accountId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!accountRepository.existsById(accountId)) {
+            return Optional.empty();
+        }
+        return Optional.of(history.findPage(accountId, cursor, limit));
+    }
+}
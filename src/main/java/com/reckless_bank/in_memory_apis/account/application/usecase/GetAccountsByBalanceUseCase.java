@@ -0,0 +1,72 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class GetAccountsByBalanceUseCase {
+    
+    public static final int MAX_RESULTS = 1000;
+    
+    private final IAccountRepository accountRepository;
+    private final BalanceIndex balanceIndex;
+    
+    public GetAccountsByBalanceUseCase(IAccountRepository accountRepository, BalanceIndex balanceIndex) {
+        this.accountRepository = accountRepository;
+        this.balanceIndex = balanceIndex;
+    }
+    
+    /**
+     * Returns the accounts with the highest balances from the {@link BalanceIndex}.
+     * Accounts are returned as currently stored; one changed since it was listed keeps
+     * its listed position.
+     * @param limit Most accounts to return, from 1 to {@value #MAX_RESULTS}
+     * @return The accounts, highest balance first
+     */
+    public List<Account> top(int limit) {
+        validate(limit);
+        return resolve(balanceIndex.top(limit), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Returns the accounts whose balance lies in a range, from the {@link BalanceIndex}.
+     * Accounts that moved out of the range since they were listed are left out.
+     * @param min The lowest balance, inclusive, or null for no lower bound
+     * @param max The highest balance, inclusive, or null for no upper bound
+     * @param limit Most accounts to return, from 1 to {@value #MAX_RESULTS}
+     * @return The accounts, lowest balance first
+     */
+    public List<Account> range(BigDecimal min, BigDecimal max, int limit) {
+        validate(limit);
+        long minCents = min == null ? 0 : Money.toCents(min);
+        long maxCents = max == null ? Long.MAX_VALUE : Money.toCents(max);
+        return resolve(balanceIndex.range(minCents, maxCents, limit), minCents, maxCents);
+    }
+    
+    private void validate(int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        if (!balanceIndex.isEnabled()) {
+            throw new IllegalArgumentException("Balance queries need the balance index (bank.balance-index.enabled)");
+        }
+    }
+    
+    private List<Account> resolve(List<String> accountIds, long minCents, long maxCents) {
+        List<Account> accounts = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            account.filter(found -> found.balanceCents() >= minCents && found.balanceCents() <= maxCents)
+                .ifPresent(accounts::add);
+        }
+        return accounts;
+    }
+}
@@ -1,14 +1,22 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
 import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 public class GetAllAccountsUseCase {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    // Accounts fetched per repository call while streaming
+    static final int STREAM_BATCH_SIZE = 1000;
+    
     private final IAccountRepository accountRepository;
     
     public GetAllAccountsUseCase(IAccountRepository accountRepository) {
@@ -18,4 +26,50 @@ public class GetAllAccountsUseCase {
     public Map<String, Account> execute() {
         return accountRepository.findAll();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Returns one page of accounts in stable repository order.
+     * @param cursor The previous page's next cursor, or null for the first page
+     * @param limit Page size, from 1 to {@value #MAX_PAGE_SIZE}
+     * @return The page
+     */
+    public AccountPage executePage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return accountRepository.findPage(cursor, limit);
+    }
+    
+    /**
+     * Returns every account as a lazy sequence that pages through the repository,
+     * so callers can write accounts out as they go without materializing the store.
+     * Each iteration starts a fresh traversal with the same guarantees as {@link #executePage}.
+     * @return The accounts in stable repository order
+     */
+    public Iterable<Account> stream() {
+        return () -> new Iterator<>() {
+            private AccountPage page = accountRepository.findPage(null, STREAM_BATCH_SIZE);
+            private int position;
+            
+            @Override
+            public boolean hasNext() {
+                while (position == page.accounts().size()) {
+                    if (page.nextCursor() == null) {
+                        return false;
+                    }
+                    page = accountRepository.findPage(page.nextCursor(), STREAM_BATCH_SIZE);
+                    position = 0;
+                }
+                return true;
+            }
+            
+            @Override
+            public Account next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.accounts().get(position++);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.BankStatistics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GetBankStatisticsUseCase {
+    
+    private final BankAggregates aggregates;
+    
+    public GetBankStatisticsUseCase(BankAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+    
+    // Reads the maintained aggregates; the cost does not depend on the number of accounts
+    public BankStatistics execute() {
+        return aggregates.snapshot();
+    }
+}
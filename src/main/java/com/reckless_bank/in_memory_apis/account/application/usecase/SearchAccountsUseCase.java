@@ -0,0 +1,49 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class SearchAccountsUseCase {
+    
+    public static final int MAX_RESULTS = 1000;
+    
+    private final IAccountRepository accountRepository;
+    private final AccountHolderIndex holderIndex;
+    
+    public SearchAccountsUseCase(IAccountRepository accountRepository, AccountHolderIndex holderIndex) {
+        this.accountRepository = accountRepository;
+        this.holderIndex = holderIndex;
+    }
+    
+    /**
+     * Finds accounts by holder name through the {@link AccountHolderIndex}, ignoring case.
+     * @param holder The holder name, or the start of it when {@code prefix} is set
+     * @param prefix Whether to match every holder whose name starts with {@code holder}
+     * @param limit Most accounts to return, from 1 to {@value #MAX_RESULTS}
+     * @return The matching accounts, ordered by holder name then account ID
+     */
+    public List<Account> execute(String holder, boolean prefix, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_RESULTS);
+        }
+        if (holder == null || holder.isBlank()) {
+            throw new IllegalArgumentException("Holder cannot be empty");
+        }
+        List<String> accountIds = prefix
+            ? holderIndex.findByHolderPrefix(holder, limit)
+            : holderIndex.findByHolder(holder, limit);
+        List<Account> accounts = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            account.ifPresent(accounts::add);
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.concurrency.CommandSequencer;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.AccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer variant of {@link TransferUseCase}, enabled with {@code bank.engine.mode=sequenced}.
+ * Every deposit, withdrawal and transfer is published into a pre-allocated ring and applied
+ * in order by one sequencer thread, so mutations need no stripe locks and have a total order.
+ * Callers block on the returned future. A batch is a single command, so it is applied
+ * without interleaving and all-or-nothing batches need no locks either.
+ */
+@Service
+@ConditionalOnProperty(name = "bank.engine.mode", havingValue = "sequenced")
+public class SequencedTransferUseCase extends TransferUseCase {
+    
+    private final AccountJournal journal;
+    private final CommandSequencer<Supplier<?>, Object> sequencer;
+    
+    public SequencedTransferUseCase(IAccountRepository accountRepository,
+                                    AccountLockStripes lockStripes,
+                                    AccountJournal journal,
+                                    TransactionHistory history,
+                                    AccountMetrics metrics,
+                                    BalanceIndex balanceIndex,
+                                    BankAggregates aggregates,
+                                    @Value("${bank.engine.ring-size:65536}") int ringSize) {
+        super(accountRepository, lockStripes, journal, history, metrics, balanceIndex, aggregates);
+        this.journal = journal;
+        this.sequencer = new CommandSequencer<>(ringSize, "ledger-sequencer", Supplier::get);
+    }
+    
+    @Override
+    public TransferAttempt attempt(TransferRequest request) {
+        TransferAttempt attempt = submit(() -> apply(request, false));
+        if (attempt.succeeded()) {
+            // Wait for durability here rather than on the sequencer so it can keep applying
+            journal.flush();
+        }
+        return attempt;
+    }
+    
+    @Override
+    public BatchTransferResult executeBatch(List<TransferRequest> requests, boolean atomic) {
+        validateBatch(requests);
+        List<TransferOutcome> outcomes = submit(() -> atomic ? applyAtomicBatch(requests, false) : applyBatch(requests, false));
+        journal.flush();
+        return BatchTransferResult.of(atomic, outcomes);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T submit(Supplier<T> command) {
+        try {
+            return (T) sequencer.submit(command).join();
+        } catch (CompletionException ex) {
+            // Surface the use-case exceptions unchanged so the exception handler maps them as usual
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sequencer.close();
+    }
+}
@@ -1,29 +1,410 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferFailure;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.AccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
 import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
-import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
-import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
 import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
 import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@ConditionalOnProperty(name = "bank.engine.mode", havingValue = "concurrent", matchIfMissing = true)
 public class TransferUseCase {
     
+    private static final String BALANCE_OVERFLOW = "Resulting balance exceeds the supported range";
+    static final int MAX_BATCH_SIZE = 10_000;
+    
     private final IAccountRepository accountRepository;
+    private final AccountLockStripes lockStripes;
+    private final AccountJournal journal;
+    private final TransactionHistory history;
+    private final AccountMetrics metrics;
+    private final BalanceIndex balanceIndex;
+    private final BankAggregates aggregates;
     
-    public TransferUseCase(IAccountRepository accountRepository) {
+    public TransferUseCase(IAccountRepository accountRepository, AccountLockStripes lockStripes, AccountJournal journal,
+                           TransactionHistory history, AccountMetrics metrics, BalanceIndex balanceIndex,
+                           BankAggregates aggregates) {
         this.accountRepository = accountRepository;
+        this.lockStripes = lockStripes;
+        this.journal = journal;
+        this.history = history;
+        this.metrics = metrics;
+        this.balanceIndex = balanceIndex;
+        this.aggregates = aggregates;
     }
 
-    @Transactional
+    // There is no transaction manager behind the in-memory repository: single-account
+    // operations are atomic repository updates and transfers also hold the stripe locks
     public Optional<TransferResult> execute(TransferRequest request) {
+        return Optional.of(attempt(request).orElseThrow());
+    }
+    
+    /**
+     * Like {@link #execute(TransferRequest)}, but returns an unknown account or insufficient
+     * funds as a failed attempt instead of throwing, so a decline costs no exception.
+     * Invalid requests and repository faults still throw.
+     * @param request The deposit, withdrawal or transfer
+     * @return The updated accounts, or why the operation was declined
+     */
+    public TransferAttempt attempt(TransferRequest request) {
+        TransferAttempt attempt = apply(request, true);
+        if (attempt.succeeded()) {
+            // Acknowledge only once the journal entry is as durable as configured;
+            // a decline journals nothing so there is nothing to wait for
+            journal.flush();
+        }
+        return attempt;
+    }
+    
+    /**
+     * Executes a batch of deposits, withdrawals and transfers in request order with
+     * a single journal flush for the whole batch.
+     * Without {@code atomic} every item is attempted and reported independently. With it
+     * the stripes of every account involved are held for the whole batch, and every item
+     * is decided before any account changes: if one fails, none is applied and nothing is
+     * journaled, the items before it are reported rolled back and the rest not attempted.
+     * Deposits and withdrawals outside the batch do not take the stripes, but they never
+     * see part of a batch, and at worst make it fail as a whole.
+     * @param requests The operations, at most {@value #MAX_BATCH_SIZE}
+     * @param atomic Whether the batch is all-or-nothing
+     * @return One outcome per request, in request order
+     */
+    public BatchTransferResult executeBatch(List<TransferRequest> requests, boolean atomic) {
+        validateBatch(requests);
+        List<TransferOutcome> outcomes = atomic ? applyAtomicBatch(requests, true) : applyBatch(requests, true);
+        journal.flush();
+        return BatchTransferResult.of(atomic, outcomes);
+    }
+    
+    protected void validateBatch(List<TransferRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidTransactionException("batch", null, "Batch must contain at least one transfer");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidTransactionException("batch", null,
+                String.format("Batch of %d transfers exceeds the limit of %d", requests.size(), MAX_BATCH_SIZE));
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                throw new InvalidTransactionException("batch", null, String.format("Batch item %d is missing", i));
+            }
+        }
+    }
+    
+    // Attempts every item; a failure affects only its own outcome
+    protected List<TransferOutcome> applyBatch(List<TransferRequest> requests, boolean lockTransfers) {
+        List<TransferOutcome> outcomes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                outcomes.add(outcomeOf(i, apply(requests.get(i), lockTransfers)));
+            } catch (InvalidTransactionException ex) {
+                outcomes.add(TransferOutcome.failed(i, "Invalid Transaction", ex.getMessage()));
+            }
+        }
+        return outcomes;
+    }
+    
+    // Holds the stripes, when not the sole writer, so no transfer changes the batch's accounts
+    // meanwhile. The whole batch is one journal record so a snapshot never sees part of it
+    protected List<TransferOutcome> applyAtomicBatch(List<TransferRequest> requests, boolean lockAccounts) {
+        if (lockAccounts) {
+            List<String> accountIds = new ArrayList<>(requests.size() * 2);
+            for (TransferRequest request : requests) {
+                accountIds.add(request.fromAccountId());
+                accountIds.add(request.toAccountId());
+            }
+            // Enter the journal barrier before the stripes, in the same order as single operations
+            return journal.record(() -> lockStripes.withLocks(accountIds, () -> applyAllOrNothing(requests)));
+        }
+        return journal.record(() -> applyAllOrNothing(requests));
+    }
+    
+    // Decides the items in order against private copies of their accounts, so a failure
+    // leaves nothing to undo. Only when every item succeeds is the batch applied, as one net
+    // change per account, debits first: each debit rechecks funds atomically, so a concurrent
+    // withdrawal can only decline the batch before any credit is made, and the debits already
+    // made are undone by credits, which cannot be declined for lack of funds. The batch's
+    // entries are journaled between the debits and the credits, like a single transfer's
+    private List<TransferOutcome> applyAllOrNothing(List<TransferRequest> requests) {
+        long start = System.nanoTime();
+        Map<String, Account> initial = new HashMap<>();
+        Map<String, Account> working = new LinkedHashMap<>();
+        List<TransferOutcome> outcomes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferAttempt attempt;
+            try {
+                attempt = decide(requests.get(i), initial, working);
+            } catch (InvalidTransactionException ex) {
+                return rejected(requests, i, TransferOutcome.failed(i, "Invalid Transaction", ex.getMessage()),
+                    AccountMetrics.Outcome.INVALID, start);
+            }
+            if (!attempt.succeeded()) {
+                return rejected(requests, i, outcomeOf(i, attempt), AccountMetrics.Outcome.of(attempt.failure()), start);
+            }
+            outcomes.add(TransferOutcome.succeeded(i, attempt.result()));
+        }
+        
+        List<JournalEntry> entries = new ArrayList<>(requests.size());
+        for (TransferRequest request : requests) {
+            entries.add(entryOf(request));
+        }
+        Decline declined = commit(initial, working, entries);
+        if (declined != null) {
+            int index = firstInvolving(requests, declined.accountId());
+            if (declined.failure() == null) {
+                return rejected(requests, index, TransferOutcome.failed(index, "Invalid Transaction", BALANCE_OVERFLOW),
+                    AccountMetrics.Outcome.INVALID, start);
+            }
+            return rejected(requests, index, outcomeOf(index, TransferAttempt.failed(declined.failure())),
+                AccountMetrics.Outcome.of(declined.failure()), start);
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            TransferOutcome outcome = outcomes.get(i);
+            JournalEntry entry = entries.get(i);
+            long amount = request.amountCents();
+            switch (operationOf(request)) {
+                case DEPOSIT -> {
+                    history.record(entry, outcome.toAccount().balanceCents());
+                    aggregates.recordDeposit(amount);
+                }
+                case WITHDRAWAL -> {
+                    history.record(entry, outcome.fromAccount().balanceCents());
+                    aggregates.recordWithdrawal(amount);
+                }
+                case TRANSFER -> {
+                    history.recordTransfer(entry, outcome.fromAccount().balanceCents(), outcome.toAccount().balanceCents());
+                    aggregates.recordTransfer(amount);
+                }
+            }
+            metrics.recordOperation(operationOf(request), AccountMetrics.Outcome.SUCCESS, amount, start);
+        }
+        return outcomes;
+    }
+    
+    private static JournalEntry entryOf(TransferRequest request) {
+        long amount = request.amountCents();
+        return switch (operationOf(request)) {
+            case DEPOSIT -> JournalEntry.deposited(request.toAccountId(), amount);
+            case WITHDRAWAL -> JournalEntry.withdrew(request.fromAccountId(), amount);
+            case TRANSFER -> JournalEntry.transferred(request.fromAccountId(), request.toAccountId(), amount);
+        };
+    }
+    
+    // Applies one item to the working copies; the repository is only read
+    private TransferAttempt decide(TransferRequest request, Map<String, Account> initial, Map<String, Account> working) {
+        AccountMetrics.Operation operation = operationOf(request);
+        Account from = null;
+        Account to = null;
+        if (operation != AccountMetrics.Operation.DEPOSIT) {
+            from = working(request.fromAccountId(), initial, working);
+            if (from == null) {
+                return TransferAttempt.failed(TransferFailure.accountNotFound(request.fromAccountId()));
+            }
+        }
+        if (operation != AccountMetrics.Operation.WITHDRAWAL) {
+            to = working(request.toAccountId(), initial, working);
+            if (to == null) {
+                return TransferAttempt.failed(TransferFailure.accountNotFound(request.toAccountId()));
+            }
+        }
+        long amount = request.amountCents();
+        if (from != null) {
+            if (!from.hasSufficientFunds(amount)) {
+                return TransferAttempt.failed(TransferFailure.insufficientFunds(from.accountId(), amount, from.balanceCents()));
+            }
+            from = from.withdraw(amount);
+            working.put(from.accountId(), from);
+        }
+        if (to != null) {
+            try {
+                to = to.deposit(amount);
+            } catch (ArithmeticException ex) {
+                throw new InvalidTransactionException(operation.name().toLowerCase(), request.amount(), BALANCE_OVERFLOW);
+            }
+            working.put(to.accountId(), to);
+        }
+        return TransferAttempt.succeeded(new TransferResult(from, to));
+    }
+    
+    // The batch's copy of the account, read from the repository on first use; null if unknown
+    private Account working(String accountId, Map<String, Account> initial, Map<String, Account> working) {
+        Account account = working.get(accountId);
+        if (account == null) {
+            account = accountRepository.findById(accountId).orElse(null);
+            if (account != null) {
+                initial.put(accountId, account);
+                working.put(accountId, account);
+            }
+        }
+        return account;
+    }
+    
+    // Moves every account by the difference between its working and initial copy. Returns
+    // the account that could not be moved, after undoing the changes already made
+    private Decline commit(Map<String, Account> initial, Map<String, Account> working, List<JournalEntry> entries) {
+        List<String> debited = new ArrayList<>();
+        for (String accountId : working.keySet()) {
+            long change = change(accountId, initial, working);
+            if (change < 0) {
+                Leg withdrawn = withdrawFrom(accountId, -change);
+                if (withdrawn.declined()) {
+                    undoDebits(debited, initial, working, false);
+                    return new Decline(accountId, withdrawn.failure());
+                }
+                debited.add(accountId);
+            }
+        }
+        // Journal the batch before any of its credits can be spent; from here on every undo is journaled too
+        entries.forEach(journal::append);
+        List<String> credited = new ArrayList<>();
+        for (String accountId : working.keySet()) {
+            long change = change(accountId, initial, working);
+            if (change > 0) {
+                // Only fails if the account was deleted, or deposits outside the batch took it to the limit
+                Leg deposited;
+                try {
+                    deposited = depositTo(accountId, change);
+                } catch (ArithmeticException ex) {
+                    deposited = null;
+                }
+                if (deposited == null || deposited.declined()) {
+                    journal.append(JournalEntry.withdrew(accountId, change));
+                    undoCredits(credited, initial, working);
+                    undoDebits(debited, initial, working, true);
+                    return new Decline(accountId, deposited == null ? null : deposited.failure());
+                }
+                credited.add(accountId);
+            }
+        }
+        return null;
+    }
+    
+    private static long change(String accountId, Map<String, Account> initial, Map<String, Account> working) {
+        return working.get(accountId).balanceCents() - initial.get(accountId).balanceCents();
+    }
+    
+    // Credits cannot be declined for lack of funds; a deleted account has nothing to restore.
+    // Once the batch is journaled, each restoring credit is journaled before it is made
+    private void undoDebits(List<String> debited, Map<String, Account> initial, Map<String, Account> working,
+                            boolean journaled) {
+        for (String accountId : debited) {
+            long amount = -change(accountId, initial, working);
+            if (journaled) {
+                journal.append(JournalEntry.deposited(accountId, amount));
+            }
+            depositTo(accountId, amount);
+        }
+    }
+    
+    // Only fails if an operation outside the batch spent a credit before the batch could take it back;
+    // the credits taken back until then stay journaled as withdrawals
+    private void undoCredits(List<String> credited, Map<String, Account> initial, Map<String, Account> working) {
+        for (String accountId : credited) {
+            long amount = change(accountId, initial, working);
+            Leg withdrawn = withdrawFrom(accountId, amount);
+            if (withdrawn.declined()) {
+                throw new RepositoryException("batch rollback", "Account", accountId, withdrawn.failure().toException());
+            }
+            journal.append(JournalEntry.withdrew(accountId, amount));
+        }
+    }
+    
+    // Reports an atomic batch that changed nothing because the item at the given index failed
+    private List<TransferOutcome> rejected(List<TransferRequest> requests, int failed, TransferOutcome outcome,
+                                           AccountMetrics.Outcome metricsOutcome, long start) {
+        List<TransferOutcome> outcomes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (i < failed) {
+                outcomes.add(TransferOutcome.rolledBack(i));
+            } else if (i == failed) {
+                outcomes.add(outcome);
+            } else {
+                outcomes.add(TransferOutcome.notAttempted(i));
+            }
+        }
+        TransferRequest request = requests.get(failed);
+        metrics.recordOperation(operationOf(request), metricsOutcome, request.amountCents(), start);
+        return outcomes;
+    }
+    
+    // The item a declined account change is reported against: the first one involving the account
+    private static int firstInvolving(List<TransferRequest> requests, String accountId) {
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            if (accountId.equals(request.fromAccountId()) || accountId.equals(request.toAccountId())) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    private static TransferOutcome outcomeOf(int index, TransferAttempt attempt) {
+        if (attempt.succeeded()) {
+            return TransferOutcome.succeeded(index, attempt.result());
+        }
+        TransferFailure failure = attempt.failure();
+        String error = switch (failure.reason()) {
+            case ACCOUNT_NOT_FOUND -> "Account Not Found";
+            case INSUFFICIENT_FUNDS -> "Insufficient Funds";
+        };
+        return TransferOutcome.failed(index, error, failure.message());
+    }
+    
+    // Applies the request on the calling thread. Transfers may skip the stripe locks
+    // only when the caller is the sole writer, as in SequencedTransferUseCase
+    protected TransferAttempt apply(TransferRequest request, boolean lockTransfers) {
+        return journal.record(() -> measuredDispatch(request, lockTransfers));
+    }
+    
+    // Atomic batches decide their items without dispatching and record them themselves
+    private TransferAttempt measuredDispatch(TransferRequest request, boolean lockTransfers) {
+        long start = System.nanoTime();
+        AccountMetrics.Outcome outcome = AccountMetrics.Outcome.ERROR;
+        try {
+            TransferAttempt attempt = dispatch(request, lockTransfers);
+            outcome = AccountMetrics.Outcome.of(attempt.failure());
+            return attempt;
+        } catch (RuntimeException ex) {
+            outcome = AccountMetrics.Outcome.of(ex);
+            throw ex;
+        } finally {
+            metrics.recordOperation(operationOf(request), outcome, request.amountCents(), start);
+        }
+    }
+    
+    private static AccountMetrics.Operation operationOf(TransferRequest request) {
+        if (request.fromAccountId() == null || request.fromAccountId().trim().isEmpty()) {
+            return AccountMetrics.Operation.DEPOSIT;
+        }
+        if (request.toAccountId() == null || request.toAccountId().trim().isEmpty()) {
+            return AccountMetrics.Operation.WITHDRAWAL;
+        }
+        return AccountMetrics.Operation.TRANSFER;
+    }
+    
+    private TransferAttempt dispatch(TransferRequest request, boolean lockTransfers) {
         boolean isFromAccountEmpty = request.fromAccountId() == null || request.fromAccountId().trim().isEmpty();
         boolean isToAccountEmpty = request.toAccountId() == null || request.toAccountId().trim().isEmpty();
         
@@ -39,97 +420,172 @@ public class TransferUseCase {
         
         // Case 3: Transfer - both accounts are specified
         if (!isFromAccountEmpty && !isToAccountEmpty) {
-            return executeTransfer(request);
+            return lockTransfers ? executeTransfer(request) : applyTransfer(request);
         }
         
         // This should not happen due to validation in TransferRequest
         throw new InvalidTransactionException("Invalid transfer request: both accounts cannot be empty");
     }
     
-    private Optional<TransferResult> executeDeposit(TransferRequest request) {
+    private TransferAttempt executeDeposit(TransferRequest request) {
         try {
-            Optional<Account> toAccountOpt = accountRepository.findById(request.toAccountId());
-            
-            if (toAccountOpt.isEmpty()) {
-                throw new AccountNotFoundException(request.toAccountId());
+            // Accounts are never deleted, so an unknown one is declined before anything is journaled
+            if (!accountRepository.existsById(request.toAccountId())) {
+                return TransferAttempt.failed(TransferFailure.accountNotFound(request.toAccountId()));
             }
+            long amount = request.amountCents();
+            JournalEntry entry = JournalEntry.deposited(request.toAccountId(), amount);
+            Leg deposited = journaledCredit(request.toAccountId(), amount, entry);
+            if (deposited.declined()) {
+                return TransferAttempt.failed(deposited.failure());
+            }
+            history.record(entry, deposited.account().balanceCents());
+            aggregates.recordDeposit(amount);
             
-            Account toAccount = toAccountOpt.get();
-            Account updatedToAccount = toAccount.deposit(request.amount());
-            
-            accountRepository.save(updatedToAccount);
-            
-            return Optional.of(new TransferResult(null, updatedToAccount));
-        } catch (AccountNotFoundException ex) {
-            throw ex; // Re-throw custom exceptions
+            return TransferAttempt.succeeded(new TransferResult(null, deposited.account()));
+        } catch (ArithmeticException ex) {
+            throw new InvalidTransactionException("deposit", request.amount(), BALANCE_OVERFLOW);
         } catch (Exception ex) {
             throw new RepositoryException("deposit", "Account", request.toAccountId(), ex);
         }
     }
     
-    private Optional<TransferResult> executeWithdrawal(TransferRequest request) {
+    private TransferAttempt executeWithdrawal(TransferRequest request) {
         try {
-            Optional<Account> fromAccountOpt = accountRepository.findById(request.fromAccountId());
-            
-            if (fromAccountOpt.isEmpty()) {
-                throw new AccountNotFoundException(request.fromAccountId());
+            long amount = request.amountCents();
+            Leg withdrawn = withdrawFrom(request.fromAccountId(), amount);
+            if (withdrawn.declined()) {
+                return TransferAttempt.failed(withdrawn.failure());
             }
+            JournalEntry entry = JournalEntry.withdrew(request.fromAccountId(), amount);
+            journal.append(entry);
+            history.record(entry, withdrawn.account().balanceCents());
+            aggregates.recordWithdrawal(amount);
             
-            Account fromAccount = fromAccountOpt.get();
-            
-            // Check if the source account has sufficient funds
-            if (!fromAccount.hasSufficientFunds(request.amount())) {
-                throw new InsufficientFundsException(request.fromAccountId(), request.amount(), fromAccount.balance());
-            }
-            
-            Account updatedFromAccount = fromAccount.withdraw(request.amount());
-            
-            accountRepository.save(updatedFromAccount);
-            
-            return Optional.of(new TransferResult(updatedFromAccount, null));
-        } catch (AccountNotFoundException | InsufficientFundsException ex) {
-            throw ex; // Re-throw custom exceptions
+            return TransferAttempt.succeeded(new TransferResult(withdrawn.account(), null));
         } catch (Exception ex) {
             throw new RepositoryException("withdrawal", "Account", request.fromAccountId(), ex);
         }
     }
     
-    private Optional<TransferResult> executeTransfer(TransferRequest request) {
+    private TransferAttempt executeTransfer(TransferRequest request) {
+        // The stripes order this transfer against other transfers on the same accounts;
+        // each leg is still an atomic repository update so single-account operations,
+        // which do not take the stripes, never lose an update
+        return lockStripes.withLocks(request.fromAccountId(), request.toAccountId(), () -> applyTransfer(request));
+    }
+    
+    private TransferAttempt applyTransfer(TransferRequest request) {
         try {
-            // Find both accounts
-            Optional<Account> fromAccountOpt = accountRepository.findById(request.fromAccountId());
-            Optional<Account> toAccountOpt = accountRepository.findById(request.toAccountId());
-            
-            if (fromAccountOpt.isEmpty()) {
-                throw new AccountNotFoundException(request.fromAccountId());
+            if (!accountRepository.existsById(request.fromAccountId())) {
+                return TransferAttempt.failed(TransferFailure.accountNotFound(request.fromAccountId()));
             }
             
-            if (toAccountOpt.isEmpty()) {
-                throw new AccountNotFoundException(request.toAccountId());
+            if (!accountRepository.existsById(request.toAccountId())) {
+                return TransferAttempt.failed(TransferFailure.accountNotFound(request.toAccountId()));
             }
             
-            Account fromAccount = fromAccountOpt.get();
-            Account toAccount = toAccountOpt.get();
-            
-            // Check if the source account has sufficient funds
-            if (!fromAccount.hasSufficientFunds(request.amount())) {
-                throw new InsufficientFundsException(request.fromAccountId(), request.amount(), fromAccount.balance());
+            long amount = request.amountCents();
+            Leg withdrawn = withdrawFrom(request.fromAccountId(), amount);
+            if (withdrawn.declined()) {
+                return TransferAttempt.failed(withdrawn.failure());
             }
+            JournalEntry entry = JournalEntry.transferred(request.fromAccountId(), request.toAccountId(), amount);
+            Leg deposited;
+            try {
+                deposited = journaledCredit(request.toAccountId(), amount, entry);
+            } catch (RuntimeException ex) {
+                // The destination would overflow; put the money back, after the journaled reversal
+                depositTo(request.fromAccountId(), amount);
+                throw ex;
+            }
+            if (deposited.declined()) {
+                // The destination vanished since the existence check; put the money back
+                depositTo(request.fromAccountId(), amount);
+                return TransferAttempt.failed(deposited.failure());
+            }
+            history.recordTransfer(entry, withdrawn.account().balanceCents(), deposited.account().balanceCents());
+            aggregates.recordTransfer(amount);
             
-            // Perform the transfer
-            Account updatedFromAccount = fromAccount.withdraw(request.amount());
-            Account updatedToAccount = toAccount.deposit(request.amount());
-            
-            // Save both accounts
-            accountRepository.save(updatedFromAccount);
-            accountRepository.save(updatedToAccount);
-            
-            return Optional.of(new TransferResult(updatedFromAccount, updatedToAccount));
-        } catch (AccountNotFoundException | InsufficientFundsException ex) {
-            throw ex; // Re-throw custom exceptions
+            return TransferAttempt.succeeded(new TransferResult(withdrawn.account(), deposited.account()));
+        } catch (ArithmeticException ex) {
+            throw new InvalidTransactionException("transfer", request.amount(), BALANCE_OVERFLOW);
         } catch (Exception ex) {
             throw new RepositoryException("transfer", "Account", 
                 String.format("%s->%s", request.fromAccountId(), request.toAccountId()), ex);
         }
     }
-}
\ No newline at end of file
+    
+    // Journals a credit before making it, so an operation that spends the money is always
+    // journaled after it. If the credit fails, the entry's reversal is journaled, and replay
+    // nets the two to nothing
+    private Leg journaledCredit(String accountId, long amount, JournalEntry entry) {
+        journal.append(entry);
+        Leg deposited;
+        try {
+            deposited = depositTo(accountId, amount);
+        } catch (RuntimeException ex) {
+            journal.append(entry.reversed());
+            throw ex;
+        }
+        if (deposited.declined()) {
+            journal.append(entry.reversed());
+        }
+        return deposited;
+    }
+    
+    private Leg depositTo(String accountId, long amount) {
+        Optional<Account> updated = accountRepository.credit(accountId, amount);
+        
+        if (updated.isEmpty()) {
+            return Leg.declined(TransferFailure.accountNotFound(accountId));
+        }
+        balanceIndex.markChanged(accountId);
+        long balance = updated.get().balanceCents();
+        aggregates.recordActivity(accountId, balance - amount, balance);
+        
+        return new Leg(updated.get(), null);
+    }
+    
+    private Leg withdrawFrom(String accountId, long amount) {
+        // Balance seen by a declined update; the update leaves such an account unchanged
+        long[] declinedBalance = new long[1];
+        Optional<Account> updated = accountRepository.update(accountId, account -> {
+            declinedBalance[0] = -1;
+            // Check if the source account has sufficient funds
+            if (!account.hasSufficientFunds(amount)) {
+                declinedBalance[0] = account.balanceCents();
+                return account;
+            }
+            return account.withdraw(amount);
+        });
+        
+        if (updated.isEmpty()) {
+            return Leg.declined(TransferFailure.accountNotFound(accountId));
+        }
+        if (declinedBalance[0] >= 0) {
+            return Leg.declined(TransferFailure.insufficientFunds(accountId, amount, declinedBalance[0]));
+        }
+        balanceIndex.markChanged(accountId);
+        long balance = updated.get().balanceCents();
+        aggregates.recordActivity(accountId, balance + amount, balance);
+        
+        return new Leg(updated.get(), null);
+    }
+    
+    // An account an atomic batch could not change: why, or no failure if the balance would overflow
+    private record Decline(String accountId, TransferFailure failure) {
+    }
+    
+    // One account's side of an operation: the updated account, or why it was declined
+    private record Leg(Account account, TransferFailure failure) {
+        
+        static Leg declined(TransferFailure failure) {
+            return new Leg(null, failure);
+        }
+        
+        boolean declined() {
+            return failure != null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
 import com.reckless_bank.in_memory_apis.account.application.dto.TransactionRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
@@ -25,7 +26,7 @@ public class WithdrawUseCase {
         }
         
         // Create a TransferRequest for withdrawal (fromAccount = accountId, toAccount = null)
-        TransferRequest transferRequest = new TransferRequest(accountId, null, request.amount());
+        TransferRequest transferRequest = new TransferRequest(accountId, null, request.amountCents());
         
         Optional<TransferResult> transferResult = transferUseCase.execute(transferRequest);
         
@@ -35,4 +36,16 @@ public class WithdrawUseCase {
         
         return Optional.empty();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Withdraws without throwing for an unknown account or insufficient funds;
+     * see {@link TransferUseCase#attempt}.
+     * @return The attempt, whose result holds the updated account as {@code fromAccount}
+     */
+    public TransferAttempt attempt(String accountId, TransactionRequest request) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new InvalidTransactionException("withdrawal", null, "Account ID cannot be null or empty");
+        }
+        return transferUseCase.attempt(new TransferRequest(accountId, null, request.amountCents()));
+    }
+}
@@ -1,8 +1,17 @@
 package com.reckless_bank.in_memory_apis.account.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.math.BigDecimal;
 
-public record Account(String accountId, String accountHolder, BigDecimal balance) {
+/**
+ * Account state. The balance is held in minor units (see {@link Money});
+ * it is exposed as a decimal only through {@link #balance()} for serialization.
+ */
+@JsonPropertyOrder({"accountId", "accountHolder", "balance", "active"})
+public record Account(String accountId, String accountHolder, @JsonIgnore long balanceCents) {
     
     public Account {
         if (accountId == null || accountId.trim().isEmpty()) {
@@ -11,42 +20,60 @@ public record Account(String accountId, String accountHolder, BigDecimal balance
         if (accountHolder == null || accountHolder.trim().isEmpty()) {
             throw new IllegalArgumentException("Account holder cannot be null or empty");
         }
-        if (balance == null || balance.compareTo(BigDecimal.ZERO) < 0) {
+        if (balanceCents < 0) {
             throw new IllegalArgumentException("Balance cannot be negative");
         }
     }
     
+    // Boundary constructor taking a decimal balance
+    public Account(String accountId, String accountHolder, BigDecimal balance) {
+        this(accountId, accountHolder, toBalanceCents(balance));
+    }
+    
     // Factory method for creating new accounts with zero balance
     public static Account newAccount(String accountId, String accountHolder) {
-        return new Account(accountId, accountHolder, BigDecimal.ZERO);
+        return new Account(accountId, accountHolder, 0L);
+    }
+    
+    // Decimal view of the balance, used at the JSON boundary
+    @JsonProperty("balance")
+    public BigDecimal balance() {
+        return Money.fromCents(balanceCents);
     }
     
-    // Method to deposit money (returns new Account instance)
-    public Account deposit(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+    // Method to deposit money (returns new Account instance); throws ArithmeticException on overflow
+    public Account deposit(long amountCents) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        return new Account(accountId, accountHolder, balance.add(amount));
+        return new Account(accountId, accountHolder, Math.addExact(balanceCents, amountCents));
     }
     
     // Method to withdraw money (returns new Account instance)
-    public Account withdraw(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public Account withdraw(long amountCents) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
-        if (balance.compareTo(amount) < 0) {
+        if (balanceCents < amountCents) {
             throw new IllegalArgumentException("Insufficient funds");
         }
-        return new Account(accountId, accountHolder, balance.subtract(amount));
+        return new Account(accountId, accountHolder, balanceCents - amountCents);
     }
     
     // Utility method to check if account has sufficient funds
-    public boolean hasSufficientFunds(BigDecimal amount) {
-        return amount != null && balance.compareTo(amount) >= 0;
+    public boolean hasSufficientFunds(long amountCents) {
+        return balanceCents >= amountCents;
     }
     
     // Utility method to check if account is active (has positive balance)
     public boolean isActive() {
-        return balance.compareTo(BigDecimal.ZERO) > 0;
+        return balanceCents > 0;
+    }
+    
+    private static long toBalanceCents(BigDecimal balance) {
+        if (balance == null || balance.signum() < 0) {
+            throw new IllegalArgumentException("Balance cannot be negative");
+        }
+        return Money.toCents(balance);
     }
 }
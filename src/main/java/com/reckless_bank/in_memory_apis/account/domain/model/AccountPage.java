@@ -0,0 +1,10 @@
+package com.reckless_bank.in_memory_apis.account.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of accounts in repository order.
+ * {@code nextCursor} is passed back to fetch the following page and is null on the last page.
+ */
+public record AccountPage(List<Account> accounts, String nextCursor) {
+}
@@ -0,0 +1,33 @@
+package com.reckless_bank.in_memory_apis.account.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+
+/**
+ * One entry of an account's transaction history. Each side of a transfer is recorded
+ * as its own leg, with the other account as counterparty. Sequences are per account
+ * and increase by one with every entry.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"sequence", "type", "amount", "balanceAfter", "counterpartyId", "timestamp"})
+public record AccountTransaction(long sequence, Type type, String counterpartyId, @JsonIgnore long amountCents,
+                                 @JsonIgnore long balanceAfterCents, long timestamp) {
+    
+    public enum Type {
+        DEPOSIT, WITHDRAWAL, TRANSFER_OUT, TRANSFER_IN
+    }
+    
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.fromCents(amountCents);
+    }
+    
+    @JsonProperty("balanceAfter")
+    public BigDecimal balanceAfter() {
+        return Money.fromCents(balanceAfterCents);
+    }
+}
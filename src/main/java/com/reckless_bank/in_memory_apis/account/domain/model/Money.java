@@ -0,0 +1,57 @@
+package com.reckless_bank.in_memory_apis.account.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between decimal amounts at the API boundary and the scaled-long
+ * minor units (cents) the domain works in.
+ */
+public final class Money {
+    
+    // Number of decimal places held in the minor unit
+    public static final int SCALE = 2;
+    
+    private Money() {
+    }
+    
+    /**
+     * Converts a decimal amount to minor units.
+     * @param amount The decimal amount, with at most {@link #SCALE} decimal places
+     * @return The amount in minor units
+     * @throws IllegalArgumentException if the amount is null, has more precision than a minor unit,
+     *         or does not fit in a long
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                String.format("Amount %s must have at most %d decimal places and be within the supported range", 
+                    amount.toPlainString(), SCALE));
+        }
+    }
+    
+    /**
+     * Converts minor units back to a decimal amount for the API boundary.
+     * @param cents The amount in minor units
+     * @return The decimal amount with {@link #SCALE} decimal places
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    /**
+     * Formats minor units as the text {@link #fromCents(long)} would print, without allocating the decimal.
+     * @param cents The amount in minor units
+     * @return The amount as a plain decimal string with {@link #SCALE} decimal places
+     */
+    public static String toPlainString(long cents) {
+        long units = cents / 100; // SCALE of 2
+        int minor = (int) Math.abs(cents % 100);
+        String sign = cents < 0 && units == 0 ? "-" : "";
+        return sign + units + (minor < 10 ? ".0" : ".") + minor;
+    }
+}
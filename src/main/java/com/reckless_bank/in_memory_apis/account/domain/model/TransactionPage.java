@@ -0,0 +1,21 @@
+package com.reckless_bank.in_memory_apis.account.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One page of an account's transaction history, newest first.
+ * {@code nextCursor} fetches older entries and is null on the last page. Entries evicted
+ * from the bounded history are summarized by their count and net balance change.
+ */
+public record TransactionPage(List<AccountTransaction> transactions, String nextCursor,
+                              long compactedTransactions, @JsonIgnore long compactedNetChangeCents) {
+    
+    @JsonProperty("compactedNetChange")
+    public BigDecimal compactedNetChange() {
+        return Money.fromCents(compactedNetChangeCents);
+    }
+}
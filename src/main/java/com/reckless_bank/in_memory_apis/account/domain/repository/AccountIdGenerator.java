@@ -0,0 +1,27 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+/**
+ * Strategy for assigning identifiers to new accounts.
+ * Implementations must be lock-free and return a distinct ID on every call,
+ * however many threads call concurrently.
+ */
+public interface AccountIdGenerator {
+    
+    /**
+     * Returns a new, never previously returned account identifier.
+     * @return The account identifier
+     */
+    String nextId();
+    
+    /**
+     * Tells the generator that an account with this ID exists, for example one restored
+     * from a snapshot, so later IDs never collide with it. IDs in a foreign format are ignored.
+     * @param accountId An existing account identifier
+     */
+    void observe(String accountId);
+    
+    /**
+     * Forgets every issued and observed ID, for use when the repository is cleared.
+     */
+    void reset();
+}
@@ -1,57 +1,198 @@
 package com.reckless_bank.in_memory_apis.account.domain.repository;
 
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.UnaryOperator;
 
+/**
+ * Heap account store.
+ * <p>
+ * Accounts listed in {@code bank.hot-accounts.ids} are hot: their balance is a
+ * {@link StripedBalance} of {@code bank.hot-accounts.cells} cells (default 16), so
+ * concurrent {@link #credit credits} to one account add to different cells instead of all
+ * contending on its map entry. Updates, which may lower the balance, fold the cells into
+ * the stored record while holding the entry, and reads add the cells to it.
+ */
 @Repository
+@Profile("!offheap") // OffHeapAccountRepository replaces this store under the offheap profile
 @Scope("singleton") // Explicitly declare singleton scope (this is default for Spring beans)
 public class AccountRepository implements IAccountRepository {
     
-    // Static instance for singleton pattern
-    private static volatile IAccountRepository instance;
-    
     // In-memory storage for accounts - using ConcurrentHashMap for thread safety
     private final Map<String, Account> accounts = new ConcurrentHashMap<>();
     
-    // Default constructor for Spring dependency injection
-    // Spring will manage this as a singleton automatically
+    // Account IDs in sorted order for cursor pagination; maintained inside the map's
+    // compute calls so it always matches the map's key set for a given ID
+    private final NavigableSet<String> accountIds = new ConcurrentSkipListSet<>();
+    
+    // Assigns IDs to new accounts; told about every inserted ID so explicit IDs never collide
+    private final AccountIdGenerator idGenerator;
+    
+    // Balances of the hot accounts that exist, each created and dropped inside the map's
+    // compute calls for its ID; the stored record then holds the base as of the last fold
+    private final Set<String> hotAccountIds;
+    private final int hotCells;
+    private final Map<String, StripedBalance> hotBalances = new ConcurrentHashMap<>();
+    
+    // Default constructor for the static singleton, issuing ACC001, ACC002, ...
     public AccountRepository() {
-        // Spring will use this constructor and manage as singleton
+        this(new SequentialAccountIdGenerator("ACC", null));
     }
     
-    // Thread-safe singleton getInstance method using double-checked locking
-    public static IAccountRepository getInstance() {
-        if (instance == null) {
-            synchronized (AccountRepository.class) {
-                if (instance == null) {
-                    instance = new AccountRepository();
-                }
-            }
+    public AccountRepository(AccountIdGenerator idGenerator) {
+        this(idGenerator, new String[0], 1);
+    }
+    
+    // Constructor for Spring dependency injection
+    // Spring will manage this as a singleton automatically
+    @Autowired
+    public AccountRepository(AccountIdGenerator idGenerator,
+                             @Value("${bank.hot-accounts.ids:}") String[] hotAccountIds,
+                             @Value("${bank.hot-accounts.cells:16}") int hotCells) {
+        if (hotCells < 1 || Integer.bitCount(hotCells) != 1) {
+            throw new IllegalArgumentException("Hot account cells must be a power of two");
         }
-        return instance;
+        this.idGenerator = idGenerator;
+        this.hotAccountIds = Set.copyOf(List.of(hotAccountIds));
+        this.hotCells = hotCells;
+    }
+    
+    // Static instance for singleton pattern, created by the holder's class initialization on
+    // first use; unlike double-checked locking there is no monitor for a virtual thread to pin on
+    private static final class InstanceHolder {
+        private static final IAccountRepository INSTANCE = new AccountRepository();
+    }
+    
+    public static IAccountRepository getInstance() {
+        return InstanceHolder.INSTANCE;
     }
     
     @Override
     public Map<String, Account> findAll() {
-        return new ConcurrentHashMap<>(accounts); // Return defensive copy
+        Map<String, Account> copy = new ConcurrentHashMap<>(accounts); // Return defensive copy
+        for (String accountId : hotBalances.keySet()) {
+            copy.computeIfPresent(accountId, (id, account) -> withCredits(account));
+        }
+        return copy;
     }
     
     @Override
     public Optional<Account> findById(String accountId) {
-        return Optional.ofNullable(accounts.get(accountId));
+        Account account = accounts.get(accountId);
+        return Optional.ofNullable(account == null ? null : withCredits(account));
+    }
+    
+    @Override
+    public AccountPage findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        // The cursor is the last account ID returned, and IDs are visited in sorted order
+        NavigableSet<String> remaining = cursor == null ? accountIds : accountIds.tailSet(cursor, false);
+        List<Account> page = new ArrayList<>(Math.min(limit, 1024));
+        String last = null;
+        for (String accountId : remaining) {
+            if (page.size() == limit) {
+                return new AccountPage(page, last);
+            }
+            Account account = accounts.get(accountId);
+            if (account != null) {
+                page.add(withCredits(account));
+                last = accountId;
+            }
+        }
+        return new AccountPage(page, null);
     }
     
     @Override
     public Account save(Account account) {
-        accounts.put(account.accountId(), account);
+        accounts.compute(account.accountId(), (accountId, existing) -> {
+            if (existing == null) {
+                accountIds.add(accountId);
+                idGenerator.observe(accountId);
+            }
+            StripedBalance hot = hotBalances.get(accountId);
+            if (hot != null) {
+                hot.reset(account.balanceCents());
+            } else if (hotAccountIds.contains(accountId)) {
+                hotBalances.put(accountId, new StripedBalance(hotCells, account.balanceCents()));
+            }
+            return account;
+        });
         return account;
     }
     
+    @Override
+    public Optional<Account> update(String accountId, UnaryOperator<Account> updater) {
+        // computeIfPresent runs the updater while holding the entry's bin, so the
+        // read-modify-write is atomic without any lock beyond the map's own
+        return Optional.ofNullable(accounts.computeIfPresent(accountId, (id, current) -> {
+            StripedBalance hot = hotBalances.get(id);
+            if (hot == null) {
+                return updater.apply(current);
+            }
+            Account updated = updater.apply(folded(current, hot));
+            hot.setBase(updated.balanceCents());
+            return updated;
+        }));
+    }
+    
+    // Credits to a hot account only read its entry, so they never wait for each other
+    @Override
+    public Optional<Account> credit(String accountId, long amountCents) {
+        StripedBalance hot = hotBalances.get(accountId);
+        if (hot == null) {
+            return IAccountRepository.super.credit(accountId, amountCents);
+        }
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be positive");
+        }
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            return Optional.empty();
+        }
+        hot.credit(amountCents);
+        return Optional.of(new Account(accountId, account.accountHolder(), hot.balance()));
+    }
+    
+    @Override
+    public boolean replace(Account expected, Account replacement) {
+        if (!expected.accountId().equals(replacement.accountId())) {
+            throw new IllegalArgumentException("Replacement must keep the same account ID");
+        }
+        if (!hotBalances.containsKey(expected.accountId())) {
+            return accounts.replace(expected.accountId(), expected, replacement);
+        }
+        boolean[] replaced = new boolean[1];
+        accounts.computeIfPresent(expected.accountId(), (id, current) -> {
+            StripedBalance hot = hotBalances.get(id);
+            Account folded = hot == null ? current : folded(current, hot);
+            if (!folded.equals(expected)) {
+                return folded;
+            }
+            if (hot != null) {
+                hot.setBase(replacement.balanceCents());
+            }
+            replaced[0] = true;
+            return replacement;
+        });
+        return replaced[0];
+    }
+    
     @Override
     public boolean existsById(String accountId) {
         return accounts.containsKey(accountId);
@@ -59,7 +200,11 @@ public class AccountRepository implements IAccountRepository {
     
     @Override
     public void deleteById(String accountId) {
-        accounts.remove(accountId);
+        accounts.computeIfPresent(accountId, (id, existing) -> {
+            accountIds.remove(id);
+            hotBalances.remove(id);
+            return null;
+        });
     }
     
     @Override
@@ -69,16 +214,35 @@ public class AccountRepository implements IAccountRepository {
     
     @Override
     public String generateNextAccountId() {
-        return "ACC" + String.format("%03d", accounts.size() + 1);
+        return idGenerator.nextId();
     }
     
     @Override
     public void clear() {
         accounts.clear();
+        accountIds.clear();
+        hotBalances.clear();
+        idGenerator.reset();
     }
     
     @Override
     public boolean isEmpty() {
         return accounts.isEmpty();
     }
-}
\ No newline at end of file
+    
+    @Override
+    public Set<String> hotAccountIds() {
+        return hotAccountIds;
+    }
+    
+    // The stored record of a hot account holds only the base; credits since the last fold are in its cells
+    private Account withCredits(Account account) {
+        StripedBalance hot = hotBalances.isEmpty() ? null : hotBalances.get(account.accountId());
+        return hot == null ? account : new Account(account.accountId(), account.accountHolder(), hot.balance());
+    }
+    
+    // Called while holding the account's entry, which serializes folds
+    private static Account folded(Account current, StripedBalance hot) {
+        return new Account(current.accountId(), current.accountHolder(), hot.fold());
+    }
+}
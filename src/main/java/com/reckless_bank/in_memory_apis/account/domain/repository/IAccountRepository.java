@@ -1,9 +1,12 @@
 package com.reckless_bank.in_memory_apis.account.domain.repository;
 
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Contract interface for Account repository operations.
@@ -17,6 +20,18 @@ public interface IAccountRepository {
      */
     Map<String, Account> findAll();
     
+    /**
+     * Returns up to {@code limit} accounts following the cursor, without copying the store.
+     * The order is stable for the lifetime of the repository, so every account that exists
+     * for the whole traversal is returned exactly once; accounts created or deleted meanwhile
+     * may or may not appear.
+     * @param cursor Opaque position from a previous page, or null to start from the beginning
+     * @param limit Maximum number of accounts to return, at least 1
+     * @return The page of accounts and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor was not produced by this repository type
+     */
+    AccountPage findPage(String cursor, int limit);
+    
     /**
      * Finds an account by its unique identifier.
      * @param accountId The unique identifier of the account
@@ -31,6 +46,46 @@ public interface IAccountRepository {
      */
     Account save(Account account);
     
+    /**
+     * Atomically replaces an existing account with the result of applying the updater to it.
+     * The updater may run more than once under contention and must be side-effect free;
+     * if it throws, the stored account is left unchanged and the exception propagates.
+     * @param accountId The unique identifier of the account to update
+     * @param updater Function computing the new account state from the current one
+     * @return Optional containing the updated account, empty if the account does not exist
+     */
+    Optional<Account> update(String accountId, UnaryOperator<Account> updater);
+    
+    /**
+     * Atomically adds to an account's balance, as an update applying {@link Account#deposit(long)}.
+     * Stores may take a faster path for accounts that receive many concurrent credits.
+     * @param accountId The unique identifier of the account to credit
+     * @param amountCents The amount to add, in cents, positive
+     * @return Optional containing the credited account, empty if the account does not exist
+     * @throws ArithmeticException if the balance would overflow
+     */
+    default Optional<Account> credit(String accountId, long amountCents) {
+        return update(accountId, account -> account.deposit(amountCents));
+    }
+    
+    /**
+     * Accounts whose credits may take the faster path of {@link #credit}. Such a credit
+     * returns a balance that can include other credits made at the same time, so callers
+     * cannot derive the balance it started from.
+     * @return The IDs of the accounts that are or would be credited this way
+     */
+    default Set<String> hotAccountIds() {
+        return Set.of();
+    }
+    
+    /**
+     * Replaces an account only if it is currently stored as the expected instance.
+     * @param expected The account state the caller last observed
+     * @param replacement The new account state, with the same account identifier
+     * @return true if the account was replaced, false if it changed or no longer exists
+     */
+    boolean replace(Account expected, Account replacement);
+    
     /**
      * Checks if an account exists by its identifier.
      * @param accountId The unique identifier of the account
@@ -51,7 +106,8 @@ public interface IAccountRepository {
     int count();
     
     /**
-     * Generates the next available account identifier.
+     * Generates the next available account identifier without locking. Every call returns
+     * a different ID, even under concurrency, and IDs of saved accounts are never reissued.
      * @return A unique account identifier
      */
     String generateNextAccountId();
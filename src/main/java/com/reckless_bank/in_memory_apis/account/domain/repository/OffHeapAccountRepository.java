@@ -0,0 +1,528 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Account repository keeping every account in off-heap direct buffers.
+ * Accounts are stored as fixed-width records in 8 MB chunks and located through an
+ * open-addressing (linear probing) index that also lives off-heap, so the heap cost
+ * per account is close to zero and the collector never has to trace them.
+ * Enabled with the {@code offheap} Spring profile.
+ */
+@Repository
+@Profile("offheap")
+public class OffHeapAccountRepository implements IAccountRepository {
+
+    // Record layout (bytes): balance | id length | id | holder length | holder
+    static final int RECORD_SIZE = 128;
+    static final int MAX_ID_BYTES = 23;
+    static final int MAX_HOLDER_BYTES = 94;
+    private static final int BALANCE_OFFSET = 0;
+    private static final int ID_LENGTH_OFFSET = 8;
+    private static final int ID_OFFSET = 9;
+    private static final int HOLDER_LENGTH_OFFSET = 32;
+    private static final int HOLDER_OFFSET = 33;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+
+    // Index entry layout (bytes): hash | slot + 1, where 0 is a never-used entry and -1 a deleted one
+    private static final int INDEX_ENTRY_SIZE = 8;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final int MIN_INDEX_CAPACITY = 16;
+    private static final int MAX_INDEX_CAPACITY = 1 << 28;
+
+    private static final int RECORD_LOCKS = 256;
+
+    // Write lock for anything that changes the index or the chunk list; read lock for everything else
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+    // Guards the contents of individual records under the read lock
+    private final ReentrantLock[] recordLocks = new ReentrantLock[RECORD_LOCKS];
+
+    private final AccountIdGenerator idGenerator;
+    private final int initialIndexCapacity;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer index;
+    private int indexCapacity;
+    private int usedIndexEntries;
+    private int nextSlot;
+    private int freeHead = -1;
+    private volatile int size;
+
+    public OffHeapAccountRepository(int initialCapacity) {
+        this(initialCapacity, new SequentialAccountIdGenerator("ACC", null));
+    }
+
+    @Autowired
+    public OffHeapAccountRepository(@Value("${bank.offheap.initial-capacity:1024}") int initialCapacity,
+                                    AccountIdGenerator idGenerator) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        for (int i = 0; i < RECORD_LOCKS; i++) {
+            recordLocks[i] = new ReentrantLock();
+        }
+        this.idGenerator = idGenerator;
+        this.initialIndexCapacity = indexCapacityFor(initialCapacity);
+        allocateIndex(initialIndexCapacity);
+    }
+
+    @Override
+    public Map<String, Account> findAll() {
+        Map<String, Account> result = new ConcurrentHashMap<>();
+        structureLock.readLock().lock();
+        try {
+            for (int entry = 0; entry < indexCapacity; entry++) {
+                int slot = slotAt(entry);
+                if (slot >= 0) {
+                    Account account = readLocked(slot);
+                    result.put(account.accountId(), account);
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public AccountPage findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        // The cursor is the last slot returned; slots are visited in storage order
+        int start = cursor == null ? 0 : slotOf(cursor) + 1;
+        List<Account> page = new ArrayList<>(Math.min(limit, 1024));
+        int lastSlot = -1;
+        structureLock.readLock().lock();
+        try {
+            for (int slot = start; slot < nextSlot; slot++) {
+                if (!isLive(slot)) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    return new AccountPage(page, Integer.toString(lastSlot));
+                }
+                page.add(readLocked(slot));
+                lastSlot = slot;
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        return new AccountPage(page, null);
+    }
+
+    @Override
+    public Optional<Account> findById(String accountId) {
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        structureLock.readLock().lock();
+        try {
+            int slot = findSlot(id, hash(id));
+            return slot < 0 ? Optional.empty() : Optional.of(readLocked(slot));
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Account save(Account account) {
+        byte[] id = encode(account.accountId(), MAX_ID_BYTES, "Account ID");
+        byte[] holder = encode(account.accountHolder(), MAX_HOLDER_BYTES, "Account holder");
+        int hash = hash(id);
+
+        // Overwriting an existing record only needs the read lock
+        structureLock.readLock().lock();
+        try {
+            int slot = findSlot(id, hash);
+            if (slot >= 0) {
+                writeLocked(slot, holder, account.balanceCents());
+                return account;
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+
+        structureLock.writeLock().lock();
+        try {
+            int slot = findSlot(id, hash);
+            if (slot < 0) {
+                slot = insert(id, hash);
+                idGenerator.observe(account.accountId());
+            }
+            writeRecord(slot, id, holder, account.balanceCents());
+            return account;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Account> update(String accountId, UnaryOperator<Account> updater) {
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        structureLock.readLock().lock();
+        try {
+            int slot = findSlot(id, hash(id));
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            ReentrantLock lock = recordLock(slot);
+            lock.lock();
+            try {
+                Account updated = updater.apply(readRecord(slot));
+                writeReplacement(slot, accountId, updated);
+                return Optional.of(updated);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Account expected, Account replacement) {
+        if (!expected.accountId().equals(replacement.accountId())) {
+            throw new IllegalArgumentException("Replacement must keep the same account ID");
+        }
+        byte[] id = expected.accountId().getBytes(StandardCharsets.UTF_8);
+        structureLock.readLock().lock();
+        try {
+            int slot = findSlot(id, hash(id));
+            if (slot < 0) {
+                return false;
+            }
+            ReentrantLock lock = recordLock(slot);
+            lock.lock();
+            try {
+                if (!readRecord(slot).equals(expected)) {
+                    return false;
+                }
+                writeReplacement(slot, expected.accountId(), replacement);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(String accountId) {
+        if (accountId == null) {
+            return false;
+        }
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        structureLock.readLock().lock();
+        try {
+            return findSlot(id, hash(id)) >= 0;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(String accountId) {
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        structureLock.writeLock().lock();
+        try {
+            int entry = findEntry(id, hash(id));
+            if (entry < 0) {
+                return;
+            }
+            int slot = slotAt(entry);
+            index.putInt(entry * INDEX_ENTRY_SIZE + 4, DELETED);
+            // Freed records form a list threaded through their balance field,
+            // and a zero ID length marks them as free for page scans
+            chunkOf(slot).putLong(offsetOf(slot) + BALANCE_OFFSET, freeHead);
+            chunkOf(slot).put(offsetOf(slot) + ID_LENGTH_OFFSET, (byte) 0);
+            freeHead = slot;
+            size--;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int count() {
+        return size;
+    }
+
+    @Override
+    public String generateNextAccountId() {
+        return idGenerator.nextId();
+    }
+
+    @Override
+    public void clear() {
+        structureLock.writeLock().lock();
+        try {
+            chunks.clear();
+            allocateIndex(initialIndexCapacity);
+            nextSlot = 0;
+            freeHead = -1;
+            size = 0;
+            idGenerator.reset();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the off-heap bytes currently reserved for records and the index.
+     * @return Reserved off-heap bytes
+     */
+    public long reservedOffHeapBytes() {
+        structureLock.readLock().lock();
+        try {
+            return (long) chunks.size() * CHUNK_RECORDS * RECORD_SIZE + (long) indexCapacity * INDEX_ENTRY_SIZE;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    // Index
+
+    private int findSlot(byte[] id, int hash) {
+        int entry = findEntry(id, hash);
+        return entry < 0 ? -1 : slotAt(entry);
+    }
+
+    private int findEntry(byte[] id, int hash) {
+        int mask = indexCapacity - 1;
+        for (int entry = hash & mask, probes = 0; probes < indexCapacity; entry = (entry + 1) & mask, probes++) {
+            int position = entry * INDEX_ENTRY_SIZE;
+            int slotRef = index.getInt(position + 4);
+            if (slotRef == EMPTY) {
+                return -1;
+            }
+            if (slotRef != DELETED && index.getInt(position) == hash && idEquals(slotRef - 1, id)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    // Caller holds the write lock and has checked the ID is absent
+    private int insert(byte[] id, int hash) {
+        if ((usedIndexEntries + 1) * 2L > indexCapacity) {
+            // Grow when mostly live; otherwise rehashing at the same size just purges deleted entries
+            int newCapacity = (size + 1) * 4L > indexCapacity ? indexCapacity << 1 : indexCapacity;
+            if (newCapacity > MAX_INDEX_CAPACITY) {
+                throw new IllegalStateException("Off-heap account index is full");
+            }
+            rehash(newCapacity);
+        }
+        int slot = allocateSlot();
+        int mask = indexCapacity - 1;
+        int entry = hash & mask;
+        while (true) {
+            int slotRef = index.getInt(entry * INDEX_ENTRY_SIZE + 4);
+            if (slotRef == EMPTY || slotRef == DELETED) {
+                if (slotRef == EMPTY) {
+                    usedIndexEntries++;
+                }
+                index.putInt(entry * INDEX_ENTRY_SIZE, hash);
+                index.putInt(entry * INDEX_ENTRY_SIZE + 4, slot + 1);
+                size++;
+                return slot;
+            }
+            entry = (entry + 1) & mask;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer oldIndex = index;
+        int oldCapacity = indexCapacity;
+        allocateIndex(newCapacity);
+        int mask = newCapacity - 1;
+        for (int oldEntry = 0; oldEntry < oldCapacity; oldEntry++) {
+            int slotRef = oldIndex.getInt(oldEntry * INDEX_ENTRY_SIZE + 4);
+            if (slotRef == EMPTY || slotRef == DELETED) {
+                continue;
+            }
+            int hash = oldIndex.getInt(oldEntry * INDEX_ENTRY_SIZE);
+            int entry = hash & mask;
+            while (index.getInt(entry * INDEX_ENTRY_SIZE + 4) != EMPTY) {
+                entry = (entry + 1) & mask;
+            }
+            index.putInt(entry * INDEX_ENTRY_SIZE, hash);
+            index.putInt(entry * INDEX_ENTRY_SIZE + 4, slotRef);
+            usedIndexEntries++;
+        }
+    }
+
+    private void allocateIndex(int capacity) {
+        index = ByteBuffer.allocateDirect(capacity * INDEX_ENTRY_SIZE);
+        indexCapacity = capacity;
+        usedIndexEntries = 0;
+    }
+
+    private int slotAt(int entry) {
+        return index.getInt(entry * INDEX_ENTRY_SIZE + 4) - 1;
+    }
+
+    // Records
+
+    private int allocateSlot() {
+        if (freeHead >= 0) {
+            int slot = freeHead;
+            freeHead = (int) chunkOf(slot).getLong(offsetOf(slot) + BALANCE_OFFSET);
+            return slot;
+        }
+        if (nextSlot == chunks.size() * CHUNK_RECORDS) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_SIZE));
+        }
+        return nextSlot++;
+    }
+
+    // Caller holds the structure lock; IDs only change under the write lock
+    private boolean isLive(int slot) {
+        return chunkOf(slot).get(offsetOf(slot) + ID_LENGTH_OFFSET) != 0;
+    }
+
+    private static int slotOf(String cursor) {
+        try {
+            int slot = Integer.parseInt(cursor);
+            if (slot >= 0) {
+                return slot;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through to the common rejection
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+
+    private Account readLocked(int slot) {
+        ReentrantLock lock = recordLock(slot);
+        lock.lock();
+        try {
+            return readRecord(slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLocked(int slot, byte[] holder, long balanceCents) {
+        ReentrantLock lock = recordLock(slot);
+        lock.lock();
+        try {
+            writeHolderAndBalance(slot, holder, balanceCents);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the record lock
+    private void writeReplacement(int slot, String accountId, Account replacement) {
+        if (replacement == null || !accountId.equals(replacement.accountId())) {
+            throw new IllegalArgumentException("Update must return an account with the same account ID");
+        }
+        byte[] holder = encode(replacement.accountHolder(), MAX_HOLDER_BYTES, "Account holder");
+        writeHolderAndBalance(slot, holder, replacement.balanceCents());
+    }
+
+    private Account readRecord(int slot) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        String accountId = readString(chunk, base + ID_LENGTH_OFFSET, base + ID_OFFSET);
+        String accountHolder = readString(chunk, base + HOLDER_LENGTH_OFFSET, base + HOLDER_OFFSET);
+        return new Account(accountId, accountHolder, chunk.getLong(base + BALANCE_OFFSET));
+    }
+
+    private void writeRecord(int slot, byte[] id, byte[] holder, long balanceCents) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        chunk.put(base + ID_LENGTH_OFFSET, (byte) id.length);
+        chunk.put(base + ID_OFFSET, id, 0, id.length);
+        writeHolderAndBalance(slot, holder, balanceCents);
+    }
+
+    private void writeHolderAndBalance(int slot, byte[] holder, long balanceCents) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        chunk.put(base + HOLDER_LENGTH_OFFSET, (byte) holder.length);
+        chunk.put(base + HOLDER_OFFSET, holder, 0, holder.length);
+        chunk.putLong(base + BALANCE_OFFSET, balanceCents);
+    }
+
+    private boolean idEquals(int slot, byte[] id) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        if (chunk.get(base + ID_LENGTH_OFFSET) != id.length) {
+            return false;
+        }
+        for (int i = 0; i < id.length; i++) {
+            if (chunk.get(base + ID_OFFSET + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer chunkOf(int slot) {
+        return chunks.get(slot >>> CHUNK_SHIFT);
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+    }
+
+    private ReentrantLock recordLock(int slot) {
+        return recordLocks[slot & (RECORD_LOCKS - 1)];
+    }
+
+    private static String readString(ByteBuffer chunk, int lengthOffset, int offset) {
+        byte[] bytes = new byte[chunk.get(lengthOffset)];
+        chunk.get(offset, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value, int maxBytes, String field) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException(
+                String.format("%s exceeds the off-heap store limit of %d bytes", field, maxBytes));
+        }
+        return bytes;
+    }
+
+    private static int hash(byte[] id) {
+        int h = Arrays.hashCode(id);
+        return h ^ (h >>> 16);
+    }
+
+    private static int indexCapacityFor(int expectedAccounts) {
+        long target = Math.max(MIN_INDEX_CAPACITY, (long) expectedAccounts * 2);
+        if (target > MAX_INDEX_CAPACITY) {
+            throw new IllegalArgumentException("Initial capacity exceeds the off-heap index limit");
+        }
+        return Integer.highestOneBit((int) target - 1) << 1;
+    }
+}
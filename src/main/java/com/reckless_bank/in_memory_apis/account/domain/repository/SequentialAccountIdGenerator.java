@@ -0,0 +1,62 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates {@code <prefix><sequence>} IDs from an atomic counter, with the sequence
+ * zero-padded to at least three digits (ACC001, ACC002, ...). An optional node name
+ * gives each instance its own namespace, {@code <prefix><node>-<sequence>}, so
+ * several nodes can create accounts without coordinating.
+ */
+public class SequentialAccountIdGenerator implements AccountIdGenerator {
+    
+    private static final int MIN_DIGITS = 3;
+    
+    private final String idPrefix;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    public SequentialAccountIdGenerator(String prefix, String node) {
+        this.idPrefix = node == null || node.isEmpty() ? prefix : prefix + node + "-";
+    }
+    
+    @Override
+    public String nextId() {
+        String digits = Long.toString(sequence.incrementAndGet());
+        StringBuilder id = new StringBuilder(idPrefix.length() + Math.max(MIN_DIGITS, digits.length()));
+        id.append(idPrefix);
+        for (int i = digits.length(); i < MIN_DIGITS; i++) {
+            id.append('0');
+        }
+        return id.append(digits).toString();
+    }
+    
+    @Override
+    public void observe(String accountId) {
+        long observed = parseSequence(accountId);
+        if (observed > 0 && sequence.get() < observed) {
+            sequence.accumulateAndGet(observed, Math::max);
+        }
+    }
+    
+    @Override
+    public void reset() {
+        sequence.set(0);
+    }
+    
+    // Returns the sequence number of an ID in this generator's format, or -1
+    private long parseSequence(String accountId) {
+        int length = accountId.length();
+        if (!accountId.startsWith(idPrefix) || length == idPrefix.length() || length - idPrefix.length() > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = idPrefix.length(); i < length; i++) {
+            char c = accountId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
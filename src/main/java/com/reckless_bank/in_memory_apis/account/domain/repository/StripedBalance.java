@@ -0,0 +1,134 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Balance of a hot account: a base plus credits spread over cells on separate cache
+ * lines, so concurrent deposits to the same account rarely touch the same memory, as
+ * in {@link java.util.concurrent.atomic.LongAdder}. A credit adds to the cell picked by
+ * the calling thread and moves on to the next cell if its compare-and-set fails.
+ * <p>
+ * Anything that lowers the balance first folds the cells into the base. Folds and base
+ * writes must be serialized by the caller; they bump a sequence number around the move,
+ * so {@link #balance()} retries instead of counting credits in both places or neither.
+ * The per-cell limit keeps the base plus all cells within a long.
+ */
+final class StripedBalance {
+
+    // Longs from one cell to the next: 128 bytes, so neighbouring cells never share a
+    // cache line, even with adjacent-line prefetching
+    private static final int STRIDE = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    // Odd while a fold is moving credits from the cells into the base
+    private volatile long sequence;
+    private volatile long base;
+
+    StripedBalance(int cellCount, long base) {
+        if (cellCount < 1 || Integer.bitCount(cellCount) != 1) {
+            throw new IllegalArgumentException("Cell count must be a power of two");
+        }
+        this.cells = new AtomicLongArray(cellCount * STRIDE);
+        this.mask = cellCount - 1;
+        this.base = base;
+    }
+
+    /**
+     * Adds to the balance without taking any lock.
+     * @throws ArithmeticException if the balance could exceed a long
+     */
+    void credit(long amountCents) {
+        long limit = (Long.MAX_VALUE - base) / (mask + 1);
+        int cell = cellOf(Thread.currentThread().threadId());
+        while (true) {
+            int index = cell * STRIDE;
+            long current = cells.get(index);
+            if (current > limit - amountCents) {
+                throw new ArithmeticException("Hot account balance would overflow");
+            }
+            if (cells.compareAndSet(index, current, current + amountCents)) {
+                return;
+            }
+            cell = (cell + 1) & mask;
+        }
+    }
+
+    /**
+     * @return The base plus every credit added before the call and possibly some added during it
+     */
+    long balance() {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                long folded = base;
+                long credits = cellSum();
+                if (sequence == before) {
+                    return Math.addExact(folded, credits);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Moves every credit into the base. Callers must serialize this with other folds and
+     * with {@link #reset(long)}.
+     * @return The folded balance, which is the new base
+     */
+    long fold() {
+        sequence++;
+        try {
+            long drained = 0;
+            for (int index = 0; index < cells.length(); index += STRIDE) {
+                drained += cells.getAndSet(index, 0);
+            }
+            try {
+                base = Math.addExact(base, drained);
+            } catch (ArithmeticException ex) {
+                // Only reachable if the base grew while credits were in flight; keep them owed
+                cells.getAndAdd(0, drained);
+                throw ex;
+            }
+            return base;
+        } finally {
+            sequence++;
+        }
+    }
+
+    /**
+     * Sets the base after a fold, keeping credits added since. Serialized like {@link #fold()}.
+     */
+    void setBase(long balanceCents) {
+        base = balanceCents;
+    }
+
+    /**
+     * Replaces the whole balance, dropping pending credits. Serialized like {@link #fold()}.
+     */
+    void reset(long balanceCents) {
+        sequence++;
+        try {
+            for (int index = 0; index < cells.length(); index += STRIDE) {
+                cells.set(index, 0);
+            }
+            base = balanceCents;
+        } finally {
+            sequence++;
+        }
+    }
+
+    private long cellSum() {
+        long sum = 0;
+        for (int index = 0; index < cells.length(); index += STRIDE) {
+            sum += cells.get(index);
+        }
+        return sum;
+    }
+
+    // Spreads thread IDs, which are often consecutive, over the cells
+    private int cellOf(long threadId) {
+        long mixed = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) & mask;
+    }
+}
@@ -0,0 +1,112 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates IDs that sort by creation time: a 64-bit value of
+ * {@code milliseconds since 2024-01-01 (42 bits) | node (10 bits) | sequence (12 bits)},
+ * written after the prefix as 13 Crockford base32 characters so string order matches
+ * numeric order. The last issued value lives in one atomic long and is advanced by CAS;
+ * when more than 4096 IDs are taken in one millisecond, or the clock steps back, the
+ * generator borrows from the next millisecond instead of waiting, so it never blocks.
+ */
+public class TimeOrderedAccountIdGenerator implements AccountIdGenerator {
+    
+    public static final int MAX_NODE = (1 << 10) - 1;
+    
+    static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int[] DIGITS = new int[128];
+    
+    static {
+        Arrays.fill(DIGITS, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = i;
+        }
+    }
+    
+    private final String prefix;
+    private final int node;
+    private final LongSupplier clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence); the node is added when formatting
+    private final AtomicLong last = new AtomicLong();
+    
+    public TimeOrderedAccountIdGenerator(String prefix, int node) {
+        this(prefix, node, System::currentTimeMillis);
+    }
+    
+    TimeOrderedAccountIdGenerator(String prefix, int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE);
+        }
+        this.prefix = prefix;
+        this.node = node;
+        this.clock = clock;
+    }
+    
+    @Override
+    public String nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            // A fresh millisecond starts at sequence 0; otherwise take the next sequence,
+            // which carries into the timestamp when the millisecond is exhausted
+            next = Math.max(now, previous + 1);
+        } while (!last.compareAndSet(previous, next));
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return encode(timestamp << (NODE_BITS + SEQUENCE_BITS) | (long) node << SEQUENCE_BITS | sequence);
+    }
+    
+    @Override
+    public void observe(String accountId) {
+        long value = decode(accountId);
+        if (value < 0 || ((value >>> SEQUENCE_BITS) & MAX_NODE) != node) {
+            return;
+        }
+        long observed = (value >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (value & ((1L << SEQUENCE_BITS) - 1));
+        if (last.get() < observed) {
+            last.accumulateAndGet(observed, Math::max);
+        }
+    }
+    
+    @Override
+    public void reset() {
+        last.set(0);
+    }
+    
+    private String encode(long value) {
+        char[] id = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), id, 0);
+        for (int i = id.length - 1; i >= prefix.length(); i--) {
+            id[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(id);
+    }
+    
+    // Returns the 64-bit value of an ID in this generator's format, or -1
+    private long decode(String accountId) {
+        if (accountId.length() != prefix.length() + ENCODED_LENGTH || !accountId.startsWith(prefix)) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = prefix.length(); i < accountId.length(); i++) {
+            char c = accountId.charAt(i);
+            int digit = c < DIGITS.length ? DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 5 | digit;
+        }
+        return value;
+    }
+}
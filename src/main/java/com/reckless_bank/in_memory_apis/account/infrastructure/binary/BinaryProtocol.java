@@ -0,0 +1,340 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wire format of the binary TCP endpoint, shared by {@link BinaryProtocolServer} and
+ * {@link BinaryProtocolClient}. All integers are big-endian.
+ * <p>
+ * Every message is a frame: an {@code int} length, then that many bytes of body. A request
+ * body is an opcode byte, an {@code int} correlation ID chosen by the client, and fields:
+ * <ul>
+ *   <li>{@code DEPOSIT}, {@code WITHDRAW}: account, amount</li>
+ *   <li>{@code TRANSFER}: from account, to account, amount</li>
+ *   <li>{@code BALANCE}: account</li>
+ *   <li>{@code BATCH}: atomic flag byte, {@code short} count, then per item an opcode
+ *   ({@code DEPOSIT}, {@code WITHDRAW} or {@code TRANSFER}) and its fields</li>
+ * </ul>
+ * Accounts are an unsigned {@code short} length and UTF-8 bytes, at most
+ * {@value #MAX_ACCOUNT_ID_BYTES} of them; amounts are {@code long} cents. A response body
+ * is a status byte, the request's correlation ID, and then: for {@code OK}, the resulting
+ * balance in cents (for a transfer, the source's then the destination's); for a batch, a
+ * {@code short} count and one status byte per item; for any other status, a message,
+ * encoded like an account and cut short if it does not fit.
+ * <p>
+ * A client may send any number of requests without waiting. Responses come back in
+ * request order on the same connection.
+ */
+public final class BinaryProtocol {
+
+    // Large enough for a batch of 10,000 transfers between long account IDs
+    public static final int MAX_FRAME_BYTES = 1 << 20;
+    // Far above any ID the stores assign, and short enough to echo back in a message
+    public static final int MAX_ACCOUNT_ID_BYTES = 255;
+
+    static final int LENGTH_BYTES = Integer.BYTES;
+    static final int HEADER_BYTES = 1 + Integer.BYTES;
+
+    public enum Op {
+        DEPOSIT, WITHDRAW, TRANSFER, BALANCE, BATCH;
+
+        private static final Op[] VALUES = values();
+
+        byte code() {
+            return (byte) (ordinal() + 1);
+        }
+
+        static Op of(byte code) {
+            if (code < 1 || code > VALUES.length) {
+                throw new IllegalArgumentException("Unknown opcode " + code);
+            }
+            return VALUES[code - 1];
+        }
+    }
+
+    public enum Status {
+        OK, NOT_FOUND, INSUFFICIENT_FUNDS, INVALID, ERROR,
+        // Batch items: applied then reverted, or skipped, because an atomic batch failed
+        ROLLED_BACK, NOT_ATTEMPTED;
+
+        private static final Status[] VALUES = values();
+
+        static Status of(byte code) {
+            if (code < 0 || code >= VALUES.length) {
+                throw new IllegalArgumentException("Unknown status " + code);
+            }
+            return VALUES[code];
+        }
+    }
+
+    /**
+     * One request. {@code accountId} is the account of a deposit, withdrawal or balance and
+     * the source of a transfer; {@code counterpartyId} is the destination of a transfer.
+     */
+    public record Request(Op op, int correlationId, String accountId, String counterpartyId, long amountCents,
+                          boolean atomic, List<Request> items) {
+
+        public static Request deposit(String accountId, long amountCents) {
+            return new Request(Op.DEPOSIT, 0, accountId, null, amountCents, false, List.of());
+        }
+
+        public static Request withdraw(String accountId, long amountCents) {
+            return new Request(Op.WITHDRAW, 0, accountId, null, amountCents, false, List.of());
+        }
+
+        public static Request transfer(String fromAccountId, String toAccountId, long amountCents) {
+            return new Request(Op.TRANSFER, 0, fromAccountId, toAccountId, amountCents, false, List.of());
+        }
+
+        public static Request balance(String accountId) {
+            return new Request(Op.BALANCE, 0, accountId, null, 0, false, List.of());
+        }
+
+        public static Request batch(List<Request> items, boolean atomic) {
+            return new Request(Op.BATCH, 0, null, null, 0, atomic, List.copyOf(items));
+        }
+
+        Request withCorrelationId(int correlationId) {
+            return new Request(op, correlationId, accountId, counterpartyId, amountCents, atomic, items);
+        }
+    }
+
+    /**
+     * One response. Balances are set for {@code OK} single operations, {@code message} for
+     * other statuses, and {@code items} for batches.
+     */
+    public record Response(int correlationId, Status status, long balanceCents, long counterpartyBalanceCents,
+                           String message, List<Status> items) {
+
+        static Response ok(int correlationId, long balanceCents, long counterpartyBalanceCents) {
+            return new Response(correlationId, Status.OK, balanceCents, counterpartyBalanceCents, null, List.of());
+        }
+
+        static Response failed(int correlationId, Status status, String message) {
+            return new Response(correlationId, status, 0, 0, message, List.of());
+        }
+
+        static Response batch(int correlationId, List<Status> items) {
+            return new Response(correlationId, Status.OK, 0, 0, null, items);
+        }
+
+        public boolean ok() {
+            return status == Status.OK;
+        }
+    }
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Appends a request frame, growing the buffer if needed.
+     * @param out A buffer in write mode
+     * @return The buffer written to, which may be a new one
+     */
+    static ByteBuffer writeRequest(ByteBuffer out, Request request) {
+        out = ensureRemaining(out, LENGTH_BYTES + HEADER_BYTES + requestFieldsSize(request));
+        int start = out.position();
+        out.putInt(0).put(request.op().code()).putInt(request.correlationId());
+        if (request.op() == Op.BATCH) {
+            out.put((byte) (request.atomic() ? 1 : 0)).putShort((short) request.items().size());
+            for (Request item : request.items()) {
+                out.put(item.op().code());
+                putFields(out, item);
+            }
+        } else {
+            putFields(out, request);
+        }
+        return endFrame(out, start);
+    }
+
+    /**
+     * Reads a request body, excluding its length.
+     * @throws IllegalArgumentException or {@link java.nio.BufferUnderflowException} if it is malformed
+     */
+    static Request readRequest(ByteBuffer body) {
+        Op op = Op.of(body.get());
+        int correlationId = body.getInt();
+        if (op != Op.BATCH) {
+            Request request = readFields(body, op, correlationId);
+            requireFullyRead(body);
+            return request;
+        }
+        boolean atomic = body.get() != 0;
+        int count = Short.toUnsignedInt(body.getShort());
+        List<Request> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Op itemOp = Op.of(body.get());
+            if (itemOp == Op.BALANCE || itemOp == Op.BATCH) {
+                throw new IllegalArgumentException("A batch may only hold deposits, withdrawals and transfers");
+            }
+            items.add(readFields(body, itemOp, 0));
+        }
+        requireFullyRead(body);
+        return new Request(op, correlationId, null, null, 0, atomic, items);
+    }
+
+    static ByteBuffer writeResponse(ByteBuffer out, Response response) {
+        byte[] message = response.message() != null ? messageBytes(response.message()) : null;
+        int size = message != null ? Short.BYTES + message.length
+            : response.items().isEmpty() ? 2 * Long.BYTES : Short.BYTES + response.items().size();
+        out = ensureRemaining(out, LENGTH_BYTES + HEADER_BYTES + size);
+        int start = out.position();
+        out.putInt(0).put((byte) response.status().ordinal()).putInt(response.correlationId());
+        if (message != null) {
+            out.putShort((short) message.length).put(message);
+        } else if (!response.items().isEmpty()) {
+            out.putShort((short) response.items().size());
+            for (Status item : response.items()) {
+                out.put((byte) item.ordinal());
+            }
+        } else {
+            out.putLong(response.balanceCents()).putLong(response.counterpartyBalanceCents());
+        }
+        return endFrame(out, start);
+    }
+
+    /**
+     * Reads a response body, excluding its length.
+     * @param batch Whether it answers a batch request
+     */
+    static Response readResponse(ByteBuffer body, boolean batch) {
+        Status status = Status.of(body.get());
+        int correlationId = body.getInt();
+        if (status != Status.OK) {
+            return Response.failed(correlationId, status, getString(body));
+        }
+        if (!batch) {
+            return Response.ok(correlationId, body.getLong(), body.getLong());
+        }
+        int count = Short.toUnsignedInt(body.getShort());
+        List<Status> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Status.of(body.get()));
+        }
+        return Response.batch(correlationId, items);
+    }
+
+    /**
+     * @param in A buffer in read mode
+     * @return The body length of the frame at the buffer's position, or -1 if its length has not arrived
+     * @throws IllegalArgumentException if the length is out of range
+     */
+    static int frameLength(ByteBuffer in) {
+        if (in.remaining() < LENGTH_BYTES) {
+            return -1;
+        }
+        int length = in.getInt(in.position());
+        if (length < HEADER_BYTES || length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("Frame length " + length + " out of range");
+        }
+        return length;
+    }
+
+    /**
+     * @param out A buffer in write mode
+     * @return It, or a larger copy with at least the given space left
+     */
+    static ByteBuffer ensureRemaining(ByteBuffer out, int needed) {
+        if (out.remaining() >= needed) {
+            return out;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + needed));
+        return larger.put(out.flip());
+    }
+
+    private static int requestFieldsSize(Request request) {
+        if (request.op() != Op.BATCH) {
+            return fieldsSize(request);
+        }
+        int size = 1 + Short.BYTES;
+        for (Request item : request.items()) {
+            size += 1 + fieldsSize(item);
+        }
+        return size;
+    }
+
+    // Also checks the account IDs, so an oversized one is rejected before any of the frame is written
+    private static int fieldsSize(Request request) {
+        return switch (request.op()) {
+            case DEPOSIT, WITHDRAW -> accountIdSize(request.accountId()) + Long.BYTES;
+            case TRANSFER -> accountIdSize(request.accountId()) + accountIdSize(request.counterpartyId()) + Long.BYTES;
+            case BALANCE -> accountIdSize(request.accountId());
+            case BATCH -> throw new IllegalArgumentException("Batches cannot be nested");
+        };
+    }
+
+    private static void putFields(ByteBuffer out, Request request) {
+        putString(out, request.accountId());
+        if (request.op() == Op.TRANSFER) {
+            putString(out, request.counterpartyId());
+        }
+        if (request.op() != Op.BALANCE) {
+            out.putLong(request.amountCents());
+        }
+    }
+
+    private static Request readFields(ByteBuffer body, Op op, int correlationId) {
+        String accountId = getAccountId(body);
+        String counterpartyId = op == Op.TRANSFER ? getAccountId(body) : null;
+        long amountCents = op == Op.BALANCE ? 0 : body.getLong();
+        return new Request(op, correlationId, accountId, counterpartyId, amountCents, false, List.of());
+    }
+
+    private static void requireFullyRead(ByteBuffer body) {
+        if (body.hasRemaining()) {
+            throw new IllegalArgumentException(body.remaining() + " unexpected bytes at the end of the frame");
+        }
+    }
+
+    private static int accountIdSize(String accountId) {
+        int length = accountId == null ? 0 : accountId.getBytes(StandardCharsets.UTF_8).length;
+        requireAccountIdLength(length);
+        return Short.BYTES + length;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getAccountId(ByteBuffer body) {
+        int length = Short.toUnsignedInt(body.getShort());
+        requireAccountIdLength(length);
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String getString(ByteBuffer body) {
+        byte[] bytes = new byte[Short.toUnsignedInt(body.getShort())];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void requireAccountIdLength(int length) {
+        if (length > MAX_ACCOUNT_ID_BYTES) {
+            throw new IllegalArgumentException("Account ID of " + length + " bytes exceeds " + MAX_ACCOUNT_ID_BYTES);
+        }
+    }
+
+    // A message that would overflow its length field is cut at the last whole character that fits
+    private static byte[] messageBytes(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= 0xFFFF) {
+            return bytes;
+        }
+        ByteBuffer cut = ByteBuffer.allocate(0xFFFF);
+        StandardCharsets.UTF_8.newEncoder().encode(CharBuffer.wrap(message), cut, true);
+        return Arrays.copyOf(cut.array(), cut.position());
+    }
+
+    private static ByteBuffer endFrame(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - LENGTH_BYTES);
+        return out;
+    }
+}
@@ -0,0 +1,124 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.binary;
+
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Op;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Request;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Response;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Blocking client of {@link BinaryProtocolServer}, one connection per instance. Not safe
+ * for concurrent use; open one per thread.
+ * <p>
+ * {@link #executeAll} pipelines: it writes up to {@value #WINDOW} requests before reading
+ * their responses, so the server can apply them together, while the responses that are
+ * not yet read stay small enough for the socket buffers and neither side blocks the other.
+ */
+public class BinaryProtocolClient implements AutoCloseable {
+
+    static final int WINDOW = 256;
+
+    private final SocketChannel channel;
+    private ByteBuffer out = ByteBuffer.allocate(16 * 1024);
+    // In read mode between calls
+    private ByteBuffer in = ByteBuffer.allocate(16 * 1024).flip();
+    private int nextCorrelationId = 1;
+
+    public BinaryProtocolClient(String host, int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    public Response deposit(String accountId, long amountCents) throws IOException {
+        return execute(Request.deposit(accountId, amountCents));
+    }
+
+    public Response withdraw(String accountId, long amountCents) throws IOException {
+        return execute(Request.withdraw(accountId, amountCents));
+    }
+
+    public Response transfer(String fromAccountId, String toAccountId, long amountCents) throws IOException {
+        return execute(Request.transfer(fromAccountId, toAccountId, amountCents));
+    }
+
+    public Response balance(String accountId) throws IOException {
+        return execute(Request.balance(accountId));
+    }
+
+    /**
+     * Applies deposits, withdrawals and transfers as one batch, all-or-nothing if atomic.
+     * @return A response with one status per request
+     */
+    public Response batch(List<Request> requests, boolean atomic) throws IOException {
+        return execute(Request.batch(requests, atomic));
+    }
+
+    public Response execute(Request request) throws IOException {
+        return executeAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Sends the requests without waiting for each response.
+     * @return One response per request, in request order
+     */
+    public List<Response> executeAll(List<Request> requests) throws IOException {
+        List<Response> responses = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += WINDOW) {
+            List<Request> window = requests.subList(start, Math.min(start + WINDOW, requests.size()));
+            int firstCorrelationId = nextCorrelationId;
+            for (Request request : window) {
+                out = BinaryProtocol.writeRequest(out, request.withCorrelationId(nextCorrelationId++));
+            }
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            out.clear();
+            for (int i = 0; i < window.size(); i++) {
+                Response response = BinaryProtocol.readResponse(readFrame(), window.get(i).op() == Op.BATCH);
+                if (response.correlationId() != firstCorrelationId + i) {
+                    throw new IOException("Expected response " + (firstCorrelationId + i)
+                        + " but got " + response.correlationId());
+                }
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // The body is only valid until the next read
+    private ByteBuffer readFrame() throws IOException {
+        int length;
+        while ((length = BinaryProtocol.frameLength(in)) < 0
+            || in.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+            fill(length);
+        }
+        int bodyStart = in.position() + BinaryProtocol.LENGTH_BYTES;
+        ByteBuffer body = in.slice(bodyStart, length);
+        in.position(bodyStart + length);
+        return body;
+    }
+
+    private void fill(int length) throws IOException {
+        in.compact();
+        if (length >= 0 && in.capacity() < BinaryProtocol.LENGTH_BYTES + length) {
+            in = ByteBuffer.allocate(BinaryProtocol.LENGTH_BYTES + length).put(in.flip());
+        }
+        if (channel.read(in) < 0) {
+            throw new EOFException("Connection closed by the server");
+        }
+        in.flip();
+    }
+}
@@ -0,0 +1,465 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.binary;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Op;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Request;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Response;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Status;
+import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
+import com.reckless_bank.in_memory_apis.common.exception.SampledLogger;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP listener speaking {@link BinaryProtocol}, for clients that send many small
+ * operations and would spend most of their time in HTTP and JSON otherwise. Enabled with
+ * {@code bank.binary.enabled=true} and served on {@code bank.binary.port}.
+ * <p>
+ * One selector thread accepts connections and reads and writes them. Every request that
+ * has arrived on a connection is handled together, in order: consecutive deposits,
+ * withdrawals and transfers are applied as one non-atomic batch through
+ * {@link TransferUseCase#executeBatch}, so a pipelining client waits for the journal once
+ * per read rather than once per operation. A balance request or an explicit batch ends
+ * the run, so it sees every operation sent before it.
+ * <p>
+ * As in the reactive handler, requests run on the selector thread unless the journal is
+ * enabled or the engine is sequenced, when they may wait and are moved to a worker. A
+ * connection is not read again until its previous requests have been answered, and not
+ * while its responses cannot be written, so a client that stops reading is slowed down
+ * rather than buffered without limit.
+ * <p>
+ * The listener opens once the application is ready, like the web server after the
+ * context refresh, so with the journal enabled no operation arrives before
+ * {@code AccountSnapshotManager} has restored the store and replayed the journal.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.binary.enabled", havingValue = "true")
+public class BinaryProtocolServer {
+
+    // Keeps each batch well under TransferUseCase's limit
+    static final int MAX_RUN = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryProtocolServer.class);
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SampledLogger protocolErrorLog = new SampledLogger(logger, Duration.ofSeconds(1));
+    private final TransferUseCase transferUseCase;
+    private final GetAccountBalanceUseCase getAccountBalanceUseCase;
+    private final int port;
+    private final boolean blockingMutations;
+    private final Queue<Connection> answered = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workers;
+    private Thread selectorThread;
+
+    public BinaryProtocolServer(TransferUseCase transferUseCase,
+                                GetAccountBalanceUseCase getAccountBalanceUseCase,
+                                @Value("${bank.binary.port:7070}") int port,
+                                @Value("${bank.journal.enabled:false}") boolean journalEnabled,
+                                @Value("${bank.engine.mode:concurrent}") String engineMode) {
+        this.transferUseCase = transferUseCase;
+        this.getAccountBalanceUseCase = getAccountBalanceUseCase;
+        this.port = port;
+        this.blockingMutations = journalEnabled || "sequenced".equals(engineMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to listen on binary port " + port, e);
+        }
+        if (blockingMutations) {
+            AtomicInteger workerCount = new AtomicInteger();
+            workers = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "binary-worker-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        running = true;
+        selectorThread = new Thread(this::run, "binary-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        logger.info("Binary protocol listening on port {}", port());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (selectorThread != null) {
+            try {
+                selectorThread.join(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * The port listened on, which differs from {@code bank.binary.port} when that is 0,
+     * or -1 before the listener has started.
+     */
+    public int port() {
+        return serverChannel != null ? serverChannel.socket().getLocalPort() : -1;
+    }
+
+    private void run() {
+        try (Selector selector = this.selector; ServerSocketChannel serverChannel = this.serverChannel) {
+            while (running) {
+                selector.select();
+                for (Connection connection; (connection = answered.poll()) != null; ) {
+                    resume(connection);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read((Connection) key.attachment());
+                    } else if (key.isWritable()) {
+                        write((Connection) key.attachment());
+                    }
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+        } catch (IOException e) {
+            logger.error("Binary protocol listener failed", e);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private void read(Connection connection) {
+        List<Request> requests;
+        try {
+            if (connection.channel.read(connection.in) < 0) {
+                close(connection);
+                return;
+            }
+            requests = decode(connection);
+        } catch (IOException | IllegalArgumentException e) {
+            protocolErrorLog.warn("Closing binary connection: {}", e.getMessage());
+            close(connection);
+            return;
+        } catch (RuntimeException e) {
+            logger.error("Closing binary connection after a failed read", e);
+            close(connection);
+            return;
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        if (!blockingMutations) {
+            if (serve(connection, requests)) {
+                resume(connection);
+            }
+            return;
+        }
+        connection.key.interestOps(0);
+        workers.execute(() -> {
+            try {
+                serve(connection, requests);
+            } finally {
+                answered.add(connection);
+                selector.wakeup();
+            }
+        });
+    }
+
+    private void write(Connection connection) {
+        try {
+            flush(connection);
+        } catch (IOException e) {
+            close(connection);
+        }
+    }
+
+    // After requests are answered: send the responses, then read again once they are all out
+    private void resume(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        try {
+            flush(connection);
+        } catch (IOException e) {
+            close(connection);
+        }
+    }
+
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer out = connection.out.flip();
+        connection.channel.write(out);
+        out.compact();
+        connection.key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    // Takes every complete frame out of the connection's input; malformed bodies are answered as invalid
+    private static List<Request> decode(Connection connection) {
+        ByteBuffer in = connection.in.flip();
+        List<Request> requests = new ArrayList<>();
+        try {
+            for (int length; (length = BinaryProtocol.frameLength(in)) >= 0; ) {
+                if (in.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+                    if (in.capacity() < BinaryProtocol.LENGTH_BYTES + length) {
+                        connection.in = ByteBuffer.allocate(BinaryProtocol.LENGTH_BYTES + length).put(in);
+                        return requests;
+                    }
+                    break;
+                }
+                int bodyStart = in.position() + BinaryProtocol.LENGTH_BYTES;
+                ByteBuffer body = in.slice(bodyStart, length);
+                in.position(bodyStart + length);
+                requests.add(parse(body));
+            }
+        } catch (IllegalArgumentException e) {
+            in.clear();
+            throw e;
+        }
+        in.compact();
+        return requests;
+    }
+
+    // A request that cannot be parsed comes back without an op, carrying the reason as its account
+    private static Request parse(ByteBuffer body) {
+        try {
+            return BinaryProtocol.readRequest(body.duplicate());
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            // Answer with the request's correlation ID, so the client can match it up
+            int correlationId = body.getInt(1);
+            String message = e.getMessage() != null ? e.getMessage() : "Truncated request";
+            return new Request(null, correlationId, message, null, 0, false, List.of());
+        }
+    }
+
+    // A failure while answering closes only its own connection, never the selector thread or a worker
+    private boolean serve(Connection connection, List<Request> requests) {
+        try {
+            handle(connection, requests);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Closing binary connection after a failed request", e);
+            close(connection);
+            return false;
+        }
+    }
+
+    private void handle(Connection connection, List<Request> requests) {
+        List<Request> run = new ArrayList<>();
+        for (Request request : requests) {
+            if (request.op() == Op.DEPOSIT || request.op() == Op.WITHDRAW || request.op() == Op.TRANSFER) {
+                run.add(request);
+                if (run.size() == MAX_RUN) {
+                    applyRun(connection, run);
+                }
+                continue;
+            }
+            applyRun(connection, run);
+            if (request.op() == null) {
+                respond(connection, Response.failed(request.correlationId(), Status.INVALID, request.accountId()));
+            } else if (request.op() == Op.BALANCE) {
+                respond(connection, balance(request));
+            } else {
+                respond(connection, batch(request));
+            }
+        }
+        applyRun(connection, run);
+    }
+
+    private void applyRun(Connection connection, List<Request> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+        List<TransferRequest> transfers = new ArrayList<>(run.size());
+        List<Request> valid = new ArrayList<>(run.size());
+        Response[] responses = new Response[run.size()];
+        for (int i = 0; i < run.size(); i++) {
+            try {
+                transfers.add(toTransferRequest(run.get(i)));
+                valid.add(run.get(i));
+            } catch (IllegalArgumentException e) {
+                responses[i] = Response.failed(run.get(i).correlationId(), Status.INVALID, e.getMessage());
+            }
+        }
+        List<Response> applied = apply(valid, transfers);
+        for (int i = 0, next = 0; i < responses.length; i++) {
+            respond(connection, responses[i] != null ? responses[i] : applied.get(next++));
+        }
+        run.clear();
+    }
+
+    private List<Response> apply(List<Request> requests, List<TransferRequest> transfers) {
+        List<Response> responses = new ArrayList<>(requests.size());
+        if (transfers.isEmpty()) {
+            return responses;
+        }
+        try {
+            List<TransferOutcome> outcomes = transferUseCase.executeBatch(transfers, false).results();
+            for (int i = 0; i < outcomes.size(); i++) {
+                responses.add(responseOf(requests.get(i), outcomes.get(i)));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Binary protocol operations failed", e);
+            for (Request request : requests) {
+                responses.add(Response.failed(request.correlationId(), Status.ERROR, "Internal error"));
+            }
+        }
+        return responses;
+    }
+
+    private Response balance(Request request) {
+        return getAccountBalanceUseCase.execute(request.accountId())
+            .map(account -> Response.ok(request.correlationId(), account.balanceCents(), 0))
+            .orElseGet(() -> Response.failed(request.correlationId(), Status.NOT_FOUND,
+                "Account not found: " + request.accountId()));
+    }
+
+    private Response batch(Request request) {
+        List<TransferRequest> transfers = new ArrayList<>(request.items().size());
+        try {
+            for (Request item : request.items()) {
+                transfers.add(toTransferRequest(item));
+            }
+            List<Status> items = new ArrayList<>(transfers.size());
+            for (TransferOutcome outcome : transferUseCase.executeBatch(transfers, request.atomic()).results()) {
+                items.add(statusOf(outcome));
+            }
+            return Response.batch(request.correlationId(), items);
+        } catch (IllegalArgumentException | InvalidTransactionException e) {
+            return Response.failed(request.correlationId(), Status.INVALID, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Binary protocol batch failed", e);
+            return Response.failed(request.correlationId(), Status.ERROR, "Internal error");
+        }
+    }
+
+    private static TransferRequest toTransferRequest(Request request) {
+        String from = request.op() == Op.DEPOSIT ? null : request.accountId();
+        String to = switch (request.op()) {
+            case DEPOSIT -> request.accountId();
+            case TRANSFER -> request.counterpartyId();
+            default -> null;
+        };
+        return new TransferRequest(from, to, request.amountCents());
+    }
+
+    private static Response responseOf(Request request, TransferOutcome outcome) {
+        Status status = statusOf(outcome);
+        if (status != Status.OK) {
+            return Response.failed(request.correlationId(), status, outcome.message());
+        }
+        return switch (request.op()) {
+            case DEPOSIT -> Response.ok(request.correlationId(), outcome.toAccount().balanceCents(), 0);
+            case WITHDRAW -> Response.ok(request.correlationId(), outcome.fromAccount().balanceCents(), 0);
+            default -> Response.ok(request.correlationId(), balanceCents(outcome.fromAccount()),
+                balanceCents(outcome.toAccount()));
+        };
+    }
+
+    private static long balanceCents(Account account) {
+        return account != null ? account.balanceCents() : 0;
+    }
+
+    // Failed outcomes carry the error labels TransferUseCase gives them
+    private static Status statusOf(TransferOutcome outcome) {
+        return switch (outcome.status()) {
+            case SUCCEEDED -> Status.OK;
+            case ROLLED_BACK -> Status.ROLLED_BACK;
+            case NOT_ATTEMPTED -> Status.NOT_ATTEMPTED;
+            case FAILED -> switch (outcome.error()) {
+                case "Account Not Found" -> Status.NOT_FOUND;
+                case "Insufficient Funds" -> Status.INSUFFICIENT_FUNDS;
+                default -> Status.INVALID;
+            };
+        };
+    }
+
+    private static void respond(Connection connection, Response response) {
+        connection.out = BinaryProtocol.writeResponse(connection.out, response);
+    }
+
+    private void close(Connection connection) {
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close binary connection", e);
+        }
+    }
+
+    /**
+     * A client connection. Its buffers are in write mode between uses, and are used by one
+     * thread at a time: the selector thread, or the worker answering its requests while it
+     * is not selected.
+     */
+    private static final class Connection {
+
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        private ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
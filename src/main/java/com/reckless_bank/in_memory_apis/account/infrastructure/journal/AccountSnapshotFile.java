@@ -0,0 +1,224 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Binary snapshot of every account, written and read through memory-mapped files.
+ * Layout: a header {@code magic:int | reserved:int | journalSequence:long | accounts:long | footerOffset:long},
+ * segments of records {@code idLength:short | id | holderLength:short | holder | balanceCents:long},
+ * and a footer {@code segments:int} followed by {@code offset:long | length:long | records:int} per segment.
+ * Segments are independent so they can be decoded in parallel on load. A snapshot is
+ * written to a temporary file and atomically renamed, so a reader never sees a partial one.
+ */
+public final class AccountSnapshotFile {
+
+    public static final int MAGIC = 0x52425331; // "RBS1"
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 3;
+    private static final int SEGMENT_ENTRY_SIZE = Long.BYTES * 2 + Integer.BYTES;
+    private static final int SEGMENT_RECORDS = 1 << 18;
+    private static final long WINDOW_SIZE = 64L << 20;
+
+    private AccountSnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot, replacing any existing one at the path.
+     * @param path The snapshot file
+     * @param accounts The accounts to write
+     * @param journalSequence Highest journal archive sequence the accounts reflect; replay resumes after it
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(Path path, Collection<Account> accounts, long journalSequence) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWriter writer = new MappedWriter(channel, HEADER_SIZE);
+            List<long[]> segments = new ArrayList<>();
+            long segmentStart = writer.position();
+            int segmentRecords = 0;
+            for (Account account : accounts) {
+                if (segmentRecords == SEGMENT_RECORDS) {
+                    segments.add(new long[] {segmentStart, writer.position() - segmentStart, segmentRecords});
+                    segmentStart = writer.position();
+                    segmentRecords = 0;
+                }
+                writer.putRecord(bytesOf(account.accountId()), bytesOf(account.accountHolder()), account.balanceCents());
+                segmentRecords++;
+            }
+            if (segmentRecords > 0) {
+                segments.add(new long[] {segmentStart, writer.position() - segmentStart, segmentRecords});
+            }
+
+            long footerOffset = writer.position();
+            ByteBuffer footer = ByteBuffer.allocate(Integer.BYTES + segments.size() * SEGMENT_ENTRY_SIZE);
+            footer.putInt(segments.size());
+            long total = 0;
+            for (long[] segment : segments) {
+                footer.putLong(segment[0]).putLong(segment[1]).putInt((int) segment[2]);
+                total += segment[2];
+            }
+            writer.put(footer.array());
+            long end = writer.position();
+            writer.close();
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC).putInt(0).putLong(journalSequence).putLong(total).putLong(footerOffset);
+            header.force();
+            channel.truncate(end);
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot, decoding its segments on up to {@code parallelism} threads.
+     * @param path The snapshot file
+     * @param sink Receives every account; called concurrently when parallelism is above one
+     * @param parallelism Number of decoding threads
+     * @return The journal archive sequence the snapshot reflects
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static long load(Path path, Consumer<Account> sink, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not an account snapshot: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an account snapshot: " + path);
+            }
+            header.getInt();
+            long journalSequence = header.getLong();
+            header.getLong();
+            long footerOffset = header.getLong();
+
+            MappedByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, channel.size() - footerOffset);
+            int segmentCount = footer.getInt();
+            List<MappedByteBuffer> segments = new ArrayList<>(segmentCount);
+            List<Integer> records = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = footer.getLong();
+                long length = footer.getLong();
+                records.add(footer.getInt());
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+
+            if (parallelism <= 1 || segmentCount <= 1) {
+                for (int i = 0; i < segmentCount; i++) {
+                    decodeSegment(segments.get(i), records.get(i), sink);
+                }
+                return journalSequence;
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, segmentCount));
+            try {
+                List<Future<?>> futures = new ArrayList<>(segmentCount);
+                for (int i = 0; i < segmentCount; i++) {
+                    MappedByteBuffer segment = segments.get(i);
+                    int count = records.get(i);
+                    futures.add(executor.submit(() -> decodeSegment(segment, count, sink)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading snapshot " + path, ex);
+            } catch (ExecutionException ex) {
+                throw new IOException("Failed to load snapshot " + path, ex.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+            return journalSequence;
+        }
+    }
+
+    private static void decodeSegment(ByteBuffer segment, int records, Consumer<Account> sink) {
+        for (int i = 0; i < records; i++) {
+            String accountId = readString(segment);
+            String accountHolder = readString(segment);
+            sink.accept(new Account(accountId, accountHolder, segment.getLong()));
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytesOf(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot field exceeds " + Short.MAX_VALUE + " bytes");
+        }
+        return bytes;
+    }
+
+    // Sequential writer over a sliding memory-mapped window of the file
+    private static final class MappedWriter {
+
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedWriter(FileChannel channel, long start) throws IOException {
+            this.channel = channel;
+            map(start, WINDOW_SIZE);
+        }
+
+        long position() {
+            return windowStart + window.position();
+        }
+
+        void putRecord(byte[] accountId, byte[] accountHolder, long balanceCents) throws IOException {
+            ensureRemaining(2 * Short.BYTES + accountId.length + accountHolder.length + Long.BYTES);
+            window.putShort((short) accountId.length).put(accountId);
+            window.putShort((short) accountHolder.length).put(accountHolder);
+            window.putLong(balanceCents);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            ensureRemaining(bytes.length);
+            window.put(bytes);
+        }
+
+        void close() {
+            window.force();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                window.force();
+                map(position(), Math.max(WINDOW_SIZE, bytes));
+            }
+        }
+
+        private void map(long start, long size) throws IOException {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+            windowStart = start;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Restores accounts at startup and takes periodic snapshots while running.
+ * Each snapshot seals the active journal as an archive; once the snapshot is on
+ * disk the archives it covers are deleted. Recovery loads the latest snapshot in
+ * parallel and replays only the journal written after it. Declined operations are never
+ * journaled, and a credit is journaled before any operation can spend it, so every entry
+ * is a balance change that passed its checks and is added back without re-checking funds.
+ * The tail is therefore folded into one net delta per account and applied in parallel
+ * partitions; replaying withdrawals as requests would not allow this, since their outcome
+ * depends on order. A net result below zero means the journal lost an entry, and
+ * recovery refuses it rather than restore a negative balance.
+ * Restored accounts are added to the {@link AccountHolderIndex}, {@link BalanceIndex}
+ * and {@link BankAggregates} as they are saved.
+ * Enabled together with the journal ({@code bank.journal.enabled=true}).
+ */
+@Component
+@ConditionalOnProperty(name = "bank.journal.enabled", havingValue = "true")
+public class AccountSnapshotManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSnapshotManager.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private final IAccountRepository accountRepository;
+    private final FileAccountJournal journal;
+    private final AccountHolderIndex holderIndex;
+    private final BalanceIndex balanceIndex;
+    private final BankAggregates aggregates;
+    private final Path snapshotPath;
+    private final long intervalSeconds;
+    private final boolean snapshotOnShutdown;
+    private final int parallelism;
+    private ScheduledExecutorService scheduler;
+
+    public AccountSnapshotManager(IAccountRepository accountRepository,
+                                  FileAccountJournal journal,
+                                  AccountHolderIndex holderIndex,
+                                  BalanceIndex balanceIndex,
+                                  BankAggregates aggregates,
+                                  @Value("${bank.snapshot.path:data/snapshot.bin}") Path snapshotPath,
+                                  @Value("${bank.snapshot.interval-seconds:300}") long intervalSeconds,
+                                  @Value("${bank.snapshot.on-shutdown:true}") boolean snapshotOnShutdown,
+                                  @Value("${bank.snapshot.recovery-threads:0}") int recoveryThreads) {
+        this.accountRepository = accountRepository;
+        this.journal = journal;
+        this.holderIndex = holderIndex;
+        this.balanceIndex = balanceIndex;
+        this.aggregates = aggregates;
+        this.snapshotPath = snapshotPath;
+        this.intervalSeconds = intervalSeconds;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        this.parallelism = recoveryThreads > 0 ? recoveryThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Rebuilds the repository from the snapshot and journal, then starts periodic snapshots.
+     * Runs during context startup, before the web server accepts requests.
+     */
+    @PostConstruct
+    public void start() {
+        recover();
+        if (intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "account-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            // Let a running snapshot finish; interrupting it would close its file channel mid-write
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn("Scheduled snapshot still running after {} s", SHUTDOWN_TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (snapshotOnShutdown) {
+            snapshotQuietly();
+        }
+    }
+
+    /**
+     * Loads the latest snapshot, if any, and replays the journal written after it.
+     * @return The number of journal entries replayed
+     */
+    public long recover() {
+        long start = System.nanoTime();
+        long covered = 0;
+        try {
+            if (Files.exists(snapshotPath)) {
+                covered = AccountSnapshotFile.load(snapshotPath, this::restore, parallelism);
+            }
+            long snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+            List<Path> journals = new ArrayList<>(journal.archivesAfter(covered));
+            journals.add(journal.path());
+            long replayed = replayJournals(journals);
+            logger.info("Recovered {} accounts in {} ms (snapshot {} ms, {} journal entries replayed)",
+                accountRepository.count(), (System.nanoTime() - start) / 1_000_000, snapshotMillis, replayed);
+            return replayed;
+        } catch (IOException ex) {
+            throw new RepositoryException("recover", "Snapshot", snapshotPath.toString(), ex);
+        }
+    }
+
+    /**
+     * Captures a consistent copy of every account under the journal checkpoint and
+     * writes it to the snapshot file. Mutations pause only while accounts are copied.
+     * Snapshots run one at a time: they share the temporary file, and each deletes the
+     * archives it covers only once its own file is in place.
+     */
+    public synchronized void snapshot() {
+        long start = System.nanoTime();
+        Checkpoint checkpoint = journal.checkpoint(
+            sequence -> new Checkpoint(accountRepository.findAll().values(), sequence));
+        try {
+            AccountSnapshotFile.write(snapshotPath, checkpoint.accounts(), checkpoint.journalSequence());
+        } catch (IOException ex) {
+            throw new RepositoryException("snapshot", "Snapshot", snapshotPath.toString(), ex);
+        }
+        journal.deleteArchivesThrough(checkpoint.journalSequence());
+        logger.info("Wrote snapshot of {} accounts in {} ms", checkpoint.accounts().size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException ex) {
+            logger.error("Snapshot failed", ex);
+        }
+    }
+
+    private long replayJournals(List<Path> journals) throws IOException {
+        Map<String, JournalEntry> created = new HashMap<>();
+        Map<String, long[]> deltas = new HashMap<>();
+        long replayed = 0;
+        for (Path path : journals) {
+            try (JournalReader reader = JournalReader.open(path, JournalCodec.FILE_HEADER_SIZE)) {
+                JournalEntry entry;
+                while ((entry = reader.next()) != null) {
+                    switch (entry.type()) {
+                        case CREATE -> created.put(entry.accountId(), entry);
+                        case DEPOSIT -> addDelta(deltas, entry.accountId(), entry.amountCents());
+                        case WITHDRAWAL -> addDelta(deltas, entry.accountId(), -entry.amountCents());
+                        case TRANSFER -> {
+                            addDelta(deltas, entry.accountId(), -entry.amountCents());
+                            addDelta(deltas, entry.counterpartyId(), entry.amountCents());
+                        }
+                    }
+                    replayed++;
+                }
+            }
+        }
+        // Creates go first: a concurrent deposit can be journaled just before its account's create
+        applyInParallel(new ArrayList<>(created.values()), entry ->
+            restore(new Account(entry.accountId(), entry.accountHolder(), entry.amountCents())));
+        applyInParallel(new ArrayList<>(deltas.entrySet()), delta -> {
+            long change = delta.getValue()[0];
+            accountRepository.update(delta.getKey(), account -> {
+                long balance = Math.addExact(account.balanceCents(), change);
+                if (balance < 0) {
+                    throw new RepositoryException("recover", "Account", account.accountId(),
+                        String.format("journal replay leaves a balance of %d cents", balance));
+                }
+                return new Account(account.accountId(), account.accountHolder(), balance);
+            }).ifPresent(account -> {
+                balanceIndex.markChanged(account.accountId());
+                aggregates.recordBalanceChange(account.accountId(), account.balanceCents() - change,
+                    account.balanceCents());
+            });
+        });
+        return replayed;
+    }
+
+    private void restore(Account account) {
+        Account saved = accountRepository.save(account);
+        holderIndex.add(saved);
+        balanceIndex.markChanged(saved.accountId());
+        aggregates.recordCreated(saved);
+    }
+
+    private static void addDelta(Map<String, long[]> deltas, String accountId, long amountCents) {
+        deltas.computeIfAbsent(accountId, id -> new long[1])[0] += amountCents;
+    }
+
+    private <T> void applyInParallel(List<T> items, Consumer<T> action) throws IOException {
+        if (parallelism <= 1 || items.size() < 1_024) {
+            items.forEach(action);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>(parallelism);
+            int partition = (items.size() + parallelism - 1) / parallelism;
+            for (int from = 0; from < items.size(); from += partition) {
+                List<T> slice = items.subList(from, Math.min(items.size(), from + partition));
+                futures.add(executor.submit(() -> slice.forEach(action)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while replaying journal", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Failed to replay journal", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Checkpoint(Collection<Account> accounts, long journalSequence) {
+    }
+}
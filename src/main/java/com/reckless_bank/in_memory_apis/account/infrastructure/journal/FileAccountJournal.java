@@ -0,0 +1,406 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.AccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Append-only binary journal file with group commit.
+ * Appends are encoded into a shared buffer; a writer thread swaps it out, writes it
+ * with one system call and, in {@link JournalDurability#BATCH} mode, one fsync, then
+ * releases every caller waiting in {@link #flush()}. A torn record left by a crash
+ * is truncated when the journal is reopened.
+ * Mutations run under one of several striped read locks so that {@link #checkpoint}
+ * can briefly exclude them all, seal the active file as a numbered archive
+ * ({@code journal.log.1}, {@code journal.log.2}, ...) and capture matching state.
+ * Enabled with {@code bank.journal.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.journal.enabled", havingValue = "true")
+public class FileAccountJournal implements AccountJournal, AutoCloseable {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    // In NONE mode appends only wake the writer once this much is pending
+    private static final int EAGER_WRITE_THRESHOLD = 64 * 1024;
+    // Striped so that recording threads do not contend on one read-lock counter
+    private static final int BARRIER_STRIPES = 64;
+
+    private final Path path;
+    private final JournalDurability durability;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingAvailable = lock.newCondition();
+    private final Condition entriesWritten = lock.newCondition();
+    private final ReentrantReadWriteLock[] barrier = new ReentrantReadWriteLock[BARRIER_STRIPES];
+
+    // Guarded by lock; the writer only touches the channel after taking lock to swap buffers
+    private FileChannel channel;
+    private long archiveSequence;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appended;
+    private long written;
+    private RepositoryException failure;
+    private boolean closed;
+
+    // Owned by the writer thread between swaps
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    public FileAccountJournal(@Value("${bank.journal.path:data/journal.log}") Path path,
+                              @Value("${bank.journal.durability:BATCH}") JournalDurability durability,
+                              @Value("${bank.journal.flush-interval-ms:10}") long flushIntervalMillis) {
+        this.path = path;
+        this.durability = durability;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.channel = openChannel(path);
+        this.archiveSequence = archivedSequences(path).stream().mapToLong(Long::longValue).max().orElse(0);
+        for (int i = 0; i < BARRIER_STRIPES; i++) {
+            barrier[i] = new ReentrantReadWriteLock();
+        }
+        if (durability == JournalDurability.SYNC) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::writeLoop, "journal-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+    }
+
+    @Override
+    public void append(JournalEntry entry) {
+        byte[] record = JournalCodec.encode(entry);
+        lock.lock();
+        try {
+            ensureOpen();
+            if (durability == JournalDurability.SYNC) {
+                writeFully(ByteBuffer.wrap(record));
+                channel.force(false);
+                appended++;
+                written = appended;
+                return;
+            }
+            if (pending.remaining() < record.length) {
+                pending = grow(pending, record.length);
+            }
+            pending.put(record);
+            appended++;
+            if (durability == JournalDurability.NONE && pending.position() >= EAGER_WRITE_THRESHOLD) {
+                pendingAvailable.signal();
+            }
+        } catch (IOException ex) {
+            failure = new RepositoryException("append", "Journal", path.toString(), ex);
+            throw failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (durability != JournalDurability.BATCH) {
+            return; // SYNC appends are already durable; NONE never waits
+        }
+        lock.lock();
+        try {
+            awaitWritten();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public <T> T record(Supplier<T> mutation) {
+        ReentrantReadWriteLock.ReadLock stripe = barrier[(int) Thread.currentThread().threadId() & (BARRIER_STRIPES - 1)].readLock();
+        stripe.lock();
+        try {
+            return mutation.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+    
+    /**
+     * Captures state consistent with the journal: waits for in-flight mutations,
+     * holds off new ones, writes out every appended entry, seals the active file as
+     * the next archive and passes that archive's sequence number to {@code capture}.
+     * The captured state covers every archive up to that number; replaying later
+     * archives and the active file on top of it reproduces the live state exactly.
+     * @param capture Copies the state to be snapshotted, given the archive sequence it covers
+     * @return Whatever {@code capture} returned
+     */
+    public <T> T checkpoint(LongFunction<T> capture) {
+        for (ReentrantReadWriteLock stripe : barrier) {
+            stripe.writeLock().lock();
+        }
+        try {
+            long sealed;
+            lock.lock();
+            try {
+                ensureOpen();
+                awaitWritten();
+                sealed = archiveSequence + 1;
+                channel.force(true);
+                channel.close();
+                Files.move(path, archivePath(path, sealed), StandardCopyOption.ATOMIC_MOVE);
+                archiveSequence = sealed;
+                channel = openChannel(path);
+            } catch (IOException ex) {
+                failure = new RepositoryException("checkpoint", "Journal", path.toString(), ex);
+                throw failure;
+            } finally {
+                lock.unlock();
+            }
+            return capture.apply(sealed);
+        } finally {
+            for (int i = BARRIER_STRIPES - 1; i >= 0; i--) {
+                barrier[i].writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Returns the active journal file.
+     * @return The journal path
+     */
+    public Path path() {
+        return path;
+    }
+    
+    /**
+     * Lists the archived journal files sealed after the given sequence, oldest first.
+     * @param sequence Archive sequence already covered by a snapshot; 0 for none
+     * @return Archives that still need replaying
+     */
+    public List<Path> archivesAfter(long sequence) {
+        return archivedSequences(path).stream()
+            .filter(archived -> archived > sequence)
+            .sorted()
+            .map(archived -> archivePath(path, archived))
+            .toList();
+    }
+    
+    /**
+     * Deletes archived journal files that a durable snapshot has made redundant.
+     * @param sequence Highest archive sequence covered by the snapshot
+     */
+    public void deleteArchivesThrough(long sequence) {
+        try {
+            for (long archived : archivedSequences(path)) {
+                if (archived <= sequence) {
+                    Files.deleteIfExists(archivePath(path, archived));
+                }
+            }
+        } catch (IOException ex) {
+            throw new RepositoryException("delete", "Journal", path.toString(), ex);
+        }
+    }
+
+    /**
+     * Returns the number of entries appended since the journal was opened.
+     * @return The append count
+     */
+    public long appendedEntries() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (writer != null) {
+                writer.join();
+            }
+            channel.force(true);
+            channel.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            throw new RepositoryException("close", "Journal", path.toString(), ex);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    pendingAvailable.awaitNanos(flushIntervalNanos);
+                }
+                if (pending.position() == 0) {
+                    return; // Closed and fully drained
+                }
+                ByteBuffer full = pending;
+                pending = writing;
+                writing = full;
+                target = appended;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            RepositoryException error = null;
+            try {
+                writing.flip();
+                writeFully(writing);
+                if (durability == JournalDurability.BATCH) {
+                    channel.force(false);
+                }
+            } catch (IOException ex) {
+                error = new RepositoryException("write", "Journal", path.toString(), ex);
+            } finally {
+                writing.clear();
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                }
+                written = target;
+                entriesWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    // Caller holds lock; waits until the writer has written everything appended so far
+    private void awaitWritten() {
+        long target = appended;
+        if (written < target) {
+            pendingAvailable.signal();
+        }
+        while (written < target && failure == null && !closed) {
+            entriesWritten.awaitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void ensureOpen() {
+        if (failure != null) {
+            throw failure;
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal has been closed");
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer larger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static FileChannel openChannel(Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (channel.size() == 0) {
+                    ByteBuffer header = ByteBuffer.allocate(JournalCodec.FILE_HEADER_SIZE).putInt(JournalCodec.MAGIC).flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header);
+                    }
+                    channel.force(true);
+                } else {
+                    channel.truncate(validLength(path));
+                }
+                channel.position(channel.size());
+                return channel;
+            } catch (IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new RepositoryException("open", "Journal", path.toString(), ex);
+        }
+    }
+
+    static Path archivePath(Path path, long sequence) {
+        return path.resolveSibling(path.getFileName() + "." + sequence);
+    }
+    
+    private static List<Long> archivedSequences(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        List<Long> sequences = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && name.length() > prefix.length()
+                        && name.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+                    sequences.add(Long.parseLong(name.substring(prefix.length())));
+                }
+            }
+        } catch (IOException ex) {
+            throw new RepositoryException("list", "Journal", path.toString(), ex);
+        }
+        return sequences;
+    }
+    
+    // Length of the journal up to the end of its last intact record
+    private static long validLength(Path path) throws IOException {
+        try (JournalReader reader = JournalReader.open(path, JournalCodec.FILE_HEADER_SIZE)) {
+            while (reader.next() != null) {
+                // Skip to the end of the valid records
+            }
+            return reader.validPosition();
+        }
+    }
+}
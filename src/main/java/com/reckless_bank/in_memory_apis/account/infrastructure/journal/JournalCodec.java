@@ -0,0 +1,124 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary encoding of journal entries.
+ * The file starts with a 4-byte magic number, followed by records of the form
+ * {@code length:int | crc32c:int | type:byte | timestamp:long | amountCents:long | accountId | counterpartyId | accountHolder},
+ * where strings are a short byte length (-1 for null) followed by UTF-8 bytes.
+ */
+public final class JournalCodec {
+    
+    public static final int MAGIC = 0x52424A31; // "RBJ1"
+    public static final int FILE_HEADER_SIZE = Integer.BYTES;
+    
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int FIXED_PAYLOAD_SIZE = 1 + 2 * Long.BYTES;
+    // Three strings of at most Short.MAX_VALUE bytes each bound every record
+    static final int MAX_RECORD_SIZE = RECORD_HEADER_SIZE + FIXED_PAYLOAD_SIZE + 3 * (Short.BYTES + Short.MAX_VALUE);
+    private static final JournalEntry.Type[] TYPES = JournalEntry.Type.values();
+    
+    private JournalCodec() {
+    }
+    
+    /**
+     * Encodes an entry as a complete record, header included.
+     * @param entry The entry to encode
+     * @return The record bytes
+     */
+    public static byte[] encode(JournalEntry entry) {
+        byte[] accountId = bytesOf(entry.accountId());
+        byte[] counterpartyId = bytesOf(entry.counterpartyId());
+        byte[] accountHolder = bytesOf(entry.accountHolder());
+        int payloadSize = FIXED_PAYLOAD_SIZE + sizeOf(accountId) + sizeOf(counterpartyId) + sizeOf(accountHolder);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize);
+        buffer.putInt(0); // CRC placeholder
+        buffer.put((byte) entry.type().ordinal());
+        buffer.putLong(entry.timestamp());
+        buffer.putLong(entry.amountCents());
+        putString(buffer, accountId);
+        putString(buffer, counterpartyId);
+        putString(buffer, accountHolder);
+        
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, payloadSize);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.array();
+    }
+    
+    /**
+     * Decodes the record at the buffer's position and advances past it.
+     * A truncated or corrupt record is treated as the torn tail of the journal.
+     * @param buffer Buffer positioned at the start of a record
+     * @return The decoded entry, or null if no complete, valid record is available
+     */
+    public static JournalEntry decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(start);
+        int expectedCrc = buffer.getInt(start + Integer.BYTES);
+        if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > MAX_RECORD_SIZE - RECORD_HEADER_SIZE
+                || buffer.remaining() - RECORD_HEADER_SIZE < payloadSize) {
+            return null;
+        }
+        
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + RECORD_HEADER_SIZE, payloadSize));
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        
+        buffer.position(start + RECORD_HEADER_SIZE);
+        int typeOrdinal = buffer.get();
+        if (typeOrdinal < 0 || typeOrdinal >= TYPES.length) {
+            buffer.position(start);
+            return null;
+        }
+        long timestamp = buffer.getLong();
+        long amountCents = buffer.getLong();
+        String accountId = getString(buffer);
+        String counterpartyId = getString(buffer);
+        String accountHolder = getString(buffer);
+        buffer.position(start + RECORD_HEADER_SIZE + payloadSize);
+        return new JournalEntry(TYPES[typeOrdinal], timestamp, accountId, counterpartyId, accountHolder, amountCents);
+    }
+    
+    private static byte[] bytesOf(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static int sizeOf(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+    
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        if (value.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal string field is too long");
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
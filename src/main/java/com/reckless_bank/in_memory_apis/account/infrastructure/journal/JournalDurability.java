@@ -0,0 +1,13 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+/**
+ * How far an entry must get before the operation that produced it is acknowledged.
+ */
+public enum JournalDurability {
+    // Written to the OS in the background, never fsynced; a crash can lose recent entries
+    NONE,
+    // Callers wait for the next group commit, which fsyncs every entry appended since the last one
+    BATCH,
+    // Every append is written and fsynced before it returns
+    SYNC
+}
@@ -0,0 +1,111 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader over a journal file.
+ * Reading stops at the end of the file or at the first truncated or corrupt
+ * record, which is what a crash during an append leaves behind.
+ */
+public final class JournalReader implements AutoCloseable {
+    
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long validPosition;
+    private boolean endOfFile;
+    
+    private JournalReader(FileChannel channel, long startPosition) throws IOException {
+        this.channel = channel;
+        this.validPosition = startPosition;
+        channel.position(startPosition);
+        buffer.flip();
+    }
+    
+    /**
+     * Opens a journal and positions the reader at the given offset.
+     * @param path The journal file
+     * @param startPosition Offset of the first record to read; at least {@link JournalCodec#FILE_HEADER_SIZE}
+     * @return The reader
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static JournalReader open(Path path, long startPosition) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            verifyHeader(channel);
+            return new JournalReader(channel, Math.max(startPosition, JournalCodec.FILE_HEADER_SIZE));
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Checks that the channel holds a journal file header.
+     * @param channel The channel to check
+     * @throws IOException if the header is missing or wrong
+     */
+    static void verifyHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JournalCodec.FILE_HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != JournalCodec.MAGIC) {
+            throw new IOException("Not a journal file");
+        }
+    }
+    
+    /**
+     * Reads the next entry.
+     * @return The entry, or null at the end of the valid journal
+     * @throws IOException if reading fails
+     */
+    public JournalEntry next() throws IOException {
+        while (true) {
+            int before = buffer.position();
+            JournalEntry entry = JournalCodec.decode(buffer);
+            if (entry != null) {
+                validPosition += buffer.position() - before;
+                return entry;
+            }
+            if (endOfFile || !fill()) {
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Returns the file offset just past the last valid record read so far.
+     * @return The offset new records can safely be appended at once reading has finished
+     */
+    public long validPosition() {
+        return validPosition;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    // Returns false when no more bytes can make the pending record decodable
+    private boolean fill() throws IOException {
+        if (buffer.remaining() >= JournalCodec.MAX_RECORD_SIZE) {
+            return false; // A full record's worth of bytes that still does not decode is corrupt
+        }
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+            endOfFile = true;
+            return false;
+        }
+        return true;
+    }
+}
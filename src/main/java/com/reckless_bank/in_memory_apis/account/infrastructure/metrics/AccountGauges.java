@@ -0,0 +1,57 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.metrics;
+
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges of the account store and the bank-wide aggregates:
+ * <ul>
+ *   <li>{@code bank.accounts}: the number of accounts in the store</li>
+ *   <li>{@code bank.accounts.active}: accounts with a positive balance</li>
+ *   <li>{@code bank.balance.total}: the sum of all balances</li>
+ *   <li>{@code bank.flow.today}: money moved today (UTC), per {@code type} (deposited,
+ *   withdrawn, transferred)</li>
+ * </ul>
+ * All are read when the registry is scraped. Apart from the store's own count they come
+ * from {@link BankAggregates}, so a scrape no longer walks the accounts.
+ */
+@Component
+public class AccountGauges implements MeterBinder {
+
+    private final IAccountRepository accountRepository;
+    private final BankAggregates aggregates;
+
+    public AccountGauges(IAccountRepository accountRepository, BankAggregates aggregates) {
+        this.accountRepository = accountRepository;
+        this.aggregates = aggregates;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bank.accounts", accountRepository, IAccountRepository::count)
+            .description("Accounts in the store")
+            .register(registry);
+        Gauge.builder("bank.accounts.active", aggregates, BankAggregates::activeAccountCount)
+            .description("Accounts with a positive balance")
+            .register(registry);
+        Gauge.builder("bank.balance.total", aggregates, stats -> stats.totalBalanceCents() / 100.0)
+            .description("Sum of all account balances")
+            .register(registry);
+        Gauge.builder("bank.flow.today", aggregates, stats -> stats.depositedTodayCents() / 100.0)
+            .description("Money moved today (UTC)")
+            .tag("type", "deposited")
+            .register(registry);
+        Gauge.builder("bank.flow.today", aggregates, stats -> stats.withdrawnTodayCents() / 100.0)
+            .description("Money moved today (UTC)")
+            .tag("type", "withdrawn")
+            .register(registry);
+        Gauge.builder("bank.flow.today", aggregates, stats -> stats.transferredTodayCents() / 100.0)
+            .description("Money moved today (UTC)")
+            .tag("type", "transferred")
+            .register(registry);
+    }
+}
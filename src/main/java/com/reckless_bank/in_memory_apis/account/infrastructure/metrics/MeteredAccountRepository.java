@@ -0,0 +1,242 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.metrics;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Meters every call to the wrapped repository, per {@code method}:
+ * <ul>
+ *   <li>{@code bank.repository.calls}: every call, including calls that throw</li>
+ *   <li>{@code bank.repository.latency}: a random sample of one call in {@code sampleInterval}</li>
+ * </ul>
+ * Store calls take tens of nanoseconds, about as long as the clock reads needed to time
+ * them, so timing every call would multiply their cost; sampling keeps the mean latency
+ * while an unsampled call costs one adder increment and one random draw. Both meters read
+ * striped adders when the registry is scraped, so concurrent callers rarely contend.
+ */
+public class MeteredAccountRepository implements IAccountRepository {
+
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    private final IAccountRepository delegate;
+    private final int sampleMask;
+    private final CallMeter findAll;
+    private final CallMeter findPage;
+    private final CallMeter findById;
+    private final CallMeter save;
+    private final CallMeter update;
+    private final CallMeter credit;
+    private final CallMeter replace;
+    private final CallMeter existsById;
+    private final CallMeter deleteById;
+    private final CallMeter count;
+    private final CallMeter generateNextAccountId;
+    private final CallMeter clear;
+    private final CallMeter isEmpty;
+
+    /**
+     * @param delegate The store to meter
+     * @param registry Where the meters are registered
+     * @param sampleInterval Time one call in this many, a power of two; 1 times every call
+     */
+    public MeteredAccountRepository(IAccountRepository delegate, MeterRegistry registry, int sampleInterval) {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a power of two");
+        }
+        this.delegate = delegate;
+        this.sampleMask = sampleInterval - 1;
+        this.findAll = new CallMeter(registry, "findAll");
+        this.findPage = new CallMeter(registry, "findPage");
+        this.findById = new CallMeter(registry, "findById");
+        this.save = new CallMeter(registry, "save");
+        this.update = new CallMeter(registry, "update");
+        this.credit = new CallMeter(registry, "credit");
+        this.replace = new CallMeter(registry, "replace");
+        this.existsById = new CallMeter(registry, "existsById");
+        this.deleteById = new CallMeter(registry, "deleteById");
+        this.count = new CallMeter(registry, "count");
+        this.generateNextAccountId = new CallMeter(registry, "generateNextAccountId");
+        this.clear = new CallMeter(registry, "clear");
+        this.isEmpty = new CallMeter(registry, "isEmpty");
+    }
+
+    @Override
+    public Map<String, Account> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public AccountPage findPage(String cursor, int limit) {
+        long start = findPage.start();
+        try {
+            return delegate.findPage(cursor, limit);
+        } finally {
+            findPage.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Account> findById(String accountId) {
+        long start = findById.start();
+        try {
+            return delegate.findById(accountId);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public Account save(Account account) {
+        long start = save.start();
+        try {
+            return delegate.save(account);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Account> update(String accountId, UnaryOperator<Account> updater) {
+        long start = update.start();
+        try {
+            return delegate.update(accountId, updater);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Account> credit(String accountId, long amountCents) {
+        long start = credit.start();
+        try {
+            return delegate.credit(accountId, amountCents);
+        } finally {
+            credit.stop(start);
+        }
+    }
+
+    // Configuration, not a store call, so it is not metered
+    @Override
+    public Set<String> hotAccountIds() {
+        return delegate.hotAccountIds();
+    }
+
+    @Override
+    public boolean replace(Account expected, Account replacement) {
+        long start = replace.start();
+        try {
+            return delegate.replace(expected, replacement);
+        } finally {
+            replace.stop(start);
+        }
+    }
+
+    @Override
+    public boolean existsById(String accountId) {
+        long start = existsById.start();
+        try {
+            return delegate.existsById(accountId);
+        } finally {
+            existsById.stop(start);
+        }
+    }
+
+    @Override
+    public void deleteById(String accountId) {
+        long start = deleteById.start();
+        try {
+            delegate.deleteById(accountId);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+
+    @Override
+    public int count() {
+        long start = count.start();
+        try {
+            return delegate.count();
+        } finally {
+            count.stop(start);
+        }
+    }
+
+    @Override
+    public String generateNextAccountId() {
+        long start = generateNextAccountId.start();
+        try {
+            return delegate.generateNextAccountId();
+        } finally {
+            generateNextAccountId.stop(start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long start = clear.start();
+        try {
+            delegate.clear();
+        } finally {
+            clear.stop(start);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long start = isEmpty.start();
+        try {
+            return delegate.isEmpty();
+        } finally {
+            isEmpty.stop(start);
+        }
+    }
+
+    private final class CallMeter {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder timedCalls = new LongAdder();
+        private final LongAdder timedNanos = new LongAdder();
+
+        CallMeter(MeterRegistry registry, String method) {
+            FunctionCounter.builder("bank.repository.calls", calls, LongAdder::sum)
+                .description("Calls to the account store")
+                .tag("method", method)
+                .register(registry);
+            FunctionTimer.builder("bank.repository.latency", this,
+                    meter -> meter.timedCalls.sum(), meter -> meter.timedNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Sampled latency of calls to the account store")
+                .tag("method", method)
+                .register(registry);
+        }
+
+        // Counts the call and returns its start time if it is sampled, UNTIMED otherwise
+        long start() {
+            calls.increment();
+            return (ThreadLocalRandom.current().nextInt() & sampleMask) == 0 ? System.nanoTime() : UNTIMED;
+        }
+
+        void stop(long start) {
+            if (start != UNTIMED) {
+                timedNanos.add(System.nanoTime() - start);
+                timedCalls.increment();
+            }
+        }
+    }
+}
@@ -1,35 +1,50 @@
 package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
 import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransactionRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.idempotency.IdempotencyCache;
 import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.DepositUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountTransactionsUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountsByBalanceUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.GetAllAccountsUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.SearchAccountsUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
 import com.reckless_bank.in_memory_apis.account.application.usecase.WithdrawUseCase;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Account Controller for managing bank accounts
  * Provides REST endpoints for account operations
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final GetAllAccountsUseCase getAllAccountsUseCase;
     private final GetAccountUseCase getAccountUseCase;
     private final CreateAccountUseCase createAccountUseCase;
@@ -37,6 +52,11 @@ public class AccountController {
     private final WithdrawUseCase withdrawUseCase;
     private final GetAccountBalanceUseCase getAccountBalanceUseCase;
     private final TransferUseCase transferUseCase;
+    private final GetAccountTransactionsUseCase getAccountTransactionsUseCase;
+    private final SearchAccountsUseCase searchAccountsUseCase;
+    private final GetAccountsByBalanceUseCase getAccountsByBalanceUseCase;
+    private final IdempotencyCache idempotencyCache;
+    private final AccountResponseCache responseCache;
 
     // Constructor injection for the use cases
     public AccountController(GetAllAccountsUseCase getAllAccountsUseCase,
@@ -45,7 +65,12 @@ public class AccountController {
                            DepositUseCase depositUseCase,
                            WithdrawUseCase withdrawUseCase,
                            GetAccountBalanceUseCase getAccountBalanceUseCase,
-                           TransferUseCase transferUseCase) {
+                           TransferUseCase transferUseCase,
+                           GetAccountTransactionsUseCase getAccountTransactionsUseCase,
+                           SearchAccountsUseCase searchAccountsUseCase,
+                           GetAccountsByBalanceUseCase getAccountsByBalanceUseCase,
+                           IdempotencyCache idempotencyCache,
+                           AccountResponseCache responseCache) {
         this.getAllAccountsUseCase = getAllAccountsUseCase;
         this.getAccountUseCase = getAccountUseCase;
         this.createAccountUseCase = createAccountUseCase;
@@ -53,22 +78,63 @@ public class AccountController {
         this.withdrawUseCase = withdrawUseCase;
         this.getAccountBalanceUseCase = getAccountBalanceUseCase;
         this.transferUseCase = transferUseCase;
+        this.getAccountTransactionsUseCase = getAccountTransactionsUseCase;
+        this.searchAccountsUseCase = searchAccountsUseCase;
+        this.getAccountsByBalanceUseCase = getAccountsByBalanceUseCase;
+        this.idempotencyCache = idempotencyCache;
+        this.responseCache = responseCache;
     }
 
+    // Streams the JSON array straight from the repository a batch at a time;
+    // Jackson writes the lazy Iterable element by element, so no full copy is built
     @GetMapping
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        Map<String, Account> accountsMap = getAllAccountsUseCase.execute();
-        List<Account> accountsList = new ArrayList<>(accountsMap.values());
-        return ResponseEntity.ok(accountsList);
+    public ResponseEntity<Iterable<Account>> getAllAccounts() {
+        return ResponseEntity.ok(getAllAccountsUseCase.stream());
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<AccountPage> getAccountsPage(@RequestParam int limit,
+                                                       @RequestParam(required = false) String cursor) {
+        AccountPage page = getAllAccountsUseCase.executePage(cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
+    // Matches holder names starting with the given text, ignoring case; exact=true requires the whole name
+    @GetMapping("/search")
+    public ResponseEntity<List<Account>> searchAccounts(@RequestParam(required = false) String holder,
+                                                       @RequestParam(defaultValue = "false") boolean exact,
+                                                       @RequestParam(defaultValue = "50") int limit) {
+        List<Account> accounts = searchAccountsUseCase.execute(holder, !exact, limit);
+        return ResponseEntity.ok(accounts);
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<Account>> getTopAccounts(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(getAccountsByBalanceUseCase.top(limit));
+    }
+
+    // Both bounds are inclusive and optional
+    @GetMapping("/by-balance")
+    public ResponseEntity<List<Account>> getAccountsByBalance(@RequestParam(required = false) BigDecimal min,
+                                                              @RequestParam(required = false) BigDecimal max,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(getAccountsByBalanceUseCase.range(min, max, limit));
+    }
+
+    // This and the balance are polled heavily: an unchanged account is answered 304 when
+    // the client sends its ETag, and otherwise from the cached JSON
     @GetMapping("/{accountId}")
-    public ResponseEntity<Account> getAccount(@PathVariable String accountId) {
+    public ResponseEntity<byte[]> getAccount(@PathVariable String accountId, WebRequest webRequest) {
         Optional<Account> account = getAccountUseCase.execute(accountId);
         if (account.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(account.get());
+        String etag = AccountResponseCache.etag(account.get());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+            .body(responseCache.account(account.get()));
     }
 
     @PostMapping
@@ -77,53 +143,77 @@ public class AccountController {
         return ResponseEntity.ok(newAccount);
     }
 
+    // Deposits, withdrawals and transfers use the attempt API, so a decline comes back as a
+    // value and is answered with the body the exception handler would have built
     @PostMapping("/{accountId}/deposit")
-    public ResponseEntity<Account> deposit(@PathVariable String accountId, @RequestBody TransactionRequest request) {
-        Optional<Account> result = depositUseCase.execute(accountId, request);
-        if (result.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<?> deposit(@PathVariable String accountId, @RequestBody TransactionRequest request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                     HttpServletRequest servletRequest) {
+        TransferAttempt attempt = idempotencyCache.execute(idempotencyKey, List.of("deposit", accountId, request),
+            () -> depositUseCase.attempt(accountId, request));
+        if (!attempt.succeeded()) {
+            return TransferFailureResponses.of(attempt.failure(), servletRequest.getRequestURI());
         }
-        return ResponseEntity.ok(result.get());
+        return ResponseEntity.ok(attempt.result().toAccount());
     }
 
     @PostMapping("/{accountId}/withdraw")
-    public ResponseEntity<Map<String, Object>> withdraw(@PathVariable String accountId, @RequestBody TransactionRequest request) {
-        Optional<Account> result = withdrawUseCase.execute(accountId, request);
+    public ResponseEntity<?> withdraw(@PathVariable String accountId, @RequestBody TransactionRequest request,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      HttpServletRequest servletRequest) {
+        TransferAttempt attempt = idempotencyCache.execute(idempotencyKey, List.of("withdraw", accountId, request),
+            () -> withdrawUseCase.attempt(accountId, request));
 
-        if (result.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        if (!attempt.succeeded()) {
+            return TransferFailureResponses.of(attempt.failure(), servletRequest.getRequestURI());
         }
 
         Map<String, Object> response = new HashMap<>();
-        response.put("account", result.get());
+        response.put("account", attempt.result().fromAccount());
         response.put("message", "Withdrawal successful");
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<Map<String, Object>> getBalance(@PathVariable String accountId) {
+    public ResponseEntity<byte[]> getBalance(@PathVariable String accountId, WebRequest webRequest) {
         Optional<Account> accountOpt = getAccountBalanceUseCase.execute(accountId);
         if (accountOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
         Account account = accountOpt.get();
-        Map<String, Object> response = new HashMap<>();
-        response.put("accountId", accountId);
-        response.put("balance", account.balance());
-        response.put("accountHolder", account.accountHolder());
-        return ResponseEntity.ok(response);
+        String etag = AccountResponseCache.etag(account);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+            .body(responseCache.balance(account));
+    }
+
+    @GetMapping("/{accountId}/transactions")
+    public ResponseEntity<TransactionPage> getTransactions(@PathVariable String accountId,
+                                                           @RequestParam(defaultValue = "50") int limit,
+                                                           @RequestParam(required = false) String cursor) {
+        Optional<TransactionPage> page = getAccountTransactionsUseCase.execute(accountId, cursor, limit);
+        if (page.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(page.get());
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<Map<String, Object>> transfer(@RequestBody TransferRequest request) {
-        Optional<TransferResult> result = transferUseCase.execute(request);
+    public ResponseEntity<?> transfer(@RequestBody TransferRequest request,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      HttpServletRequest servletRequest) {
+        // A retry with the same key gets the first attempt's result instead of moving money twice
+        TransferAttempt attempt = idempotencyCache.execute(idempotencyKey, request,
+            () -> transferUseCase.attempt(request));
         
-        if (result.isEmpty()) {
-            return ResponseEntity.badRequest().build();
+        if (!attempt.succeeded()) {
+            return TransferFailureResponses.of(attempt.failure(), servletRequest.getRequestURI());
         }
         
-        TransferResult transferResult = result.get();
+        TransferResult transferResult = attempt.result();
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Transfer successful");
         response.put("fromAccount", transferResult.fromAccount());
@@ -131,4 +221,11 @@ public class AccountController {
         response.put("transferAmount", request.amount());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResult> transferBatch(@RequestBody List<TransferRequest> requests,
+                                                             @RequestParam(defaultValue = "false") boolean atomic) {
+        BatchTransferResult result = transferUseCase.executeBatch(requests, atomic);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,170 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reckless_bank.in_memory_apis.account.application.dto.AccountImportOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Account Import Controller for onboarding accounts in bulk
+ * Reads an NDJSON stream of create requests and streams back one outcome line per input line
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/accounts")
+public class AccountImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final String LINE_TOO_LONG = "Line exceeds " + MAX_LINE_LENGTH + " characters";
+
+    private final CreateAccountUseCase createAccountUseCase;
+    private final ObjectReader requestReader;
+    private final ObjectWriter outcomeWriter;
+
+    public AccountImportController(CreateAccountUseCase createAccountUseCase, ObjectMapper objectMapper) {
+        this.createAccountUseCase = createAccountUseCase;
+        this.requestReader = objectMapper.readerFor(CreateAccountRequest.class);
+        this.outcomeWriter = objectMapper.writerFor(AccountImportOutcome.class);
+    }
+
+    /**
+     * Creates one account per non-blank input line. Lines are parsed and created in chunks
+     * of {@value #CHUNK_SIZE}, and each chunk's outcomes are written and flushed before the
+     * next chunk is read, so memory stays bounded by the chunk size whatever the body length.
+     * Outcomes are written in input order; a rejected line does not stop the import.
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public void importAccounts(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<CreateAccountRequest> pending = new ArrayList<>(CHUNK_SIZE);
+        List<Long> pendingLines = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            lineNumber++;
+            if (!reader.tooLong() && text.isBlank()) {
+                continue;
+            }
+            String error = reader.tooLong() ? LINE_TOO_LONG : null;
+            if (error == null) {
+                try {
+                    pending.add(requestReader.readValue(text));
+                    pendingLines.add(lineNumber);
+                } catch (JsonProcessingException ex) {
+                    error = rejectionOf(ex);
+                }
+            }
+            if (error != null) {
+                // Flush earlier lines first so outcomes stay in input order
+                createChunk(pending, pendingLines, out);
+                write(AccountImportOutcome.rejected(lineNumber, error), out);
+            } else if (pending.size() == CHUNK_SIZE) {
+                createChunk(pending, pendingLines, out);
+            }
+        }
+        createChunk(pending, pendingLines, out);
+        out.flush();
+    }
+
+    private void createChunk(List<CreateAccountRequest> pending, List<Long> pendingLines, OutputStream out)
+            throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (AccountImportOutcome outcome : createAccountUseCase.executeAll(pending, pendingLines)) {
+            write(outcome, out);
+        }
+        out.flush();
+        pending.clear();
+        pendingLines.clear();
+    }
+
+    private void write(AccountImportOutcome outcome, OutputStream out) throws IOException {
+        out.write(outcomeWriter.writeValueAsBytes(outcome));
+        out.write('\n');
+    }
+
+    private static String rejectionOf(JsonProcessingException ex) {
+        // Validation in the request's constructor surfaces as the cause of an instantiation failure
+        Throwable cause = ex.getCause();
+        if (cause instanceof IllegalArgumentException) {
+            return cause.getMessage();
+        }
+        return ex.getOriginalMessage();
+    }
+
+    // Line reader with a bounded line length, so a single huge line cannot exhaust the heap.
+    // A line over the limit is skipped to its end and reported through tooLong()
+    private static final class BoundedLineReader {
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        BoundedLineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? line.toString() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int length = position - start;
+                if (!tooLong && line.length() + length <= MAX_LINE_LENGTH) {
+                    line.append(buffer, start, length);
+                } else {
+                    tooLong = true;
+                    line.setLength(0);
+                }
+                if (position < limit) {
+                    position++; // Consume the newline
+                    return line.toString();
+                }
+            }
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+    }
+}
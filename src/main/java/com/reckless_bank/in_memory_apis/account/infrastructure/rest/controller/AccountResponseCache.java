@@ -0,0 +1,107 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serialized JSON of {@code GET /api/accounts/{id}} and {@code GET /api/accounts/{id}/balance}
+ * by account, so polling an account that has not changed skips Jackson.
+ * <p>
+ * Accounts are immutable values and every change stores a new one, so an entry holds the
+ * account it was written from and is used only while that still equals the stored account.
+ * Any change, whichever path made it, leaves the entry stale, and the next read writes
+ * and caches the new state. The {@link #etag(Account) ETag} is derived from the same
+ * state, so a client whose copy is current is answered 304 without writing anything.
+ * <p>
+ * Each view has {@code bank.response-cache.slots} slots (default 65,536, rounded up to a
+ * power of two; 0 disables caching), and an account always maps to the same slot. Two
+ * polled accounts sharing a slot replace each other, which costs a serialization and
+ * never a wrong answer. Slots are read and written without locks: entries are immutable,
+ * and a racing write at worst discards another thread's entry.
+ */
+@Component
+public class AccountResponseCache {
+
+    private final ObjectWriter accountWriter;
+    private final ObjectWriter balanceWriter;
+    private final Entry[] accounts;
+    private final Entry[] balances;
+    private final int mask;
+
+    public AccountResponseCache(ObjectMapper objectMapper, @Value("${bank.response-cache.slots:65536}") int slots) {
+        if (slots < 0) {
+            throw new IllegalArgumentException("Response cache slots cannot be negative");
+        }
+        this.accountWriter = objectMapper.writerFor(Account.class);
+        this.balanceWriter = objectMapper.writerFor(Map.class);
+        int capacity = slots <= 1 ? slots : Integer.highestOneBit(slots - 1) << 1;
+        this.accounts = new Entry[capacity];
+        this.balances = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * The entity tag of both views of the account, quoted. It changes whenever the balance
+     * does, and differs between accounts that reuse an ID with another holder.
+     */
+    public static String etag(Account account) {
+        return "\"" + Long.toHexString(account.balanceCents()) + "-"
+            + Integer.toHexString(account.accountHolder().hashCode()) + "\"";
+    }
+
+    // The body of GET /api/accounts/{id}/balance
+    public static Map<String, Object> balanceView(Account account) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("accountId", account.accountId());
+        response.put("balance", account.balance());
+        response.put("accountHolder", account.accountHolder());
+        return response;
+    }
+
+    public byte[] account(Account account) {
+        Entry entry = slot(accounts, account);
+        return entry != null ? entry.json() : store(accounts, account, accountWriter, account);
+    }
+
+    public byte[] balance(Account account) {
+        Entry entry = slot(balances, account);
+        return entry != null ? entry.json() : store(balances, account, balanceWriter, balanceView(account));
+    }
+
+    // The cached entry for the account in this exact state, if any
+    private Entry slot(Entry[] view, Account account) {
+        if (view.length == 0) {
+            return null;
+        }
+        Entry entry = view[index(account)];
+        return entry != null && entry.account().equals(account) ? entry : null;
+    }
+
+    private byte[] store(Entry[] view, Account account, ObjectWriter writer, Object body) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize account " + account.accountId(), e);
+        }
+        if (view.length > 0) {
+            view[index(account)] = new Entry(account, json);
+        }
+        return json;
+    }
+
+    private int index(Account account) {
+        int hash = account.accountId().hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private record Entry(Account account, byte[] json) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.BankStatistics;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetBankStatisticsUseCase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bank Statistics Controller for dashboards
+ * Serves the bank-wide aggregates without walking the accounts
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/stats")
+public class BankStatisticsController {
+
+    private final GetBankStatisticsUseCase getBankStatisticsUseCase;
+
+    public BankStatisticsController(GetBankStatisticsUseCase getBankStatisticsUseCase) {
+        this.getBankStatisticsUseCase = getBankStatisticsUseCase;
+    }
+
+    @GetMapping
+    public ResponseEntity<BankStatistics> getStatistics() {
+        return ResponseEntity.ok(getBankStatisticsUseCase.execute());
+    }
+}
@@ -0,0 +1,28 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferFailure;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+import com.reckless_bank.in_memory_apis.common.dto.ErrorResponse;
+import com.reckless_bank.in_memory_apis.common.exception.ErrorResponses;
+import com.reckless_bank.in_memory_apis.common.exception.TraceIds;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses for declined deposits, withdrawals and transfers returned as values, matching
+ * what the exception handlers give for the equivalent exceptions. Declines are already
+ * counted by the {@code bank.operations} meters, so unlike exceptions they are not logged.
+ */
+public final class TransferFailureResponses {
+
+    private TransferFailureResponses() {
+    }
+
+    public static ResponseEntity<ErrorResponse> of(TransferFailure failure, String path) {
+        return switch (failure.reason()) {
+            case ACCOUNT_NOT_FOUND -> ErrorResponses.accountNotFound(failure.message(), path, TraceIds.next());
+            case INSUFFICIENT_FUNDS -> ErrorResponses.insufficientFunds(failure.accountId(),
+                Money.fromCents(failure.requestedCents()), Money.fromCents(failure.availableCents()),
+                failure.message(), path);
+        };
+    }
+}
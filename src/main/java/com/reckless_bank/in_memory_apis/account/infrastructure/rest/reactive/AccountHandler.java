@@ -0,0 +1,417 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reckless_bank.in_memory_apis.account.application.dto.AccountImportOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransactionRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.idempotency.IdempotencyCache;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.DepositUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountTransactionsUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountsByBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAllAccountsUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetBankStatisticsUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.SearchAccountsUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.WithdrawUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.AccountResponseCache;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.TransferFailureResponses;
+import com.reckless_bank.in_memory_apis.common.dto.ErrorResponse;
+import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
+import com.reckless_bank.in_memory_apis.common.exception.IdempotencyKeyReusedException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
+import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import com.reckless_bank.in_memory_apis.common.exception.SampledLogger;
+import com.reckless_bank.in_memory_apis.common.exception.TraceIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of the account controllers, served by {@link AccountRouter}
+ * when the application runs as a reactive web application.
+ * <p>
+ * Reads are in-memory lookups and run on the event loop. Mutations wait for journal
+ * durability when the journal is enabled, and for the sequencer in sequenced mode, so in
+ * those setups they are moved to the bounded elastic scheduler to keep the loop free;
+ * otherwise they run on the event loop too.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class AccountHandler {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+    private static final Duration WARN_INTERVAL = Duration.ofSeconds(1);
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final ResolvableType STRING = ResolvableType.forClass(String.class);
+    private static final ParameterizedTypeReference<List<TransferRequest>> TRANSFER_LIST =
+        new ParameterizedTypeReference<>() {};
+
+    private final SampledLogger notFoundLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger insufficientFundsLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger invalidTransactionLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger idempotencyKeyLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger badRequestLog = new SampledLogger(logger, WARN_INTERVAL);
+
+    private final GetAllAccountsUseCase getAllAccountsUseCase;
+    private final GetAccountUseCase getAccountUseCase;
+    private final CreateAccountUseCase createAccountUseCase;
+    private final DepositUseCase depositUseCase;
+    private final WithdrawUseCase withdrawUseCase;
+    private final GetAccountBalanceUseCase getAccountBalanceUseCase;
+    private final TransferUseCase transferUseCase;
+    private final GetAccountTransactionsUseCase getAccountTransactionsUseCase;
+    private final SearchAccountsUseCase searchAccountsUseCase;
+    private final GetAccountsByBalanceUseCase getAccountsByBalanceUseCase;
+    private final GetBankStatisticsUseCase getBankStatisticsUseCase;
+    private final IdempotencyCache idempotencyCache;
+    private final AccountResponseCache responseCache;
+    private final ObjectReader requestReader;
+    private final Scheduler mutations;
+    private final StringDecoder lineDecoder;
+
+    public AccountHandler(GetAllAccountsUseCase getAllAccountsUseCase,
+                          GetAccountUseCase getAccountUseCase,
+                          CreateAccountUseCase createAccountUseCase,
+                          DepositUseCase depositUseCase,
+                          WithdrawUseCase withdrawUseCase,
+                          GetAccountBalanceUseCase getAccountBalanceUseCase,
+                          TransferUseCase transferUseCase,
+                          GetAccountTransactionsUseCase getAccountTransactionsUseCase,
+                          SearchAccountsUseCase searchAccountsUseCase,
+                          GetAccountsByBalanceUseCase getAccountsByBalanceUseCase,
+                          GetBankStatisticsUseCase getBankStatisticsUseCase,
+                          IdempotencyCache idempotencyCache,
+                          AccountResponseCache responseCache,
+                          ObjectMapper objectMapper,
+                          @Value("${bank.journal.enabled:false}") boolean journalEnabled,
+                          @Value("${bank.engine.mode:concurrent}") String engineMode) {
+        this.getAllAccountsUseCase = getAllAccountsUseCase;
+        this.getAccountUseCase = getAccountUseCase;
+        this.createAccountUseCase = createAccountUseCase;
+        this.depositUseCase = depositUseCase;
+        this.withdrawUseCase = withdrawUseCase;
+        this.getAccountBalanceUseCase = getAccountBalanceUseCase;
+        this.transferUseCase = transferUseCase;
+        this.getAccountTransactionsUseCase = getAccountTransactionsUseCase;
+        this.searchAccountsUseCase = searchAccountsUseCase;
+        this.getAccountsByBalanceUseCase = getAccountsByBalanceUseCase;
+        this.getBankStatisticsUseCase = getBankStatisticsUseCase;
+        this.idempotencyCache = idempotencyCache;
+        this.responseCache = responseCache;
+        this.requestReader = objectMapper.readerFor(CreateAccountRequest.class);
+        boolean blockingMutations = journalEnabled || "sequenced".equals(engineMode);
+        this.mutations = blockingMutations ? Schedulers.boundedElastic() : Schedulers.immediate();
+        this.lineDecoder = StringDecoder.allMimeTypes();
+        this.lineDecoder.setMaxInMemorySize(MAX_LINE_LENGTH);
+    }
+
+    // Pages through the store as the client consumes the response, so no full copy is built.
+    // Written as one JSON array, or one account per line when the client accepts NDJSON
+    public Mono<ServerResponse> getAllAccounts(ServerRequest request) {
+        MediaType contentType = request.headers().accept().contains(NDJSON) ? NDJSON : MediaType.APPLICATION_JSON;
+        Flux<Account> accounts = Flux.defer(() -> Flux.fromIterable(getAllAccountsUseCase.stream()));
+        return ServerResponse.ok().contentType(contentType).body(accounts, Account.class);
+    }
+
+    public Mono<ServerResponse> getAccountsPage(ServerRequest request) {
+        return read(() -> getAllAccountsUseCase.executePage(
+                request.queryParam("cursor").orElse(null), intParam(request, "limit", 0)))
+            .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> searchAccounts(ServerRequest request) {
+        boolean exact = request.queryParam("exact").map(Boolean::parseBoolean).orElse(false);
+        return read(() -> searchAccountsUseCase.execute(request.queryParam("holder").orElse(null), !exact,
+                intParam(request, "limit", 50)))
+            .flatMap(accounts -> ServerResponse.ok().bodyValue(accounts));
+    }
+
+    public Mono<ServerResponse> getTopAccounts(ServerRequest request) {
+        return read(() -> getAccountsByBalanceUseCase.top(intParam(request, "limit", 100)))
+            .flatMap(accounts -> ServerResponse.ok().bodyValue(accounts));
+    }
+
+    public Mono<ServerResponse> getAccountsByBalance(ServerRequest request) {
+        return read(() -> getAccountsByBalanceUseCase.range(request.queryParam("min").map(BigDecimal::new).orElse(null),
+                request.queryParam("max").map(BigDecimal::new).orElse(null), intParam(request, "limit", 100)))
+            .flatMap(accounts -> ServerResponse.ok().bodyValue(accounts));
+    }
+
+    public Mono<ServerResponse> getStatistics(ServerRequest request) {
+        return read(getBankStatisticsUseCase::execute)
+            .flatMap(statistics -> ServerResponse.ok().bodyValue(statistics));
+    }
+
+    public Mono<ServerResponse> getAccount(ServerRequest request) {
+        String accountId = request.pathVariable("accountId");
+        return cachedOrNotFound(request, read(() -> getAccountUseCase.execute(accountId)), responseCache::account);
+    }
+
+    public Mono<ServerResponse> createAccount(ServerRequest request) {
+        return body(request, CreateAccountRequest.class)
+            .flatMap(create -> mutate(() -> createAccountUseCase.execute(create)))
+            .flatMap(account -> ServerResponse.ok().bodyValue(account));
+    }
+
+    public Mono<ServerResponse> deposit(ServerRequest request) {
+        String accountId = request.pathVariable("accountId");
+        return body(request, TransactionRequest.class)
+            .flatMap(deposit -> idempotent(request, List.of("deposit", accountId, deposit),
+                () -> depositUseCase.attempt(accountId, deposit)))
+            .flatMap(attempt -> okOrDeclined(attempt, request, TransferResult::toAccount));
+    }
+
+    public Mono<ServerResponse> withdraw(ServerRequest request) {
+        String accountId = request.pathVariable("accountId");
+        return body(request, TransactionRequest.class)
+            .flatMap(withdrawal -> idempotent(request, List.of("withdraw", accountId, withdrawal),
+                () -> withdrawUseCase.attempt(accountId, withdrawal)))
+            .flatMap(attempt -> okOrDeclined(attempt, request, result -> {
+                Map<String, Object> response = new HashMap<>();
+                response.put("account", result.fromAccount());
+                response.put("message", "Withdrawal successful");
+                return response;
+            }));
+    }
+
+    public Mono<ServerResponse> getBalance(ServerRequest request) {
+        String accountId = request.pathVariable("accountId");
+        return cachedOrNotFound(request, read(() -> getAccountBalanceUseCase.execute(accountId)),
+            responseCache::balance);
+    }
+
+    public Mono<ServerResponse> getTransactions(ServerRequest request) {
+        String accountId = request.pathVariable("accountId");
+        return okOrNotFound(read(() -> getAccountTransactionsUseCase.execute(accountId,
+            request.queryParam("cursor").orElse(null), intParam(request, "limit", 50))), Function.identity());
+    }
+
+    public Mono<ServerResponse> transfer(ServerRequest request) {
+        return body(request, TransferRequest.class)
+            .flatMap(transfer -> idempotent(request, transfer, () -> transferUseCase.attempt(transfer))
+                .flatMap(attempt -> okOrDeclined(attempt, request, result -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Transfer successful");
+                    response.put("fromAccount", result.fromAccount());
+                    response.put("toAccount", result.toAccount());
+                    response.put("transferAmount", transfer.amount());
+                    return response;
+                })));
+    }
+
+    public Mono<ServerResponse> transferBatch(ServerRequest request) {
+        boolean atomic = request.queryParam("atomic").map(Boolean::parseBoolean).orElse(false);
+        return body(request, TRANSFER_LIST)
+            .flatMap(transfers -> mutate(() -> transferUseCase.executeBatch(transfers, atomic)))
+            .flatMap(result -> ServerResponse.ok().bodyValue(result));
+    }
+
+    /**
+     * Creates one account per non-blank NDJSON line, in chunks of {@value #CHUNK_SIZE}, and
+     * streams back one outcome per line in input order. The body is decoded as it arrives,
+     * and the next chunk is only read once the previous chunk's outcomes are requested by
+     * the response, so memory stays bounded by the chunk size. A rejected line does not stop
+     * the import; a line over {@value #MAX_LINE_LENGTH} characters ends it with an error.
+     */
+    public Mono<ServerResponse> importAccounts(ServerRequest request) {
+        Flux<AccountImportOutcome> outcomes = lineDecoder
+            .decode(request.body(BodyExtractors.toDataBuffers()), STRING, null, Map.of())
+            .index()
+            .filter(line -> !line.getT2().isBlank())
+            .buffer(CHUNK_SIZE)
+            .concatMap(chunk -> mutate(() -> importChunk(chunk)))
+            .concatMapIterable(Function.identity());
+        return ServerResponse.ok().contentType(NDJSON).body(outcomes, AccountImportOutcome.class);
+    }
+
+    // Indexed lines in, outcomes out, in the same order
+    private List<AccountImportOutcome> importChunk(List<Tuple2<Long, String>> chunk) {
+        List<AccountImportOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<CreateAccountRequest> pending = new ArrayList<>(chunk.size());
+        List<Long> pendingLines = new ArrayList<>(chunk.size());
+        List<Integer> pendingSlots = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, String> line : chunk) {
+            long lineNumber = line.getT1() + 1;
+            try {
+                pending.add(requestReader.readValue(line.getT2()));
+                pendingLines.add(lineNumber);
+                pendingSlots.add(outcomes.size());
+                outcomes.add(null); // Filled in once the chunk is created
+            } catch (JsonProcessingException ex) {
+                outcomes.add(AccountImportOutcome.rejected(lineNumber, rejectionOf(ex)));
+            }
+        }
+        if (!pending.isEmpty()) {
+            List<AccountImportOutcome> created = createAccountUseCase.executeAll(pending, pendingLines);
+            for (int i = 0; i < created.size(); i++) {
+                outcomes.set(pendingSlots.get(i), created.get(i));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Maps a failed request to the same status and {@link ErrorResponse} body as the servlet
+     * stack's global exception handler.
+     */
+    public Mono<ServerResponse> handleError(Throwable ex, ServerRequest request) {
+        String traceId = TraceIds.next();
+        HttpStatus status;
+        String error;
+        String message = ex.getMessage();
+        if (ex instanceof AccountNotFoundException notFound) {
+            notFoundLog.warn("Account not found - TraceId: {}, AccountId: {}", traceId, notFound.getAccountId());
+            status = HttpStatus.NOT_FOUND;
+            error = "Account Not Found";
+        } else if (ex instanceof InsufficientFundsException insufficient) {
+            insufficientFundsLog.warn("Insufficient funds - TraceId: {}, AccountId: {}", traceId, insufficient.getAccountId());
+            status = HttpStatus.BAD_REQUEST;
+            error = "Insufficient Funds";
+        } else if (ex instanceof InvalidTransactionException invalid) {
+            invalidTransactionLog.warn("Invalid transaction - TraceId: {}, Type: {}", traceId, invalid.getTransactionType());
+            status = HttpStatus.BAD_REQUEST;
+            error = "Invalid Transaction";
+        } else if (ex instanceof IdempotencyKeyReusedException reused) {
+            idempotencyKeyLog.warn("Idempotency key reused - TraceId: {}, Key: {}", traceId, reused.getIdempotencyKey());
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            error = "Idempotency Key Reused";
+        } else if (ex instanceof RepositoryException) {
+            logger.error("Repository error - TraceId: {}", traceId, ex);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            error = "Data Access Error";
+            message = "An error occurred while accessing the data store";
+        } else if (ex instanceof ServerWebInputException) {
+            badRequestLog.warn("Invalid request body - TraceId: {}", traceId);
+            status = HttpStatus.BAD_REQUEST;
+            error = "Invalid Request Body";
+            message = "The request body is malformed or contains invalid data";
+        } else if (ex instanceof IllegalArgumentException) {
+            badRequestLog.warn("Illegal argument - TraceId: {}, Message: {}", traceId, ex.getMessage());
+            status = HttpStatus.BAD_REQUEST;
+            error = "Invalid Argument";
+        } else if (ex instanceof ResponseStatusException statusException) {
+            status = HttpStatus.valueOf(statusException.getStatusCode().value());
+            error = status.getReasonPhrase();
+            message = statusException.getReason();
+        } else {
+            logger.error("Unexpected error - TraceId: {}", traceId, ex);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            error = "Internal Server Error";
+            message = "An unexpected error occurred while processing your request";
+        }
+        return ServerResponse.status(status)
+            .bodyValue(new ErrorResponse(status.value(), error, message, request.path(), traceId));
+    }
+
+    private <T> Mono<T> read(Callable<T> query) {
+        return Mono.fromCallable(query);
+    }
+
+    private <T> Mono<T> mutate(Callable<T> command) {
+        return Mono.fromCallable(command).subscribeOn(mutations);
+    }
+
+    // A keyed request can wait in the idempotency cache for a duplicate still being applied,
+    // so it always leaves the event loop, even when mutations otherwise run there
+    private <T> Mono<T> idempotent(ServerRequest request, Object fingerprint, Supplier<T> operation) {
+        String key = idempotencyKey(request);
+        Scheduler scheduler = key == null ? mutations : Schedulers.boundedElastic();
+        return Mono.fromCallable(() -> idempotencyCache.execute(key, fingerprint, operation)).subscribeOn(scheduler);
+    }
+
+    private static <T> Mono<ServerResponse> okOrNotFound(Mono<Optional<T>> result, Function<? super T, ?> body) {
+        return result.filter(Optional::isPresent).map(Optional::get)
+            .flatMap(value -> ServerResponse.ok().bodyValue(body.apply(value)))
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // As on the servlet stack: 304 when the client's ETag is current, else the cached JSON
+    private static Mono<ServerResponse> cachedOrNotFound(ServerRequest request, Mono<Optional<Account>> result,
+                                                         Function<Account, byte[]> json) {
+        return result.filter(Optional::isPresent).map(Optional::get)
+            .flatMap(account -> {
+                String etag = AccountResponseCache.etag(account);
+                return request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                    .eTag(etag).contentType(MediaType.APPLICATION_JSON).bodyValue(json.apply(account))));
+            })
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // Declines are answered like their exceptions in handleError, minus the log line
+    private static Mono<ServerResponse> okOrDeclined(TransferAttempt attempt, ServerRequest request,
+                                                     Function<TransferResult, ?> body) {
+        if (!attempt.succeeded()) {
+            ResponseEntity<ErrorResponse> declined = TransferFailureResponses.of(attempt.failure(), request.path());
+            return ServerResponse.status(declined.getStatusCode()).bodyValue(declined.getBody());
+        }
+        return ServerResponse.ok().bodyValue(body.apply(attempt.result()));
+    }
+
+    private static <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type).switchIfEmpty(Mono.error(() -> new ServerWebInputException("Missing request body")));
+    }
+
+    private static <T> Mono<T> body(ServerRequest request, ParameterizedTypeReference<T> type) {
+        return request.bodyToMono(type).switchIfEmpty(Mono.error(() -> new ServerWebInputException("Missing request body")));
+    }
+
+    private static String idempotencyKey(ServerRequest request) {
+        return request.headers().firstHeader(IDEMPOTENCY_KEY);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    private static String rejectionOf(JsonProcessingException ex) {
+        // Validation in the request's constructor surfaces as the cause of an instantiation failure
+        Throwable cause = ex.getCause();
+        if (cause instanceof IllegalArgumentException) {
+            return cause.getMessage();
+        }
+        return ex.getOriginalMessage();
+    }
+}
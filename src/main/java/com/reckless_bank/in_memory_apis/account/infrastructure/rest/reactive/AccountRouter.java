@@ -0,0 +1,45 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Functional routes of the reactive stack, mirroring the servlet stack's
+ * {@code /api/accounts} and {@code /api/stats} endpoints path for path
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class AccountRouter {
+
+    private static final String ACCOUNTS = "/api/accounts";
+    private static final String STATS = "/api/stats";
+
+    @Bean
+    public RouterFunction<ServerResponse> accountRoutes(AccountHandler handler) {
+        return route()
+            // Paged listing first, so it wins over the streamed listing when limit is given
+            .GET(ACCOUNTS, queryParam("limit", limit -> true), handler::getAccountsPage)
+            .GET(ACCOUNTS, handler::getAllAccounts)
+            .POST(ACCOUNTS, handler::createAccount)
+            .POST(ACCOUNTS + "/bulk", handler::importAccounts)
+            .POST(ACCOUNTS + "/transfer", handler::transfer)
+            .POST(ACCOUNTS + "/transfers/batch", handler::transferBatch)
+            .GET(ACCOUNTS + "/search", handler::searchAccounts)
+            .GET(ACCOUNTS + "/top", handler::getTopAccounts)
+            .GET(ACCOUNTS + "/by-balance", handler::getAccountsByBalance)
+            .GET(ACCOUNTS + "/{accountId}", handler::getAccount)
+            .GET(ACCOUNTS + "/{accountId}/balance", handler::getBalance)
+            .GET(ACCOUNTS + "/{accountId}/transactions", handler::getTransactions)
+            .POST(ACCOUNTS + "/{accountId}/deposit", handler::deposit)
+            .POST(ACCOUNTS + "/{accountId}/withdraw", handler::withdraw)
+            .GET(STATS, handler::getStatistics)
+            .onError(Throwable.class, handler::handleError)
+            .build();
+    }
+}
@@ -1,22 +1,30 @@
 package com.reckless_bank.in_memory_apis.common.exception;
 
 /**
- * Exception thrown when an account is not found
+ * Exception thrown when an account is not found.
+ * An expected outcome rather than a fault, so it carries no stack trace.
  */
 public class AccountNotFoundException extends RuntimeException {
     
     private final String accountId;
     
     public AccountNotFoundException(String accountId) {
-        super(String.format("Account not found with ID: %s", accountId));
+        super(messageFor(accountId), null, false, false);
         this.accountId = accountId;
     }
     
     public AccountNotFoundException(String accountId, String message) {
-        super(message);
+        super(message, null, false, false);
         this.accountId = accountId;
     }
     
+    /**
+     * @return The message this exception carries, for callers that report the failure without throwing
+     */
+    public static String messageFor(String accountId) {
+        return "Account not found with ID: " + accountId;
+    }
+    
     public String getAccountId() {
         return accountId;
     }
@@ -0,0 +1,36 @@
+package com.reckless_bank.in_memory_apis.common.exception;
+
+import com.reckless_bank.in_memory_apis.common.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Error responses for declined deposits, withdrawals and transfers, shared by
+ * {@link GlobalExceptionHandler} and the controllers that return declines without throwing.
+ */
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    public static ResponseEntity<ErrorResponse> accountNotFound(String message, String path, String traceId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Account Not Found", message, path, traceId));
+    }
+
+    public static ResponseEntity<ErrorResponse> insufficientFunds(String accountId, BigDecimal requestedAmount,
+                                                                  BigDecimal availableBalance, String message,
+                                                                  String path) {
+        Map<String, Object> details = Map.of(
+            "accountId", accountId,
+            "requestedAmount", requestedAmount,
+            "availableBalance", availableBalance,
+            "shortfall", requestedAmount.subtract(availableBalance),
+            "suggestion", "Please reduce the transaction amount or deposit additional funds");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Insufficient Funds", message, path, details));
+    }
+}
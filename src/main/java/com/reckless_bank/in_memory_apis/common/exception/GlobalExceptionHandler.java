@@ -4,6 +4,7 @@ import com.reckless_bank.in_memory_apis.common.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,73 +14,57 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
- * Global exception handler for the application
+ * Global exception handler for the application.
+ * Errors are logged every time; expected failures such as declines and bad input are
+ * logged at most once per second per kind, with a count of the ones suppressed.
  */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final Duration WARN_INTERVAL = Duration.ofSeconds(1);
+    
+    private final SampledLogger notFoundLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger insufficientFundsLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger invalidTransactionLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger idempotencyKeyLog = new SampledLogger(logger, WARN_INTERVAL);
+    private final SampledLogger badRequestLog = new SampledLogger(logger, WARN_INTERVAL);
     
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleAccountNotFoundException(
             AccountNotFoundException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Account not found - TraceId: {}, AccountId: {}", traceId, ex.getAccountId());
-        
-        Map<String, Object> details = new HashMap<>();
-        details.put("accountId", ex.getAccountId());
-        details.put("suggestion", "Please verify the account ID and try again");
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            HttpStatus.NOT_FOUND.value(),
-            "Account Not Found",
-            ex.getMessage(),
-            request.getRequestURI(),
-            traceId
-        );
+        String traceId = TraceIds.next();
+        notFoundLog.warn("Account not found - TraceId: {}, AccountId: {}", traceId, ex.getAccountId());
         
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        return ErrorResponses.accountNotFound(ex.getMessage(), request.getRequestURI(), traceId);
     }
     
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientFundsException(
             InsufficientFundsException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Insufficient funds - TraceId: {}, AccountId: {}, Requested: {}, Available: {}", 
+        String traceId = TraceIds.next();
+        insufficientFundsLog.warn("Insufficient funds - TraceId: {}, AccountId: {}, Requested: {}, Available: {}", 
                    traceId, ex.getAccountId(), ex.getRequestedAmount(), ex.getAvailableBalance());
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("accountId", ex.getAccountId());
-        details.put("requestedAmount", ex.getRequestedAmount());
-        details.put("availableBalance", ex.getAvailableBalance());
-        details.put("shortfall", ex.getRequestedAmount().subtract(ex.getAvailableBalance()));
-        details.put("suggestion", "Please reduce the transaction amount or deposit additional funds");
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
-            "Insufficient Funds",
-            ex.getMessage(),
-            request.getRequestURI(),
-            details
-        );
-        
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ErrorResponses.insufficientFunds(ex.getAccountId(), ex.getRequestedAmount(), ex.getAvailableBalance(),
+            ex.getMessage(), request.getRequestURI());
     }
     
     @ExceptionHandler(InvalidTransactionException.class)
     public ResponseEntity<ErrorResponse> handleInvalidTransactionException(
             InvalidTransactionException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Invalid transaction - TraceId: {}, Type: {}, Amount: {}, Details: {}", 
+        String traceId = TraceIds.next();
+        invalidTransactionLog.warn("Invalid transaction - TraceId: {}, Type: {}, Amount: {}, Details: {}", 
                    traceId, ex.getTransactionType(), ex.getAmount(), ex.getDetails());
         
         Map<String, Object> details = new HashMap<>();
@@ -101,11 +86,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, HttpServletRequest request) {
+        
+        String traceId = TraceIds.next();
+        idempotencyKeyLog.warn("Idempotency key reused - TraceId: {}, Key: {}", traceId, ex.getIdempotencyKey());
+        
+        Map<String, Object> details = new HashMap<>();
+        details.put("idempotencyKey", ex.getIdempotencyKey());
+        details.put("suggestion", "Use a new idempotency key for a different request");
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.UNPROCESSABLE_ENTITY.value(),
+            "Idempotency Key Reused",
+            ex.getMessage(),
+            request.getRequestURI(),
+            details
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+    
     @ExceptionHandler(RepositoryException.class)
     public ResponseEntity<ErrorResponse> handleRepositoryException(
             RepositoryException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
+        String traceId = TraceIds.next();
         logger.error("Repository error - TraceId: {}, Operation: {}, EntityType: {}, EntityId: {}", 
                     traceId, ex.getOperation(), ex.getEntityType(), ex.getEntityId(), ex);
         
@@ -130,8 +137,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Validation error - TraceId: {}", traceId);
+        String traceId = TraceIds.next();
+        badRequestLog.warn("Validation error - TraceId: {}", traceId);
         
         List<ErrorResponse.ValidationError> validationErrors = ex.getBindingResult()
             .getFieldErrors()
@@ -154,8 +161,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
             HttpMessageNotReadableException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Invalid request body - TraceId: {}", traceId);
+        String traceId = TraceIds.next();
+        badRequestLog.warn("Invalid request body - TraceId: {}", traceId);
         
         ErrorResponse errorResponse = new ErrorResponse(
             HttpStatus.BAD_REQUEST.value(),
@@ -172,8 +179,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Parameter type mismatch - TraceId: {}, Parameter: {}, Value: {}", 
+        String traceId = TraceIds.next();
+        badRequestLog.warn("Parameter type mismatch - TraceId: {}, Parameter: {}, Value: {}", 
                    traceId, ex.getName(), ex.getValue());
         
         Map<String, Object> details = new HashMap<>();
@@ -198,8 +205,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
-        logger.warn("Illegal argument - TraceId: {}, Message: {}", traceId, ex.getMessage());
+        String traceId = TraceIds.next();
+        badRequestLog.warn("Illegal argument - TraceId: {}, Message: {}", traceId, ex.getMessage());
         
         Map<String, Object> details = new HashMap<>();
         details.put("suggestion", "Please check your request parameters and try again");
@@ -219,7 +226,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
         
-        String traceId = generateTraceId();
+        String traceId = TraceIds.next();
         logger.error("Unexpected error - TraceId: {}", traceId, ex);
         
         Map<String, Object> details = new HashMap<>();
@@ -244,8 +251,4 @@ public class GlobalExceptionHandler {
             fieldError.getDefaultMessage()
         );
     }
-    
-    private String generateTraceId() {
-        return UUID.randomUUID().toString().substring(0, 8);
-    }
 }
\ No newline at end of file
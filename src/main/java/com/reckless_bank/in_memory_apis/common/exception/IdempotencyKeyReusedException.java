@@ -0,0 +1,18 @@
+package com.reckless_bank.in_memory_apis.common.exception;
+
+/**
+ * Exception thrown when an idempotency key is sent again with a different request
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("Idempotency key '%s' was already used for a different request", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -3,7 +3,8 @@ package com.reckless_bank.in_memory_apis.common.exception;
 import java.math.BigDecimal;
 
 /**
- * Exception thrown when there are insufficient funds for a transaction
+ * Exception thrown when there are insufficient funds for a transaction.
+ * An expected outcome rather than a fault, so it carries no stack trace.
  */
 public class InsufficientFundsException extends RuntimeException {
     
@@ -12,13 +13,22 @@ public class InsufficientFundsException extends RuntimeException {
     private final BigDecimal availableBalance;
     
     public InsufficientFundsException(String accountId, BigDecimal requestedAmount, BigDecimal availableBalance) {
-        super(String.format("Insufficient funds in account %s. Requested: %s, Available: %s", 
-              accountId, requestedAmount, availableBalance));
+        super(messageFor(accountId, String.valueOf(requestedAmount), String.valueOf(availableBalance)),
+              null, false, false);
         this.accountId = accountId;
         this.requestedAmount = requestedAmount;
         this.availableBalance = availableBalance;
     }
     
+    /**
+     * @return The message this exception carries, for callers that report the failure without throwing;
+     *         amounts are passed already formatted as plain decimals
+     */
+    public static String messageFor(String accountId, String requestedAmount, String availableBalance) {
+        return "Insufficient funds in account " + accountId + ". Requested: " + requestedAmount
+               + ", Available: " + availableBalance;
+    }
+    
     public String getAccountId() {
         return accountId;
     }
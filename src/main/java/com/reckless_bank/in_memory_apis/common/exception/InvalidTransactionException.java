@@ -3,7 +3,8 @@ package com.reckless_bank.in_memory_apis.common.exception;
 import java.math.BigDecimal;
 
 /**
- * Exception thrown when an invalid transaction is attempted
+ * Exception thrown when an invalid transaction is attempted.
+ * An expected outcome rather than a fault, so it carries no stack trace.
  */
 public class InvalidTransactionException extends RuntimeException {
     
@@ -13,14 +14,14 @@ public class InvalidTransactionException extends RuntimeException {
     
     public InvalidTransactionException(String transactionType, BigDecimal amount, String details) {
         super(String.format("Invalid %s transaction. Amount: %s. Details: %s", 
-              transactionType, amount, details));
+              transactionType, amount, details), null, false, false);
         this.transactionType = transactionType;
         this.amount = amount;
         this.details = details;
     }
     
     public InvalidTransactionException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.transactionType = "unknown";
         this.amount = null;
         this.details = message;
@@ -0,0 +1,55 @@
+package com.reckless_bank.in_memory_apis.common.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * WARN logging limited to one line per interval, for failures that are expected and can
+ * arrive in bursts, such as declined withdrawals or malformed requests. Calls in between
+ * only increment a counter; the next line logged reports how many were suppressed.
+ */
+public final class SampledLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextLogAt;
+    private final LongAdder suppressed = new LongAdder();
+
+    public SampledLogger(Logger logger, Duration interval) {
+        this(logger, interval, System::nanoTime);
+    }
+
+    SampledLogger(Logger logger, Duration interval, LongSupplier nanoClock) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextLogAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long next = nextLogAt.get();
+        // One caller per interval wins the slot; the rest, including CAS losers, are counted
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        if (skipped == 0) {
+            logger.warn(format, arguments);
+            return;
+        }
+        Object[] withSkipped = Arrays.copyOf(arguments, arguments.length + 1);
+        withSkipped[arguments.length] = skipped;
+        logger.warn(format + ", Suppressed since last: {}", withSkipped);
+    }
+}
@@ -0,0 +1,19 @@
+package com.reckless_bank.in_memory_apis.common.exception;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Short random IDs tying an error response to its log line.
+ */
+public final class TraceIds {
+
+    private TraceIds() {
+    }
+
+    // Eight hex digits like the first block of a random UUID, without the SecureRandom
+    // draw and the formatting of the other 24 digits
+    public static String next() {
+        long bits = ThreadLocalRandom.current().nextInt() & 0xFFFFFFFFL;
+        return Long.toHexString(bits | 0x1_0000_0000L).substring(1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.reckless_bank.in_memory_apis.config;
+
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountIdGenerator;
+import com.reckless_bank.in_memory_apis.account.domain.repository.SequentialAccountIdGenerator;
+import com.reckless_bank.in_memory_apis.account.domain.repository.TimeOrderedAccountIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how new account IDs are generated.
+ * {@code bank.account-id.strategy} is {@code sequential} (ACC001, ACC002, ...) or
+ * {@code time-ordered}; {@code bank.account-id.node} keeps IDs from several nodes apart.
+ */
+@Configuration
+public class AccountIdConfig {
+
+    @Bean
+    public AccountIdGenerator accountIdGenerator(@Value("${bank.account-id.strategy:sequential}") String strategy,
+                                                 @Value("${bank.account-id.prefix:ACC}") String prefix,
+                                                 @Value("${bank.account-id.node:}") String node) {
+        return switch (strategy) {
+            case "sequential" -> new SequentialAccountIdGenerator(prefix, node);
+            case "time-ordered" -> new TimeOrderedAccountIdGenerator(prefix, node.isEmpty() ? 0 : Integer.parseInt(node));
+            default -> throw new IllegalArgumentException("Unknown account ID strategy: " + strategy);
+        };
+    }
+}
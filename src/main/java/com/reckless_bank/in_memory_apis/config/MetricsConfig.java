@@ -0,0 +1,38 @@
+package com.reckless_bank.in_memory_apis.config;
+
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.metrics.MeteredAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the account store in {@link MeteredAccountRepository}, whichever store the active profile
+ * selects. Every call is counted and one in {@code bank.metrics.repository.sample-interval}
+ * (default 16) is timed; disable with {@code bank.metrics.repository.enabled=false}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static and lazily resolving the registry, so the post-processor does not initialize
+    // the registry before Spring Boot has finished configuring it
+    @Bean
+    @ConditionalOnProperty(name = "bank.metrics.repository.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor meteredAccountRepositoryPostProcessor(
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${bank.metrics.repository.sample-interval:16}") int sampleInterval) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof IAccountRepository repository && !(bean instanceof MeteredAccountRepository)) {
+                    return new MeteredAccountRepository(repository, registry.getObject(), sampleInterval);
+                }
+                return bean;
+            }
+        };
+    }
+}
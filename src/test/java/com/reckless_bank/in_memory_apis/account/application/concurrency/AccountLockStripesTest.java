@@ -0,0 +1,95 @@
+package com.reckless_bank.in_memory_apis.account.application.concurrency;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockStripesTest {
+
+    @Test
+    void shouldRoundStripeCountUpToPowerOfTwo() {
+        assertEquals(1, new AccountLockStripes(1).stripeCount());
+        assertEquals(4, new AccountLockStripes(3).stripeCount());
+        assertEquals(1024, new AccountLockStripes(1000).stripeCount());
+        assertEquals(1024, new AccountLockStripes(1024).stripeCount());
+    }
+
+    @Test
+    void shouldRejectInvalidStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockStripes(0));
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockStripes(-8));
+    }
+
+    @Test
+    void shouldNotDeadlockWhenBothAccountsShareAStripe() {
+        AccountLockStripes stripes = new AccountLockStripes(1);
+
+        String result = stripes.withLocks("ACC001", "ACC002", () -> "done");
+
+        assertEquals("done", result);
+    }
+
+    @Test
+    void shouldConserveTotalBalanceUnderConcurrentTransfers() throws Exception {
+        AccountRepository repository = new AccountRepository();
+        TransferUseCase transferUseCase = new TransferUseCase(repository, new AccountLockStripes(64), new NoOpAccountJournal(), new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+
+        int accountCount = 8;
+        BigDecimal initialBalance = new BigDecimal("1000.00");
+        for (int i = 0; i < accountCount; i++) {
+            repository.save(new Account("ACC" + i, "Holder " + i, initialBalance));
+        }
+
+        int threads = 16;
+        int transfersPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    int from = random.nextInt(accountCount);
+                    int to = (from + 1 + random.nextInt(accountCount - 1)) % accountCount;
+                    try {
+                        transferUseCase.execute(new TransferRequest("ACC" + from, "ACC" + to, BigDecimal.ONE));
+                    } catch (InsufficientFundsException ignored) {
+                        // Expected occasionally when an account has been drained
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        BigDecimal total = repository.findAll().values().stream()
+            .map(Account::balance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, initialBalance.multiply(BigDecimal.valueOf(accountCount)).compareTo(total),
+            "Transfers must neither create nor destroy money");
+    }
+}
@@ -0,0 +1,86 @@
+package com.reckless_bank.in_memory_apis.account.application.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandSequencerTest {
+
+    @Test
+    void shouldApplyCommandsInSubmissionOrder() {
+        List<Integer> applied = new ArrayList<>();
+        try (CommandSequencer<Integer, Integer> sequencer = new CommandSequencer<>(4, "test-sequencer", command -> {
+            applied.add(command);
+            return command * 2;
+        })) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(sequencer.submit(i));
+            }
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals(2 * i, futures.get(i).join());
+            }
+        }
+        assertEquals(100, applied.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, applied.get(i));
+        }
+    }
+
+    @Test
+    void shouldRejectSubmitAfterClose() {
+        CommandSequencer<Integer, Integer> sequencer = new CommandSequencer<>(4, "test-sequencer", Function.identity());
+        sequencer.close();
+
+        assertThrows(IllegalStateException.class, () -> sequencer.submit(1));
+        assertEquals(0, sequencer.backlog());
+    }
+
+    @Test
+    void shouldCompleteOrRejectEverySubmitRacingClose() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                CommandSequencer<Integer, Integer> sequencer = new CommandSequencer<>(8, "test-sequencer", Function.identity());
+                CountDownLatch started = new CountDownLatch(4);
+                List<Future<List<CompletableFuture<Integer>>>> producers = new ArrayList<>();
+                for (int p = 0; p < 4; p++) {
+                    producers.add(executor.submit(() -> {
+                        List<CompletableFuture<Integer>> submitted = new ArrayList<>();
+                        started.countDown();
+                        try {
+                            while (true) {
+                                submitted.add(sequencer.submit(submitted.size()));
+                            }
+                        } catch (IllegalStateException closed) {
+                            return submitted;
+                        }
+                    }));
+                }
+                started.await();
+
+                sequencer.close();
+
+                // A submit accepted while closing is applied; one that would be stranded is rejected
+                for (Future<List<CompletableFuture<Integer>>> producer : producers) {
+                    for (CompletableFuture<Integer> future : producer.get(5, TimeUnit.SECONDS)) {
+                        assertNotNull(future.get(5, TimeUnit.SECONDS));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.reckless_bank.in_memory_apis.account.application.concurrency;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.FileAccountJournal;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.JournalDurability;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs contended transfers on virtual threads with JFR watching for a virtual thread that
+ * parks while pinned to its carrier, such as one waiting for a stripe, a history ring or
+ * the journal flush inside a synchronized block.
+ */
+class VirtualThreadPinningTest {
+
+    private static final int ACCOUNTS = 8;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void contendedJournaledTransfersShouldNotPinCarrierThreads() throws Exception {
+        AccountRepository repository = new AccountRepository();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            repository.save(new Account("ACC" + i, "Holder " + i, new BigDecimal("1000000.00")));
+        }
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (FileAccountJournal journal = new FileAccountJournal(tempDir.resolve("journal.log"), JournalDurability.BATCH, 1)) {
+            // Few stripes and accounts so transfers queue on the same locks and history rings
+            TransferUseCase transferUseCase = new TransferUseCase(repository, new AccountLockStripes(4), journal,
+                new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+            // Initialize every class on the path before recording
+            transferUseCase.execute(new TransferRequest("ACC0", "ACC1", BigDecimal.ONE));
+
+            try (RecordingStream events = new RecordingStream()) {
+                events.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+                events.onEvent("jdk.VirtualThreadPinned", pinned::add);
+                events.startAsync();
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    for (int i = 0; i < 10_000; i++) {
+                        int from = i % ACCOUNTS;
+                        int to = (from + 1 + i / ACCOUNTS % (ACCOUNTS - 1)) % ACCOUNTS;
+                        executor.submit(() -> transferUseCase.execute(
+                            new TransferRequest("ACC" + from, "ACC" + to, BigDecimal.ONE)));
+                    }
+                }
+                events.stop();
+            }
+        }
+
+        assertTrue(pinned.isEmpty(), () -> pinned.size() + " virtual threads parked while pinned, first:\n" + pinned.get(0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.reckless_bank.in_memory_apis.account.application.history;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountTransaction;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionHistoryTest {
+
+    @Test
+    void shouldListEntriesNewestFirstAcrossPages() {
+        TransactionHistory history = new TransactionHistory(256);
+        for (int i = 1; i <= 25; i++) {
+            history.record(JournalEntry.deposited("ACC001", 100L), i * 100L);
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        TransactionPage page = history.findPage("ACC001", null, 10);
+        page.transactions().forEach(entry -> sequences.add(entry.sequence()));
+        while (page.nextCursor() != null) {
+            page = history.findPage("ACC001", page.nextCursor(), 10);
+            page.transactions().forEach(entry -> sequences.add(entry.sequence()));
+        }
+
+        assertEquals(25, sequences.size());
+        assertEquals(25L, sequences.get(0), "The newest entry comes first");
+        assertEquals(1L, sequences.get(24));
+        assertEquals(2_500L, history.findPage("ACC001", null, 1).transactions().get(0).balanceAfterCents());
+    }
+
+    @Test
+    void shouldRecordBothLegsOfATransfer() {
+        TransactionHistory history = new TransactionHistory(16);
+
+        history.recordTransfer(JournalEntry.transferred("ACC001", "ACC002", 2_500L), 7_500L, 12_500L);
+
+        AccountTransaction outgoing = history.findPage("ACC001", null, 10).transactions().get(0);
+        assertEquals(AccountTransaction.Type.TRANSFER_OUT, outgoing.type());
+        assertEquals("ACC002", outgoing.counterpartyId());
+        assertEquals(2_500L, outgoing.amountCents());
+        assertEquals(7_500L, outgoing.balanceAfterCents());
+        AccountTransaction incoming = history.findPage("ACC002", null, 10).transactions().get(0);
+        assertEquals(AccountTransaction.Type.TRANSFER_IN, incoming.type());
+        assertEquals("ACC001", incoming.counterpartyId());
+        assertEquals(12_500L, incoming.balanceAfterCents());
+        assertEquals(outgoing.timestamp(), incoming.timestamp());
+    }
+
+    @Test
+    void shouldCompactEntriesBeyondCapacity() {
+        TransactionHistory history = new TransactionHistory(20);
+        for (int i = 0; i < 50; i++) {
+            history.record(JournalEntry.deposited("ACC001", 300L), 0L);
+            history.record(JournalEntry.withdrew("ACC001", 100L), 0L);
+        }
+
+        TransactionPage page = history.findPage("ACC001", null, 100);
+
+        assertEquals(20, page.transactions().size(), "Only the most recent entries are kept");
+        assertEquals(100L, page.transactions().get(0).sequence());
+        assertEquals(81L, page.transactions().get(19).sequence());
+        assertNull(page.nextCursor());
+        assertEquals(80, page.compactedTransactions());
+        assertEquals(40 * 200L, page.compactedNetChangeCents(), "Evicted entries keep their net effect");
+    }
+
+    @Test
+    void shouldEndPagingWhenTheCursorHasBeenEvicted() {
+        TransactionHistory history = new TransactionHistory(8);
+        for (int i = 0; i < 8; i++) {
+            history.record(JournalEntry.deposited("ACC001", 1L), i + 1L);
+        }
+        String cursor = history.findPage("ACC001", null, 4).nextCursor();
+        for (int i = 0; i < 8; i++) {
+            history.record(JournalEntry.deposited("ACC001", 1L), i + 9L);
+        }
+
+        TransactionPage page = history.findPage("ACC001", cursor, 4);
+
+        assertTrue(page.transactions().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldRecordNothingWhenDisabled() {
+        TransactionHistory history = new TransactionHistory(0);
+
+        history.record(JournalEntry.deposited("ACC001", 100L), 100L);
+
+        assertTrue(history.findPage("ACC001", null, 10).transactions().isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        TransactionHistory history = new TransactionHistory(16);
+
+        assertThrows(IllegalArgumentException.class, () -> new TransactionHistory(-1));
+        assertThrows(IllegalArgumentException.class, () -> history.findPage("ACC001", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> history.findPage("ACC001", "abc", 10));
+        assertThrows(IllegalArgumentException.class, () -> history.findPage("ACC001", "0", 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> history.record(JournalEntry.created("ACC001", "John Doe", 0L), 0L));
+    }
+
+    @Test
+    void shouldAssignDistinctSequencesUnderConcurrentAppends() throws Exception {
+        TransactionHistory history = new TransactionHistory(100_000);
+        int threads = 8;
+        int appendsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < appendsPerThread; i++) {
+                    history.record(JournalEntry.deposited("HOT001", 1L), 1L);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        TransactionPage page = history.findPage("HOT001", null, threads * appendsPerThread);
+        assertEquals(threads * appendsPerThread, page.transactions().size());
+        assertEquals(threads * appendsPerThread, page.transactions().stream().map(AccountTransaction::sequence).distinct().count());
+        assertEquals(0, page.compactedTransactions());
+    }
+}
@@ -0,0 +1,145 @@
+package com.reckless_bank.in_memory_apis.account.application.idempotency;
+
+import com.reckless_bank.in_memory_apis.common.exception.IdempotencyKeyReusedException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void shouldRunOnceAndReturnTheFirstResultForDuplicates() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = cache.execute("key-1", "transfer", () -> "result-" + runs.incrementAndGet());
+        String second = cache.execute("key-1", "transfer", () -> "result-" + runs.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldRunEveryTimeWithoutAKey() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.execute(null, "transfer", runs::incrementAndGet);
+        cache.execute(null, "transfer", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldRejectAKeyReusedForADifferentRequest() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+        cache.execute("key-1", "transfer ACC001->ACC002 10.00", () -> "done");
+
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> cache.execute("key-1", "transfer ACC001->ACC002 99.00", () -> "done again"));
+    }
+
+    @Test
+    void shouldReplayBusinessFailuresButRetryOtherFailures() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+        InsufficientFundsException insufficient =
+            new InsufficientFundsException("ACC001", new BigDecimal("10.00"), BigDecimal.ZERO);
+
+        for (int i = 0; i < 2; i++) {
+            assertSame(insufficient, assertThrows(InsufficientFundsException.class,
+                () -> cache.execute("declined", "withdraw", () -> {
+                    runs.incrementAndGet();
+                    throw insufficient;
+                })));
+        }
+        assertEquals(1, runs.get(), "A declined operation is not run again");
+
+        assertThrows(RepositoryException.class, () -> cache.execute("broken", "withdraw", () -> {
+            throw new RepositoryException("withdrawal", "Account", "ACC001", "Store unavailable");
+        }));
+        assertEquals("recovered", cache.execute("broken", "withdraw", () -> "recovered"));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTheirTtl() {
+        AtomicLong now = new AtomicLong();
+        IdempotencyCache cache = new IdempotencyCache(100, 60, now::get);
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.execute("key-1", "deposit", runs::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.execute("key-1", "deposit", runs::incrementAndGet);
+        assertEquals(1, runs.get());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        cache.execute("key-1", "deposit", runs::incrementAndGet);
+        assertEquals(2, runs.get(), "An expired key runs the operation again");
+    }
+
+    @Test
+    void shouldStayWithinItsSizeUnderKeyChurn() {
+        IdempotencyCache cache = new IdempotencyCache(1_000, 60);
+
+        for (int i = 0; i < 100_000; i++) {
+            cache.execute("key-" + i, "deposit", () -> "done");
+        }
+
+        assertTrue(cache.size() <= 1_000, "Held " + cache.size() + " keys");
+        assertTrue(cache.size() > 500, "Evicted more than needed: " + cache.size() + " keys left");
+    }
+
+    @Test
+    void shouldMakeConcurrentDuplicatesWaitForTheOriginal() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> original = executor.submit(() -> cache.execute("key-1", "transfer", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return runs.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Integer> duplicate = executor.submit(() -> cache.execute("key-1", "transfer", runs::incrementAndGet));
+            release.countDown();
+
+            assertEquals(1, original.get(5, TimeUnit.SECONDS));
+            assertEquals(1, duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectOversizedKeys() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> cache.execute("k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1), "deposit", () -> "done"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reckless_bank.in_memory_apis.account.application.index;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountHolderIndexTest {
+
+    @Test
+    void shouldFindExactHolderIgnoringCaseAndWhitespace() {
+        AccountHolderIndex index = new AccountHolderIndex();
+        index.add(new Account("ACC002", "John Doe", 0L));
+        index.add(new Account("ACC001", "john doe", 0L));
+        index.add(new Account("ACC003", "John Doerr", 0L));
+
+        assertEquals(List.of("ACC001", "ACC002"), index.findByHolder("  JOHN DOE ", 10));
+        assertEquals(List.of("ACC001"), index.findByHolder("John Doe", 1));
+        assertTrue(index.findByHolder("John", 10).isEmpty());
+    }
+
+    @Test
+    void shouldFindHoldersByPrefixOrderedByNameThenId() {
+        AccountHolderIndex index = new AccountHolderIndex();
+        index.add(new Account("ACC001", "John Smith", 0L));
+        index.add(new Account("ACC002", "Johanna Berg", 0L));
+        index.add(new Account("ACC003", "John Doe", 0L));
+        index.add(new Account("ACC004", "Jane Roe", 0L));
+
+        assertEquals(List.of("ACC002", "ACC003", "ACC001"), index.findByHolderPrefix("Joh", 10));
+        assertEquals(List.of("ACC003", "ACC001"), index.findByHolderPrefix("john ", 10));
+        assertEquals(List.of("ACC004"), index.findByHolderPrefix("j", 10).subList(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.findByHolderPrefix(" ", 10));
+    }
+
+    @Test
+    void shouldForgetRemovedAccounts() {
+        AccountHolderIndex index = new AccountHolderIndex();
+        Account account = new Account("ACC001", "John Doe", 0L);
+        index.add(account);
+
+        index.remove(account);
+
+        assertTrue(index.findByHolder("John Doe", 10).isEmpty());
+    }
+
+    @Test
+    void shouldIndexEveryConcurrentlyAddedAccount() throws Exception {
+        AccountHolderIndex index = new AccountHolderIndex();
+        int threads = 8;
+        int accountsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < accountsPerThread; i++) {
+                    index.add(new Account("ACC" + thread + "-" + i, "Holder " + (i % 10), 0L));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(threads * accountsPerThread, index.findByHolderPrefix("holder", Integer.MAX_VALUE).size());
+        assertEquals(threads * accountsPerThread / 10, index.findByHolder("Holder 3", Integer.MAX_VALUE).size());
+    }
+}
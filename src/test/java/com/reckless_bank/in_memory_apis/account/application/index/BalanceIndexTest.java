@@ -0,0 +1,95 @@
+package com.reckless_bank.in_memory_apis.account.application.index;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceIndexTest {
+
+    private final AccountRepository repository = new AccountRepository();
+    private final BalanceIndex index = new BalanceIndex(repository, true, 0);
+
+    private void save(String accountId, long balanceCents) {
+        repository.save(new Account(accountId, "Holder " + accountId, balanceCents));
+        index.markChanged(accountId);
+    }
+
+    @Test
+    void shouldListHighestBalancesFirstWithTiesByAccountId() {
+        save("ACC001", 500L);
+        save("ACC002", 900L);
+        save("ACC003", 500L);
+        save("ACC004", 100L);
+
+        assertEquals(List.of("ACC002", "ACC003", "ACC001"), index.top(3));
+    }
+
+    @Test
+    void shouldListInclusiveRangeLowestFirst() {
+        save("ACC001", 100L);
+        save("ACC002", 200L);
+        save("ACC003", 300L);
+        save("ACC004", Long.MAX_VALUE);
+
+        assertEquals(List.of("ACC001", "ACC002"), index.range(100L, 200L, 10));
+        assertEquals(List.of("ACC003", "ACC004"), index.range(300L, Long.MAX_VALUE, 10));
+        assertEquals(List.of("ACC002"), index.range(150L, Long.MAX_VALUE, 1));
+        assertTrue(index.range(300L, 200L, 10).isEmpty());
+    }
+
+    @Test
+    void shouldMoveChangedAccountsAndDropDeletedOnes() {
+        save("ACC001", 100L);
+        save("ACC002", 200L);
+
+        repository.update("ACC001", account -> account.deposit(1_000L));
+        index.markChanged("ACC001");
+        repository.deleteById("ACC002");
+        index.markChanged("ACC002");
+
+        assertEquals(List.of("ACC001"), index.top(10));
+        assertEquals(List.of("ACC001"), index.range(1_100L, 1_100L, 10));
+    }
+
+    @Test
+    void shouldListLatestBalanceAfterConcurrentDeposits() throws Exception {
+        save("ACC001", 0L);
+        int threads = 8;
+        int depositsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < depositsPerThread; i++) {
+                    repository.update("ACC001", account -> account.deposit(1L));
+                    index.markChanged("ACC001");
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        long balance = (long) threads * depositsPerThread;
+        assertEquals(List.of("ACC001"), index.top(10), "The account is listed once");
+        assertEquals(List.of("ACC001"), index.range(balance, balance, 10));
+    }
+
+    @Test
+    void shouldListNothingWhenDisabled() {
+        BalanceIndex disabled = BalanceIndex.disabled();
+        disabled.markChanged("ACC001");
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.top(10).isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package com.reckless_bank.in_memory_apis.account.application.stats;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.BankStatistics;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.SequentialAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankAggregatesTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private TransferUseCase transferUseCase(AccountRepository repository, BankAggregates aggregates) {
+        return new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(),
+            new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), aggregates);
+    }
+
+    private static void create(AccountRepository repository, BankAggregates aggregates, String accountId, String balance) {
+        aggregates.recordCreated(repository.save(new Account(accountId, "Holder " + accountId, new BigDecimal(balance))));
+    }
+
+    @Test
+    void shouldFollowBalancesAndActiveAccountsThroughOperations() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        AtomicLong now = new AtomicLong(20_000 * DAY_MILLIS);
+        BankAggregates aggregates = new BankAggregates(repository, now::get);
+        TransferUseCase transferUseCase = transferUseCase(repository, aggregates);
+        create(repository, aggregates, "ACC001", "100.00");
+        create(repository, aggregates, "ACC002", "0.00");
+
+        // When
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+        transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("25.00")));
+        transferUseCase.execute(new TransferRequest("ACC002", null, new BigDecimal("40.00")));
+        transferUseCase.attempt(new TransferRequest("ACC002", null, new BigDecimal("1000.00")));
+
+        // Then
+        BankStatistics statistics = aggregates.snapshot();
+        assertEquals(2, statistics.accounts());
+        assertEquals(2, statistics.activeAccounts());
+        assertEquals(new BigDecimal("85.00"), statistics.totalDeposits());
+        assertEquals(LocalDate.ofEpochDay(20_000), statistics.today().date());
+        assertEquals(new BigDecimal("25.00"), statistics.today().deposited());
+        assertEquals(new BigDecimal("40.00"), statistics.today().withdrawn());
+        assertEquals(new BigDecimal("100.00"), statistics.today().transferred());
+        assertEquals(new BigDecimal("-15.00"), statistics.today().netFlow());
+    }
+
+    @Test
+    void shouldCountAccountEmptiedAndRefilledOnce() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        BankAggregates aggregates = new BankAggregates(repository);
+        TransferUseCase transferUseCase = transferUseCase(repository, aggregates);
+        create(repository, aggregates, "ACC001", "10.00");
+
+        // When
+        transferUseCase.execute(new TransferRequest("ACC001", null, new BigDecimal("10.00")));
+        long emptied = aggregates.activeAccountCount();
+        transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("1.00")));
+        transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("1.00")));
+
+        // Then
+        assertEquals(0, emptied);
+        assertEquals(1, aggregates.activeAccountCount());
+    }
+
+    @Test
+    void shouldStartNewDayAtMidnightUtc() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        AtomicLong now = new AtomicLong(20_000 * DAY_MILLIS + DAY_MILLIS - 1);
+        BankAggregates aggregates = new BankAggregates(repository, now::get);
+        aggregates.recordDeposit(500);
+
+        // When
+        now.incrementAndGet();
+
+        // Then
+        BankStatistics.DailyFlow today = aggregates.snapshot().today();
+        assertEquals(LocalDate.ofEpochDay(20_001), today.date());
+        assertEquals(0, today.deposited().signum());
+    }
+
+    @Test
+    void shouldCheckHotAccountsWhenCountingActiveAccounts() throws Exception {
+        // Given
+        AccountRepository repository = new AccountRepository(new SequentialAccountIdGenerator("ACC", null),
+            new String[]{"HOT"}, 4);
+        BankAggregates aggregates = new BankAggregates(repository);
+        TransferUseCase transferUseCase = transferUseCase(repository, aggregates);
+        create(repository, aggregates, "HOT", "0.00");
+        int threads = 8;
+        int depositsPerThread = 500;
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < depositsPerThread; i++) {
+                    transferUseCase.execute(new TransferRequest(null, "HOT", new BigDecimal("0.01")));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        long activeWhileFunded = aggregates.activeAccountCount();
+        long totalWhileFunded = aggregates.totalBalanceCents();
+        transferUseCase.execute(new TransferRequest("HOT", null, repository.findById("HOT").orElseThrow().balance()));
+
+        // Then
+        assertEquals(1, activeWhileFunded);
+        assertEquals(threads * depositsPerThread, totalWhileFunded);
+        assertEquals(0, aggregates.activeAccountCount());
+        assertEquals(0, aggregates.totalBalanceCents());
+    }
+}
@@ -0,0 +1,78 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GetAllAccountsUseCaseTest {
+
+    @Mock
+    private IAccountRepository accountRepository;
+
+    @InjectMocks
+    private GetAllAccountsUseCase getAllAccountsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void shouldStreamAllPagesLazily() {
+        // Given
+        Account first = new Account("ACC001", "John Doe", 100L);
+        Account second = new Account("ACC002", "Jane Smith", 200L);
+        when(accountRepository.findPage(null, GetAllAccountsUseCase.STREAM_BATCH_SIZE))
+            .thenReturn(new AccountPage(List.of(first), "c1"));
+        when(accountRepository.findPage("c1", GetAllAccountsUseCase.STREAM_BATCH_SIZE))
+            .thenReturn(new AccountPage(List.of(), "c2"));
+        when(accountRepository.findPage("c2", GetAllAccountsUseCase.STREAM_BATCH_SIZE))
+            .thenReturn(new AccountPage(List.of(second), null));
+
+        // When
+        Iterable<Account> accounts = getAllAccountsUseCase.stream();
+
+        // Then
+        verify(accountRepository, never()).findPage(any(), anyInt());
+        List<Account> streamed = new ArrayList<>();
+        accounts.forEach(streamed::add);
+        assertEquals(List.of(first, second), streamed);
+        verify(accountRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnRequestedPage() {
+        // Given
+        AccountPage page = new AccountPage(List.of(new Account("ACC002", "Jane Smith", 200L)), "ACC002");
+        when(accountRepository.findPage("ACC001", 1)).thenReturn(page);
+
+        // When
+        AccountPage result = getAllAccountsUseCase.executePage("ACC001", 1);
+
+        // Then
+        assertSame(page, result);
+    }
+
+    @Test
+    void shouldRejectPageLimitOutsideBounds() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> getAllAccountsUseCase.executePage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> getAllAccountsUseCase.executePage(null, GetAllAccountsUseCase.MAX_PAGE_SIZE + 1));
+        verify(accountRepository, never()).findPage(anyString(), anyInt());
+    }
+}
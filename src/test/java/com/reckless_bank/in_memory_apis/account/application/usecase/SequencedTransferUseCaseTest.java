@@ -0,0 +1,125 @@
+package com.reckless_bank.in_memory_apis.account.application.usecase;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequencedTransferUseCaseTest {
+
+    private AccountRepository accountRepository;
+    private SequencedTransferUseCase transferUseCase;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new AccountRepository();
+        // A small ring makes producers wrap around and wait for the sequencer
+        transferUseCase = new SequencedTransferUseCase(accountRepository, new AccountLockStripes(1), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(accountRepository), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferUseCase.shutdown();
+    }
+
+    @Test
+    void shouldApplyTransferOnSequencerThread() {
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+
+        Optional<TransferResult> result = transferUseCase.execute(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal("400.00"), result.get().fromAccount().balance());
+        assertEquals(new BigDecimal("400.00"), result.get().toAccount().balance());
+    }
+
+    @Test
+    void shouldPropagateBusinessExceptionsToCaller() {
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("50.00")));
+
+        assertThrows(AccountNotFoundException.class,
+            () -> transferUseCase.execute(new TransferRequest(null, "NONEXISTENT", BigDecimal.TEN)));
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+            () -> transferUseCase.execute(new TransferRequest("ACC001", null, new BigDecimal("60.00"))));
+        assertEquals("ACC001", exception.getAccountId());
+    }
+
+    @Test
+    void shouldApplyEveryConcurrentOperationExactlyOnce() throws Exception {
+        accountRepository.save(new Account("ACC001", "John Doe", 0L));
+        accountRepository.save(new Account("ACC002", "Jane Smith", 1_000_000L));
+
+        int threads = 16;
+        int operationsPerThread = 1_000;
+        AtomicInteger transfers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < operationsPerThread; i++) {
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("0.01")));
+                    } else {
+                        transferUseCase.execute(new TransferRequest("ACC002", "ACC001", new BigDecimal("0.01")));
+                        transfers.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        long acc001 = accountRepository.findById("ACC001").orElseThrow().balanceCents();
+        long acc002 = accountRepository.findById("ACC002").orElseThrow().balanceCents();
+        assertEquals((long) threads * operationsPerThread, acc001, "Every operation credits ACC001 one cent");
+        assertEquals(1_000_000L - transfers.get(), acc002, "Every transfer debits ACC002 one cent");
+    }
+
+    @Test
+    void shouldApplyBatchAsSingleSequencedCommand() {
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+
+        BatchTransferResult committed = transferUseCase.executeBatch(List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")),
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("30.00"))), true);
+        BatchTransferResult rolledBack = transferUseCase.executeBatch(List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")),
+            new TransferRequest("ACC001", "ACC003", new BigDecimal("1.00"))), true);
+
+        assertEquals(2, committed.succeeded());
+        assertEquals(TransferOutcome.Status.ROLLED_BACK, rolledBack.results().get(0).status());
+        assertEquals("Account Not Found", rolledBack.results().get(1).error());
+        assertEquals(new BigDecimal("430.00"), accountRepository.findById("ACC001").orElseThrow().balance());
+        assertEquals(new BigDecimal("370.00"), accountRepository.findById("ACC002").orElseThrow().balance());
+    }
+}
@@ -1,22 +1,54 @@
 package com.reckless_bank.in_memory_apis.account.application.usecase;
 
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferFailure;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.AccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountTransaction;
+import com.reckless_bank.in_memory_apis.account.domain.model.Money;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
 import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
 import com.reckless_bank.in_memory_apis.common.exception.AccountNotFoundException;
 import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
 import com.reckless_bank.in_memory_apis.common.exception.InvalidTransactionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TransferUseCaseTest {
@@ -24,12 +56,50 @@ class TransferUseCaseTest {
     @Mock
     private IAccountRepository accountRepository;
 
+    @Spy
+    private AccountLockStripes lockStripes = new AccountLockStripes(16);
+
+    @Mock
+    private AccountJournal journal;
+
+    @Spy
+    private TransactionHistory history = new TransactionHistory(16);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AccountMetrics metrics = new AccountMetrics(meterRegistry);
+
+    @Mock
+    private BalanceIndex balanceIndex;
+
+    @Mock
+    private BankAggregates aggregates;
+
     @InjectMocks
     private TransferUseCase transferUseCase;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(journal.record(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    private void givenAccount(Account account) {
+        when(accountRepository.existsById(account.accountId())).thenReturn(true);
+        when(accountRepository.findById(account.accountId())).thenReturn(Optional.of(account));
+        when(accountRepository.update(eq(account.accountId()), any())).thenAnswer(invocation -> {
+            UnaryOperator<Account> updater = invocation.getArgument(1);
+            return Optional.of(updater.apply(account));
+        });
+        when(accountRepository.credit(eq(account.accountId()), anyLong())).thenCallRealMethod();
+    }
+
+    private void givenMissingAccount(String accountId) {
+        when(accountRepository.existsById(accountId)).thenReturn(false);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        when(accountRepository.update(eq(accountId), any())).thenReturn(Optional.empty());
+        when(accountRepository.credit(eq(accountId), anyLong())).thenCallRealMethod();
     }
 
     @Test
@@ -42,8 +112,8 @@ class TransferUseCaseTest {
         Account fromAccount = new Account(fromAccountId, "John Doe", new BigDecimal("500.00"));
         Account toAccount = new Account(toAccountId, "Jane Smith", new BigDecimal("300.00"));
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        givenAccount(fromAccount);
+        givenAccount(toAccount);
         
         TransferRequest request = new TransferRequest(fromAccountId, toAccountId, transferAmount);
 
@@ -57,8 +127,156 @@ class TransferUseCaseTest {
         assertEquals(new BigDecimal("400.00"), transferResult.fromAccount().balance());
         assertEquals(new BigDecimal("400.00"), transferResult.toAccount().balance());
         
-        verify(accountRepository, times(1)).save(transferResult.fromAccount());
-        verify(accountRepository, times(1)).save(transferResult.toAccount());
+        verify(accountRepository, times(1)).update(eq(transferResult.fromAccount().accountId()), any());
+        verify(accountRepository, times(1)).update(eq(transferResult.toAccount().accountId()), any());
+    }
+
+    @Test
+    void shouldJournalTransferAndFlushBeforeReturning() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        givenAccount(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+
+        // When
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+
+        // Then
+        InOrder inOrder = inOrder(journal);
+        inOrder.verify(journal).append(argThat(entry -> entry.type() == JournalEntry.Type.TRANSFER
+            && entry.accountId().equals("ACC001")
+            && entry.counterpartyId().equals("ACC002")
+            && entry.amountCents() == 10_000L));
+        inOrder.verify(journal).flush();
+    }
+
+    @Test
+    void shouldRecordBothTransferLegsInHistory() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        givenAccount(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+
+        // When
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+
+        // Then
+        AccountTransaction outgoing = history.findPage("ACC001", null, 10).transactions().get(0);
+        assertEquals(AccountTransaction.Type.TRANSFER_OUT, outgoing.type());
+        assertEquals("ACC002", outgoing.counterpartyId());
+        assertEquals(new BigDecimal("400.00"), outgoing.balanceAfter());
+        AccountTransaction incoming = history.findPage("ACC002", null, 10).transactions().get(0);
+        assertEquals(AccountTransaction.Type.TRANSFER_IN, incoming.type());
+        assertEquals(new BigDecimal("100.00"), incoming.amount());
+        assertEquals(new BigDecimal("400.00"), incoming.balanceAfter());
+    }
+
+    @Test
+    void shouldTimeOperationsByTypeAndOutcome() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        givenAccount(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+        givenMissingAccount("NONEXISTENT");
+
+        // When
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+        transferUseCase.execute(new TransferRequest(null, "ACC002", new BigDecimal("25.50")));
+        assertThrows(InsufficientFundsException.class,
+            () -> transferUseCase.execute(new TransferRequest("ACC001", null, new BigDecimal("900.00"))));
+        assertThrows(AccountNotFoundException.class,
+            () -> transferUseCase.execute(new TransferRequest("NONEXISTENT", "ACC002", new BigDecimal("1.00"))));
+
+        // Then
+        assertEquals(1, operationCount("transfer", "success"));
+        assertEquals(1, operationCount("deposit", "success"));
+        assertEquals(1, operationCount("withdrawal", "insufficient_funds"));
+        assertEquals(1, operationCount("transfer", "not_found"));
+        assertEquals(0, operationCount("withdrawal", "success"));
+        assertEquals(100.0, meterRegistry.get("bank.operations.amount").tag("type", "transfer").functionCounter().count());
+        assertEquals(25.5, meterRegistry.get("bank.operations.amount").tag("type", "deposit").functionCounter().count());
+    }
+
+    private long operationCount(String type, String outcome) {
+        return (long) meterRegistry.get("bank.operations").tag("type", type).tag("outcome", outcome).functionTimer().count();
+    }
+
+    @Test
+    void shouldNotJournalRejectedOperations() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("50.00")));
+
+        // When
+        assertThrows(InsufficientFundsException.class,
+            () -> transferUseCase.execute(new TransferRequest("ACC001", null, new BigDecimal("60.00"))));
+
+        // Then
+        verify(journal, never()).append(any());
+        assertTrue(history.findPage("ACC001", null, 10).transactions().isEmpty());
+    }
+
+    @Test
+    void shouldReturnDeclinedWithdrawalWithoutThrowingOrFlushing() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("50.00")));
+
+        // When
+        TransferAttempt attempt = transferUseCase.attempt(new TransferRequest("ACC001", null, new BigDecimal("60.00")));
+
+        // Then
+        assertFalse(attempt.succeeded());
+        assertEquals(TransferFailure.insufficientFunds("ACC001", 6_000L, 5_000L), attempt.failure());
+        assertThrows(InsufficientFundsException.class, attempt::orElseThrow);
+        verify(journal, never()).append(any());
+        verify(journal, never()).flush();
+        assertEquals(1, operationCount("withdrawal", "insufficient_funds"));
+    }
+
+    @Test
+    void shouldReturnUnknownTransferDestinationWithoutMovingMoney() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+
+        // When
+        TransferAttempt attempt = useCase.attempt(new TransferRequest("ACC001", "ACC999", new BigDecimal("100.00")));
+
+        // Then
+        assertEquals(TransferFailure.accountNotFound("ACC999"), attempt.failure());
+        assertEquals("Account not found with ID: ACC999", attempt.failure().message());
+        assertEquals(new BigDecimal("500.00"), repository.findById("ACC001").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldFormatDeclineMessagesAsTheThrowingApiWould() {
+        // Given
+        TransferFailure missing = TransferFailure.accountNotFound("ACC999");
+        TransferFailure overdrawn = TransferFailure.insufficientFunds("ACC001", 10005L, 7L);
+
+        // When & Then
+        assertEquals(missing.toException().getMessage(), missing.message());
+        assertEquals(overdrawn.toException().getMessage(), overdrawn.message());
+        assertEquals("Insufficient funds in account ACC001. Requested: 100.05, Available: 0.07", overdrawn.message());
+    }
+
+    @Test
+    void shouldListAccountsByBalanceAfterTransfersAndRolledBackBatches() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        BalanceIndex index = new BalanceIndex(repository, true, 0);
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), index, new BankAggregates(repository));
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        repository.save(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+        index.markChanged("ACC001");
+        index.markChanged("ACC002");
+
+        // When
+        useCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("250.00")));
+        useCase.executeBatch(List.of(
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("500.00")),
+            new TransferRequest("ACC001", null, new BigDecimal("10000.00"))), true);
+
+        // Then
+        assertEquals(List.of("ACC002", "ACC001"), index.top(10));
+        assertEquals(List.of("ACC001"), index.range(25_000L, 25_000L, 10));
     }
 
     @Test
@@ -68,7 +286,7 @@ class TransferUseCaseTest {
         String toAccountId = "ACC002";
         BigDecimal transferAmount = new BigDecimal("100.00");
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
+        givenMissingAccount(fromAccountId);
         
         TransferRequest request = new TransferRequest(fromAccountId, toAccountId, transferAmount);
 
@@ -89,8 +307,8 @@ class TransferUseCaseTest {
         
         Account fromAccount = new Account(fromAccountId, "John Doe", new BigDecimal("500.00"));
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.empty());
+        givenAccount(fromAccount);
+        givenMissingAccount(toAccountId);
         
         TransferRequest request = new TransferRequest(fromAccountId, toAccountId, transferAmount);
 
@@ -112,8 +330,8 @@ class TransferUseCaseTest {
         Account fromAccount = new Account(fromAccountId, "John Doe", new BigDecimal("500.00"));
         Account toAccount = new Account(toAccountId, "Jane Smith", new BigDecimal("300.00"));
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        givenAccount(fromAccount);
+        givenAccount(toAccount);
         
         TransferRequest request = new TransferRequest(fromAccountId, toAccountId, transferAmount);
 
@@ -134,7 +352,7 @@ class TransferUseCaseTest {
         
         Account toAccount = new Account(toAccountId, "Jane Smith", new BigDecimal("300.00"));
         
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        givenAccount(toAccount);
         
         TransferRequest request = new TransferRequest(null, toAccountId, depositAmount);
 
@@ -148,7 +366,7 @@ class TransferUseCaseTest {
         assertNull(transferResult.fromAccount());
         assertEquals(new BigDecimal("450.00"), transferResult.toAccount().balance());
         
-        verify(accountRepository, times(1)).save(transferResult.toAccount());
+        verify(accountRepository, times(1)).update(eq(transferResult.toAccount().accountId()), any());
     }
 
     @Test
@@ -159,7 +377,7 @@ class TransferUseCaseTest {
         
         Account fromAccount = new Account(fromAccountId, "John Doe", new BigDecimal("500.00"));
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        givenAccount(fromAccount);
         
         TransferRequest request = new TransferRequest(fromAccountId, "", withdrawalAmount);
 
@@ -173,7 +391,7 @@ class TransferUseCaseTest {
         assertEquals(new BigDecimal("300.00"), transferResult.fromAccount().balance());
         assertNull(transferResult.toAccount());
         
-        verify(accountRepository, times(1)).save(transferResult.fromAccount());
+        verify(accountRepository, times(1)).update(eq(transferResult.fromAccount().accountId()), any());
     }
 
     @Test
@@ -184,7 +402,7 @@ class TransferUseCaseTest {
         
         Account fromAccount = new Account(fromAccountId, "John Doe", new BigDecimal("500.00"));
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        givenAccount(fromAccount);
         
         TransferRequest request = new TransferRequest(fromAccountId, null, withdrawalAmount);
 
@@ -203,7 +421,7 @@ class TransferUseCaseTest {
         String toAccountId = "NONEXISTENT";
         BigDecimal depositAmount = new BigDecimal("100.00");
         
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.empty());
+        givenMissingAccount(toAccountId);
         
         TransferRequest request = new TransferRequest(null, toAccountId, depositAmount);
 
@@ -221,7 +439,7 @@ class TransferUseCaseTest {
         String fromAccountId = "NONEXISTENT";
         BigDecimal withdrawalAmount = new BigDecimal("100.00");
         
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
+        givenMissingAccount(fromAccountId);
         
         TransferRequest request = new TransferRequest(fromAccountId, "", withdrawalAmount);
 
@@ -232,4 +450,285 @@ class TransferUseCaseTest {
         assertEquals("Account not found with ID: " + fromAccountId, exception.getMessage());
         assertEquals(fromAccountId, exception.getAccountId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReportPerItemOutcomesForNonAtomicBatch() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        repository.save(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        List<TransferRequest> requests = List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")),
+            new TransferRequest("ACC001", "ACC999", new BigDecimal("10.00")),
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("1000.00")),
+            new TransferRequest(null, "ACC002", new BigDecimal("5.00")));
+
+        // When
+        BatchTransferResult result = useCase.executeBatch(requests, false);
+
+        // Then
+        assertFalse(result.atomic());
+        assertEquals(2, result.succeeded());
+        assertEquals(2, result.failed());
+        assertEquals(TransferOutcome.Status.SUCCEEDED, result.results().get(0).status());
+        assertEquals("Account Not Found", result.results().get(1).error());
+        assertEquals("Insufficient Funds", result.results().get(2).error());
+        assertEquals(TransferOutcome.Status.SUCCEEDED, result.results().get(3).status());
+        assertEquals(new BigDecimal("400.00"), repository.findById("ACC001").orElseThrow().balance());
+        assertEquals(new BigDecimal("405.00"), repository.findById("ACC002").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldRollBackAtomicBatchWhenAnItemFails() {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        repository.save(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        List<TransferRequest> requests = List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")),
+            new TransferRequest(null, "ACC001", new BigDecimal("50.00")),
+            new TransferRequest("ACC002", null, new BigDecimal("1000.00")),
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("1.00")));
+
+        // When
+        BatchTransferResult result = useCase.executeBatch(requests, true);
+
+        // Then
+        assertTrue(result.atomic());
+        assertEquals(0, result.succeeded());
+        assertEquals(List.of(TransferOutcome.Status.ROLLED_BACK, TransferOutcome.Status.ROLLED_BACK,
+                TransferOutcome.Status.FAILED, TransferOutcome.Status.NOT_ATTEMPTED),
+            result.results().stream().map(TransferOutcome::status).toList());
+        assertEquals(new BigDecimal("500.00"), repository.findById("ACC001").orElseThrow().balance());
+        assertEquals(new BigDecimal("300.00"), repository.findById("ACC002").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldApplyAtomicBatchAsSingleJournalRecordAndFlushOnce() {
+        // Given
+        givenAccount(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        givenAccount(new Account("ACC002", "Jane Smith", new BigDecimal("300.00")));
+        List<TransferRequest> requests = List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")),
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("20.00")));
+
+        // When
+        BatchTransferResult result = transferUseCase.executeBatch(requests, true);
+
+        // Then
+        assertEquals(2, result.succeeded());
+        verify(journal, times(1)).record(any());
+        verify(journal, times(2)).append(any());
+        verify(journal, times(1)).flush();
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBatch() {
+        // Given
+        List<TransferRequest> oversized = Collections.nCopies(TransferUseCase.MAX_BATCH_SIZE + 1,
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("1.00")));
+
+        List<TransferRequest> withMissingItem = Arrays.asList(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("1.00")), null);
+
+        // When & Then
+        assertThrows(InvalidTransactionException.class, () -> transferUseCase.executeBatch(List.of(), false));
+        assertThrows(InvalidTransactionException.class, () -> transferUseCase.executeBatch(oversized, true));
+        assertThrows(InvalidTransactionException.class, () -> transferUseCase.executeBatch(withMissingItem, true));
+        assertThrows(InvalidTransactionException.class, () -> transferUseCase.executeBatch(withMissingItem, false));
+        verifyNoInteractions(journal);
+    }
+
+    @Test
+    void shouldJournalCreditsBeforeAWithdrawalCanSpendThem() {
+        // Given
+        List<JournalEntry> journaled = new ArrayList<>();
+        AccountJournal recording = new AccountJournal() {
+            @Override
+            public void append(JournalEntry entry) {
+                journaled.add(entry);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public <T> T record(Supplier<T> mutation) {
+                return mutation.get();
+            }
+        };
+        TransferUseCase[] useCase = new TransferUseCase[1];
+        AccountRepository repository = new AccountRepository() {
+            @Override
+            public Optional<Account> credit(String accountId, long amountCents) {
+                Optional<Account> credited = super.credit(accountId, amountCents);
+                // A concurrent withdrawal spends the credit before the credit's operation returns
+                if (accountId.equals("ACC001")) {
+                    useCase[0].execute(new TransferRequest("ACC001", null, Money.fromCents(amountCents)));
+                }
+                return credited;
+            }
+        };
+        repository.save(new Account("ACC001", "John Doe", 0L));
+        repository.save(new Account("ACC002", "Jane Smith", 10_000L));
+        useCase[0] = new TransferUseCase(repository, new AccountLockStripes(16), recording, new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+
+        // When
+        useCase[0].execute(new TransferRequest(null, "ACC001", new BigDecimal("10.00")));
+        useCase[0].execute(new TransferRequest("ACC002", "ACC001", new BigDecimal("20.00")));
+        useCase[0].executeBatch(List.of(new TransferRequest("ACC002", "ACC001", new BigDecimal("30.00"))), true);
+
+        // Then
+        List<JournalEntry.Type> types = journaled.stream().map(JournalEntry::type).toList();
+        assertEquals(List.of(JournalEntry.Type.DEPOSIT, JournalEntry.Type.WITHDRAWAL,
+            JournalEntry.Type.TRANSFER, JournalEntry.Type.WITHDRAWAL,
+            JournalEntry.Type.TRANSFER, JournalEntry.Type.WITHDRAWAL), types);
+        long balance = 0;
+        for (JournalEntry entry : journaled) {
+            if (entry.type() == JournalEntry.Type.WITHDRAWAL) {
+                balance -= entry.amountCents();
+            } else {
+                balance += entry.amountCents();
+            }
+            assertTrue(balance >= 0, "Every prefix of the journal replays ACC001 without overdrawing it");
+        }
+        assertEquals(0, repository.findById("ACC001").orElseThrow().balanceCents());
+    }
+
+    @Test
+    void shouldJournalReversalWhenJournaledCreditOverflows() {
+        // Given
+        List<JournalEntry> journaled = new ArrayList<>();
+        doAnswer(invocation -> journaled.add(invocation.getArgument(0))).when(journal).append(any());
+        givenAccount(new Account("ACC001", "John Doe", 10_000L));
+        givenAccount(new Account("ACC002", "Jane Smith", Long.MAX_VALUE - 1));
+
+        // When
+        assertThrows(InvalidTransactionException.class,
+            () -> transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("1.00"))));
+
+        // Then
+        assertEquals(List.of("ACC001->ACC002:100", "ACC002->ACC001:100"), journaled.stream()
+            .map(entry -> entry.accountId() + "->" + entry.counterpartyId() + ":" + entry.amountCents()).toList());
+        assertTrue(journaled.stream().allMatch(entry -> entry.type() == JournalEntry.Type.TRANSFER));
+    }
+
+    @Test
+    void shouldJournalUndoOfAtomicBatchWhoseCreditFailsAfterJournaling() {
+        // Given
+        List<JournalEntry> journaled = new ArrayList<>();
+        doAnswer(invocation -> journaled.add(invocation.getArgument(0))).when(journal).append(any());
+        givenAccount(new Account("ACC001", "John Doe", 10_000L));
+        givenAccount(new Account("ACC002", "Jane Smith", 0L));
+        // Deposits outside the batch took the destination to the limit after the batch decided
+        when(accountRepository.credit(eq("ACC002"), anyLong())).thenThrow(new ArithmeticException("long overflow"));
+
+        // When
+        BatchTransferResult result = transferUseCase.executeBatch(
+            List.of(new TransferRequest("ACC001", "ACC002", new BigDecimal("1.00"))), true);
+
+        // Then
+        assertEquals(0, result.succeeded());
+        assertEquals(List.of("TRANSFER ACC001->ACC002:100", "WITHDRAWAL ACC002->null:100", "DEPOSIT ACC001->null:100"),
+            journaled.stream().map(entry -> entry.type() + " " + entry.accountId() + "->" + entry.counterpartyId()
+                + ":" + entry.amountCents()).toList());
+    }
+
+    @Test
+    void shouldKeepAtomicBatchAllOrNothingWhileWithdrawalsRace() throws Exception {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", 0L));
+        repository.save(new Account("ACC002", "Jane Smith", 100_000_000L));
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        // Credits ACC001 and then fails, so it must never leave ACC001 credited
+        List<TransferRequest> failing = List.of(
+            new TransferRequest("ACC002", "ACC001", new BigDecimal("1.00")),
+            new TransferRequest("ACC002", null, new BigDecimal("2000000.00")));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong withdrawn = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        List<Future<?>> withdrawals = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            withdrawals.add(executor.submit(() -> {
+                while (running.get()) {
+                    if (useCase.attempt(new TransferRequest("ACC001", null, new BigDecimal("0.01"))).succeeded()) {
+                        withdrawn.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                BatchTransferResult result = useCase.executeBatch(failing, true);
+
+                // Then
+                assertEquals(0, result.succeeded());
+                assertEquals(TransferOutcome.Status.ROLLED_BACK, result.results().get(0).status());
+                assertEquals("Insufficient Funds", result.results().get(1).error());
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> withdrawal : withdrawals) {
+                withdrawal.get();
+            }
+            executor.shutdown();
+        }
+        assertEquals(0, withdrawn.get(), "No withdrawal saw a credit of a batch that failed");
+        assertEquals(0, repository.findById("ACC001").orElseThrow().balanceCents());
+        assertEquals(100_000_000L, repository.findById("ACC002").orElseThrow().balanceCents());
+    }
+
+    @Test
+    void shouldCommitAtomicBatchWhileWithdrawalsRaceOnItsAccounts() throws Exception {
+        // Given
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", 1_000_000L));
+        repository.save(new Account("ACC002", "Jane Smith", 1_000_000L));
+        TransferUseCase useCase = new TransferUseCase(repository, new AccountLockStripes(16), new NoOpAccountJournal(), new TransactionHistory(16), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        List<TransferRequest> batch = List.of(
+            new TransferRequest("ACC001", "ACC002", new BigDecimal("3.00")),
+            new TransferRequest("ACC002", null, new BigDecimal("1.00")),
+            new TransferRequest(null, "ACC001", new BigDecimal("2.00")));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong withdrawn = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        int committed = 0;
+
+        // When
+        List<Future<?>> withdrawals = new ArrayList<>();
+        for (String accountId : List.of("ACC001", "ACC002")) {
+            withdrawals.add(executor.submit(() -> {
+                while (running.get()) {
+                    if (useCase.attempt(new TransferRequest(accountId, null, new BigDecimal("0.01"))).succeeded()) {
+                        withdrawn.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                BatchTransferResult result = useCase.executeBatch(batch, true);
+                assertTrue(result.succeeded() == 3 || result.succeeded() == 0, "A batch is applied whole or not at all");
+                committed += result.succeeded() / 3;
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> withdrawal : withdrawals) {
+                withdrawal.get();
+            }
+            executor.shutdown();
+        }
+
+        // Then
+        long total = repository.findById("ACC001").orElseThrow().balanceCents()
+            + repository.findById("ACC002").orElseThrow().balanceCents();
+        assertEquals(2_000_000L + 100L * committed - withdrawn.get(), total,
+            "Every committed batch adds its net deposit of 1.00 and every withdrawal takes 0.01");
+    }
+}
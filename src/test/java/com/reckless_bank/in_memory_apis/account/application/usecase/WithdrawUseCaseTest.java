@@ -165,6 +165,24 @@ class WithdrawUseCaseTest {
         assertEquals("Transaction amount must be positive", exception.getMessage());
     }
 
+    @Test
+    void shouldCarryCentsConvertedOnceFromRequestToTransfer() {
+        // Given
+        String accountId = "ACC001";
+        TransactionRequest request = new TransactionRequest(new BigDecimal("12.3"));
+        when(transferUseCase.execute(any(TransferRequest.class)))
+            .thenReturn(Optional.of(new TransferResult(new Account(accountId, "John Doe", 0L), null)));
+
+        // When
+        withdrawUseCase.execute(accountId, request);
+
+        // Then
+        assertEquals(1230L, request.amountCents());
+        verify(transferUseCase).execute(new TransferRequest(accountId, null, 1230L));
+        assertEquals(new BigDecimal("12.30"), request.amount());
+        assertThrows(IllegalArgumentException.class, () -> new TransactionRequest(new BigDecimal("0.001")));
+    }
+
     @Test
     void shouldPropagateUnexpectedExceptionFromTransferUseCase() {
         // Given
@@ -0,0 +1,49 @@
+package com.reckless_bank.in_memory_apis.account.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertDecimalAmountsToCents() {
+        assertEquals(12345L, Money.toCents(new BigDecimal("123.45")));
+        assertEquals(10000L, Money.toCents(new BigDecimal("100")));
+        assertEquals(10L, Money.toCents(new BigDecimal("0.100")));
+    }
+
+    @Test
+    void shouldConvertCentsBackWithTwoDecimalPlaces() {
+        assertEquals(new BigDecimal("123.45"), Money.fromCents(12345L));
+        assertEquals(new BigDecimal("0.00"), Money.fromCents(0L));
+    }
+
+    @Test
+    void shouldFormatCentsAsTheDecimalWouldPrint() {
+        for (long cents : new long[] {0L, 5L, 10L, 99L, 100L, 12345L, -5L, -12345L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(Money.fromCents(cents).toString(), Money.toPlainString(cents));
+        }
+    }
+
+    @Test
+    void shouldRejectAmountsFinerThanACent() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void shouldRejectAmountsOutsideLongRange() {
+        BigDecimal tooLarge = Money.fromCents(Long.MAX_VALUE).add(BigDecimal.ONE);
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(tooLarge));
+    }
+
+    @Test
+    void shouldThrowArithmeticExceptionWhenDepositOverflowsBalance() {
+        Account account = new Account("ACC001", "John Doe", Long.MAX_VALUE - 1);
+
+        assertThrows(ArithmeticException.class, () -> account.deposit(2L));
+        assertEquals(Long.MAX_VALUE, account.deposit(1L).balanceCents());
+    }
+}
@@ -0,0 +1,114 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountIdGeneratorTest {
+
+    @Test
+    void sequentialIdsKeepTheLegacyFormat() {
+        AccountIdGenerator generator = new SequentialAccountIdGenerator("ACC", null);
+
+        assertEquals("ACC001", generator.nextId());
+        assertEquals("ACC002", generator.nextId());
+
+        generator.observe("ACC999");
+        assertEquals("ACC1000", generator.nextId(), "Sequences outgrow the padding");
+
+        generator.observe("TEST5000");
+        generator.observe("ACC12X");
+        assertEquals("ACC1001", generator.nextId(), "Foreign IDs are ignored");
+
+        generator.reset();
+        assertEquals("ACC001", generator.nextId());
+    }
+
+    @Test
+    void nodePrefixSeparatesSequentialNamespaces() {
+        AccountIdGenerator first = new SequentialAccountIdGenerator("ACC", "A");
+        AccountIdGenerator second = new SequentialAccountIdGenerator("ACC", "B");
+
+        assertEquals("ACCA-001", first.nextId());
+        assertEquals("ACCB-001", second.nextId());
+
+        first.observe("ACCB-050");
+        assertEquals("ACCA-002", first.nextId(), "Other nodes' IDs do not advance this sequence");
+    }
+
+    @Test
+    void timeOrderedIdsSortByCreationTime() {
+        AtomicLong clock = new AtomicLong(TimeOrderedAccountIdGenerator.EPOCH_MILLIS + 1_000);
+        AccountIdGenerator generator = new TimeOrderedAccountIdGenerator("ACC", 7, clock::get);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) { // Exhausts the 4096 sequences of a millisecond
+            ids.add(generator.nextId());
+        }
+        clock.addAndGet(-500); // The clock steps back
+        ids.add(generator.nextId());
+        clock.addAndGet(60_000);
+        ids.add(generator.nextId());
+
+        assertEquals(ids.size(), Set.copyOf(ids).size(), "No ID is issued twice");
+        assertEquals(ids.stream().sorted().toList(), ids, "String order matches issue order");
+        assertTrue(ids.stream().allMatch(id -> id.length() == 16 && id.startsWith("ACC")));
+    }
+
+    @Test
+    void timeOrderedGeneratorSkipsPastObservedIds() {
+        AtomicLong clock = new AtomicLong(TimeOrderedAccountIdGenerator.EPOCH_MILLIS + 1_000);
+        AccountIdGenerator earlier = new TimeOrderedAccountIdGenerator("ACC", 3, clock::get);
+        clock.addAndGet(5_000);
+        String restored = earlier.nextId();
+
+        clock.addAndGet(-5_000); // A restarted node whose clock is behind
+        AccountIdGenerator restarted = new TimeOrderedAccountIdGenerator("ACC", 3, clock::get);
+        restarted.observe(restored);
+
+        assertTrue(restarted.nextId().compareTo(restored) > 0);
+        assertThrows(IllegalArgumentException.class,
+            () -> new TimeOrderedAccountIdGenerator("ACC", TimeOrderedAccountIdGenerator.MAX_NODE + 1));
+    }
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameId() throws Exception {
+        for (AccountIdGenerator generator : List.of(
+                new SequentialAccountIdGenerator("ACC", null),
+                new TimeOrderedAccountIdGenerator("ACC", 1))) {
+            int threads = 64;
+            int idsPerThread = 5_000;
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertEquals(threads * idsPerThread, ids.size(),
+                generator.getClass().getSimpleName() + " should never issue a duplicate ID");
+        }
+    }
+}
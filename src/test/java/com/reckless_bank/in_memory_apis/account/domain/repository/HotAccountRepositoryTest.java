@@ -0,0 +1,96 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository contract with the accounts it uses configured as hot, plus the
+ * behaviour specific to striped balances.
+ */
+class HotAccountRepositoryTest extends IAccountRepositoryContractTest {
+
+    private static final String[] HOT_ACCOUNT_IDS = {"TEST001", "UPD001", "HOT001", "HOT002"};
+
+    @Override
+    protected IAccountRepository createRepository() {
+        return newRepository();
+    }
+
+    private static AccountRepository newRepository() {
+        return new AccountRepository(new SequentialAccountIdGenerator("ACC", null), HOT_ACCOUNT_IDS, 4);
+    }
+
+    @Test
+    void shouldIncludeCreditsInEveryRead() {
+        AccountRepository repository = newRepository();
+        repository.save(new Account("HOT002", "Merchant", new BigDecimal("10.00")));
+
+        Account credited = repository.credit("HOT002", 250L).orElseThrow();
+
+        assertEquals(new BigDecimal("12.50"), credited.balance());
+        assertEquals(new BigDecimal("12.50"), repository.findById("HOT002").orElseThrow().balance());
+        assertEquals(new BigDecimal("12.50"), repository.findAll().get("HOT002").balance());
+        assertEquals(new BigDecimal("12.50"), repository.findPage(null, 10).accounts().get(0).balance());
+    }
+
+    @Test
+    void shouldDrawWithdrawalsFromCredits() {
+        AccountRepository repository = newRepository();
+        repository.save(new Account("HOT002", "Merchant", BigDecimal.ZERO));
+        repository.credit("HOT002", 700L);
+        repository.credit("HOT002", 300L);
+
+        Account withdrawn = repository.update("HOT002", account -> account.withdraw(1_000L)).orElseThrow();
+
+        assertEquals(0L, withdrawn.balanceCents());
+        assertEquals(0L, repository.findById("HOT002").orElseThrow().balanceCents());
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.update("HOT002", account -> account.withdraw(1L)));
+    }
+
+    @Test
+    void shouldCompareReplaceAgainstCreditedBalance() {
+        AccountRepository repository = newRepository();
+        Account saved = repository.save(new Account("HOT002", "Merchant", new BigDecimal("10.00")));
+        Account credited = repository.credit("HOT002", 100L).orElseThrow();
+        Account replacement = new Account("HOT002", "Merchant", new BigDecimal("1.00"));
+
+        assertFalse(repository.replace(saved, replacement), "Credits make the saved state stale");
+        assertTrue(repository.replace(credited, replacement));
+        assertEquals(new BigDecimal("1.00"), repository.findById("HOT002").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldDropCreditsWhenAccountIsSavedAgainOrDeleted() {
+        AccountRepository repository = newRepository();
+        repository.save(new Account("HOT002", "Merchant", BigDecimal.ZERO));
+        repository.credit("HOT002", 500L);
+
+        repository.save(new Account("HOT002", "Merchant", new BigDecimal("2.00")));
+        assertEquals(200L, repository.findById("HOT002").orElseThrow().balanceCents());
+
+        repository.credit("HOT002", 500L);
+        repository.deleteById("HOT002");
+        repository.save(new Account("HOT002", "Merchant", BigDecimal.ZERO));
+        assertEquals(0L, repository.findById("HOT002").orElseThrow().balanceCents());
+    }
+
+    @Test
+    void shouldRejectCreditsThatWouldOverflow() {
+        AccountRepository repository = newRepository();
+        repository.save(new Account("HOT002", "Merchant", Long.MAX_VALUE - 10));
+
+        assertThrows(ArithmeticException.class, () -> repository.credit("HOT002", 11L));
+        assertEquals(Long.MAX_VALUE - 10, repository.findById("HOT002").orElseThrow().balanceCents());
+    }
+
+    @Test
+    void shouldRejectCellCountsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AccountRepository(new SequentialAccountIdGenerator("ACC", null), HOT_ACCOUNT_IDS, 3));
+    }
+}
@@ -1,12 +1,19 @@
 package com.reckless_bank.in_memory_apis.account.domain.repository;
 
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,11 +27,19 @@ public class IAccountRepositoryContractTest {
 
     @BeforeEach
     void setUp() {
-        // Using the singleton instance for testing
-        repository = AccountRepository.getInstance();
+        repository = createRepository();
         repository.clear(); // Start with clean state
     }
 
+    /**
+     * Supplies the implementation under test; subclasses override this to run
+     * the same contract against another repository.
+     */
+    protected IAccountRepository createRepository() {
+        // Using the singleton instance for testing
+        return AccountRepository.getInstance();
+    }
+
     @Test
     public void testRepositoryContractCompliance() {
         // Verify the repository starts empty
@@ -118,4 +133,177 @@ public class IAccountRepositoryContractTest {
         // Clean up
         repository.clear();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAtomicUpdateOperations() {
+        Account original = repository.save(new Account("UPD001", "Update User", new BigDecimal("100.00")));
+        
+        // update applies the function to the stored account
+        Optional<Account> updated = repository.update("UPD001", account -> account.deposit(5_000L));
+        assertTrue(updated.isPresent(), "Existing account should be updated");
+        assertEquals(new BigDecimal("150.00"), repository.findById("UPD001").get().balance());
+        
+        // update of a missing account does nothing
+        assertTrue(repository.update("MISSING", account -> account).isEmpty(), "Missing account should not be created");
+        assertFalse(repository.existsById("MISSING"));
+        
+        // a failing updater leaves the account unchanged
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.update("UPD001", account -> account.withdraw(100_000L)));
+        assertEquals(new BigDecimal("150.00"), repository.findById("UPD001").get().balance());
+        
+        // replace only succeeds against the current state
+        Account replacement = new Account("UPD001", "Update User", new BigDecimal("10.00"));
+        assertFalse(repository.replace(original, replacement), "Stale expected state should not be replaced");
+        assertTrue(repository.replace(updated.get(), replacement), "Current expected state should be replaced");
+        assertEquals(new BigDecimal("10.00"), repository.findById("UPD001").get().balance());
+        
+        repository.clear();
+    }
+
+    @Test
+    public void testConcurrentUpdatesDoNotLoseDeposits() throws Exception {
+        repository.save(new Account("HOT001", "Hot User", BigDecimal.ZERO));
+        
+        int threads = 8;
+        int depositsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < depositsPerThread; i++) {
+                    repository.update("HOT001", account -> account.deposit(1L));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        assertEquals((long) threads * depositsPerThread, repository.findById("HOT001").get().balanceCents(),
+            "Every concurrent deposit should be applied exactly once");
+        
+        repository.clear();
+    }
+
+    @Test
+    public void testConcurrentCreditsAndWithdrawalsBalanceExactly() throws Exception {
+        repository.save(new Account("HOT001", "Hot User", BigDecimal.ZERO));
+        assertTrue(repository.credit("MISSING", 1L).isEmpty(), "Missing account should not be credited");
+        
+        int threads = 8;
+        int callsPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> withdrawals = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            boolean crediting = t % 2 == 0;
+            withdrawals.add(executor.submit(() -> {
+                int withdrawn = 0;
+                for (int i = 0; i < callsPerThread; i++) {
+                    if (crediting) {
+                        repository.credit("HOT001", 1L);
+                        continue;
+                    }
+                    try {
+                        repository.update("HOT001", account -> account.withdraw(1L));
+                        withdrawn++;
+                    } catch (IllegalArgumentException ex) {
+                        // Insufficient funds at that moment
+                    }
+                }
+                return withdrawn;
+            }));
+        }
+        long withdrawn = 0;
+        for (Future<Integer> future : withdrawals) {
+            withdrawn += future.get();
+        }
+        executor.shutdown();
+        
+        long credited = (long) (threads / 2) * callsPerThread;
+        assertEquals(credited - withdrawn, repository.findById("HOT001").get().balanceCents(),
+            "Every credit and every successful withdrawal should be applied exactly once");
+        assertEquals(credited - withdrawn, repository.findAll().get("HOT001").balanceCents());
+        
+        repository.clear();
+    }
+
+    @Test
+    public void testConcurrentAccountCreationNeverReusesAnId() throws Exception {
+        repository.save(new Account("ACC005", "Restored User", BigDecimal.ZERO));
+        
+        int threads = 32;
+        int accountsPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < accountsPerThread; i++) {
+                    repository.save(new Account(repository.generateNextAccountId(), "Concurrent User", 0L));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        assertEquals(threads * accountsPerThread + 1, repository.count(),
+            "Every concurrently created account should get its own ID");
+        assertEquals(0L, repository.findById("ACC005").get().balanceCents(), "Saved IDs are never reissued");
+        
+        repository.clear();
+        assertEquals("ACC001", repository.generateNextAccountId(), "Clearing the store restarts the sequence");
+        repository.clear();
+    }
+
+    @Test
+    public void testFindPageVisitsEveryAccountOnceInStableOrder() {
+        for (int i = 0; i < 25; i++) {
+            repository.save(new Account(String.format("PAGE%03d", i), "Page User " + i, new BigDecimal("1.00")));
+        }
+        repository.deleteById("PAGE007");
+        
+        // Walk the store in pages of 4, deleting and adding accounts along the way
+        List<String> visited = new ArrayList<>();
+        AccountPage page = repository.findPage(null, 4);
+        List<String> firstPage = page.accounts().stream().map(Account::accountId).toList();
+        visited.addAll(firstPage);
+        repository.deleteById(firstPage.get(0));
+        while (page.nextCursor() != null) {
+            page = repository.findPage(page.nextCursor(), 4);
+            assertTrue(page.accounts().size() <= 4, "Pages never exceed the limit");
+            page.accounts().forEach(account -> visited.add(account.accountId()));
+        }
+        
+        assertEquals(24, visited.size(), "Every live account is returned");
+        assertEquals(24, visited.stream().distinct().count(), "No account is returned twice");
+        assertFalse(visited.contains("PAGE007"), "Deleted accounts are skipped");
+        
+        // The same traversal again yields the same order
+        List<String> again = new ArrayList<>();
+        for (AccountPage next = repository.findPage(null, 4); ; next = repository.findPage(next.nextCursor(), 4)) {
+            next.accounts().forEach(account -> again.add(account.accountId()));
+            if (next.nextCursor() == null) {
+                break;
+            }
+        }
+        assertEquals(visited.subList(1, visited.size()), again, "Order is stable between traversals");
+        
+        repository.clear();
+    }
+    
+    @Test
+    public void testFindPageOnEmptyRepositoryHasNoNextCursor() {
+        AccountPage page = repository.findPage(null, 10);
+        
+        assertTrue(page.accounts().isEmpty(), "Empty store yields an empty page");
+        assertNull(page.nextCursor(), "There is no page after the last one");
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+    }
+}
@@ -0,0 +1,77 @@
+package com.reckless_bank.in_memory_apis.account.domain.repository;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository contract against the off-heap store, plus the
+ * behaviour specific to its fixed-width layout.
+ */
+class OffHeapAccountRepositoryTest extends IAccountRepositoryContractTest {
+
+    @Override
+    protected IAccountRepository createRepository() {
+        return new OffHeapAccountRepository(16);
+    }
+
+    @Test
+    void shouldGrowIndexAndChunksBeyondInitialCapacity() {
+        OffHeapAccountRepository repository = new OffHeapAccountRepository(16);
+        int accounts = 70_000; // More than one record chunk
+        for (int i = 0; i < accounts; i++) {
+            repository.save(new Account("ACC" + i, "Holder " + i, i));
+        }
+
+        assertEquals(accounts, repository.count());
+        for (int i = 0; i < accounts; i += 997) {
+            Account account = repository.findById("ACC" + i).orElseThrow();
+            assertEquals("Holder " + i, account.accountHolder());
+            assertEquals(i, account.balanceCents());
+        }
+    }
+
+    @Test
+    void shouldReuseSlotsAfterDeletion() {
+        OffHeapAccountRepository repository = new OffHeapAccountRepository(16);
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("10.00")));
+        long reserved = repository.reservedOffHeapBytes();
+
+        for (int i = 0; i < 1_000; i++) {
+            repository.deleteById("ACC001");
+            repository.save(new Account("ACC001", "John Doe", new BigDecimal("10.00")));
+        }
+
+        assertEquals(1, repository.count());
+        assertEquals(reserved, repository.reservedOffHeapBytes(), "Churn should not grow the store");
+        assertEquals(new BigDecimal("10.00"), repository.findById("ACC001").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldOverwriteExistingAccountOnSave() {
+        OffHeapAccountRepository repository = new OffHeapAccountRepository(16);
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("10.00")));
+        repository.save(new Account("ACC001", "John Q. Doe", new BigDecimal("20.00")));
+
+        Account account = repository.findById("ACC001").orElseThrow();
+        assertEquals(1, repository.count());
+        assertEquals("John Q. Doe", account.accountHolder());
+        assertEquals(new BigDecimal("20.00"), account.balance());
+    }
+
+    @Test
+    void shouldRejectFieldsWiderThanTheRecordLayout() {
+        OffHeapAccountRepository repository = new OffHeapAccountRepository(16);
+        String longId = "A".repeat(OffHeapAccountRepository.MAX_ID_BYTES + 1);
+        String longHolder = "H".repeat(OffHeapAccountRepository.MAX_HOLDER_BYTES + 1);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.save(new Account(longId, "John Doe", 0L)));
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.save(new Account("ACC001", longHolder, 0L)));
+        assertTrue(repository.isEmpty());
+    }
+}
@@ -0,0 +1,272 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.binary;
+
+import com.reckless_bank.in_memory_apis.InMemoryApisApplication;
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Request;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Response;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryProtocolServerTest {
+
+    private AccountRepository repository;
+    private BinaryProtocolServer server;
+
+    private BinaryProtocolClient start(boolean blockingMutations) throws Exception {
+        repository = new AccountRepository();
+        repository.save(new Account("ACC001", "John Doe", 100_000L));
+        repository.save(new Account("ACC002", "Jane Smith", 0L));
+        BankAggregates aggregates = new BankAggregates(repository);
+        TransferUseCase transferUseCase = new TransferUseCase(repository, new AccountLockStripes(16),
+            new NoOpAccountJournal(), new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(),
+            aggregates);
+        server = new BinaryProtocolServer(transferUseCase, new GetAccountBalanceUseCase(repository), 0,
+            blockingMutations, "concurrent");
+        server.start();
+        return new BinaryProtocolClient("localhost", server.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldApplyOperationsAndReturnBalances() throws Exception {
+        try (BinaryProtocolClient client = start(false)) {
+            // When
+            Response deposit = client.deposit("ACC001", 2_500);
+            Response withdrawal = client.withdraw("ACC001", 500);
+            Response transfer = client.transfer("ACC001", "ACC002", 40_000);
+            Response balance = client.balance("ACC002");
+
+            // Then
+            assertEquals(102_500, deposit.balanceCents());
+            assertEquals(102_000, withdrawal.balanceCents());
+            assertTrue(transfer.ok());
+            assertEquals(62_000, transfer.balanceCents());
+            assertEquals(40_000, transfer.counterpartyBalanceCents());
+            assertEquals(40_000, balance.balanceCents());
+            assertEquals(62_000, repository.findById("ACC001").orElseThrow().balanceCents());
+        }
+    }
+
+    @Test
+    void shouldReportDeclinesAndKeepConnectionOpen() throws Exception {
+        try (BinaryProtocolClient client = start(false)) {
+            // When
+            Response unknownAccount = client.deposit("NOPE", 100);
+            Response overdraft = client.withdraw("ACC002", 100);
+            Response sameAccount = client.transfer("ACC001", "ACC001", 100);
+            Response unknownBalance = client.balance("NOPE");
+            Response afterwards = client.deposit("ACC002", 100);
+
+            // Then
+            assertEquals(Status.NOT_FOUND, unknownAccount.status());
+            assertEquals(Status.INSUFFICIENT_FUNDS, overdraft.status());
+            assertEquals(Status.INVALID, sameAccount.status());
+            assertEquals("Cannot transfer to the same account", sameAccount.message());
+            assertEquals(Status.NOT_FOUND, unknownBalance.status());
+            assertEquals(100, afterwards.balanceCents());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldAnswerPipelinedRequestsInOrder(boolean blockingMutations) throws Exception {
+        try (BinaryProtocolClient client = start(blockingMutations)) {
+            // Given
+            List<Request> requests = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                requests.add(Request.deposit("ACC002", 1));
+                if (i % 500 == 499) {
+                    requests.add(Request.balance("ACC002"));
+                }
+            }
+
+            // When
+            List<Response> responses = client.executeAll(requests);
+
+            // Then
+            assertEquals(requests.size(), responses.size());
+            long deposits = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                Response response = responses.get(i);
+                assertTrue(response.ok());
+                if (requests.get(i).op() == BinaryProtocol.Op.DEPOSIT) {
+                    deposits++;
+                }
+                assertEquals(deposits, response.balanceCents());
+            }
+            assertEquals(2_000, repository.findById("ACC002").orElseThrow().balanceCents());
+        }
+    }
+
+    @Test
+    void shouldRollBackFailedAtomicBatch() throws Exception {
+        try (BinaryProtocolClient client = start(false)) {
+            // When
+            Response response = client.batch(List.of(
+                Request.transfer("ACC001", "ACC002", 30_000),
+                Request.withdraw("ACC002", 50_000),
+                Request.deposit("ACC002", 100)), true);
+
+            // Then
+            assertTrue(response.ok());
+            assertEquals(List.of(Status.ROLLED_BACK, Status.INSUFFICIENT_FUNDS, Status.NOT_ATTEMPTED),
+                response.items());
+            assertEquals(100_000, repository.findById("ACC001").orElseThrow().balanceCents());
+            assertEquals(0, repository.findById("ACC002").orElseThrow().balanceCents());
+        }
+    }
+
+    @Test
+    void shouldAnswerMalformedRequestAndCloseOnBadLength() throws Exception {
+        start(false).close();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.port()))) {
+            // When
+            channel.write(ByteBuffer.allocate(13).putInt(9).put((byte) 42).putInt(7).putInt(0).flip());
+            ByteBuffer response = ByteBuffer.allocate(64);
+            while (response.position() < 4 || response.position() < 4 + response.getInt(0)) {
+                assertTrue(channel.read(response) > 0);
+            }
+            channel.write(ByteBuffer.allocate(4).putInt(BinaryProtocol.MAX_FRAME_BYTES + 1).flip());
+
+            // Then
+            Response invalid = BinaryProtocol.readResponse(response.flip().position(4), false);
+            assertEquals(Status.INVALID, invalid.status());
+            assertEquals(7, invalid.correlationId());
+            assertEquals("Unknown opcode 42", invalid.message());
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldRejectOversizedAccountIdAndKeepServing(boolean blockingMutations) throws Exception {
+        start(blockingMutations).close();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.port()));
+             BinaryProtocolClient other = new BinaryProtocolClient("localhost", server.port())) {
+            // Given
+            int idBytes = 65_000;
+            ByteBuffer frame = ByteBuffer.allocate(4 + 7 + idBytes).putInt(7 + idBytes)
+                .put((byte) 4).putInt(11).putShort((short) idBytes).put("x".repeat(idBytes).getBytes());
+
+            // When
+            channel.write(frame.flip());
+            ByteBuffer response = ByteBuffer.allocate(128);
+            while (response.position() < 4 || response.position() < 4 + response.getInt(0)) {
+                assertTrue(channel.read(response) > 0);
+            }
+            Response balance = other.balance("ACC001");
+
+            // Then
+            Response invalid = BinaryProtocol.readResponse(response.flip().position(4), false);
+            assertEquals(Status.INVALID, invalid.status());
+            assertEquals(11, invalid.correlationId());
+            assertEquals("Account ID of 65000 bytes exceeds " + BinaryProtocol.MAX_ACCOUNT_ID_BYTES, invalid.message());
+            assertEquals(100_000, balance.balanceCents());
+        }
+    }
+
+    @Test
+    void shouldCutMessagesToFitTheirLengthField() {
+        // Given
+        Response failed = Response.failed(3, Status.NOT_FOUND, "é".repeat(40_000));
+
+        // When
+        ByteBuffer frame = BinaryProtocol.writeResponse(ByteBuffer.allocate(16), failed).flip();
+        Response read = BinaryProtocol.readResponse(frame.position(4), false);
+
+        // Then
+        assertEquals(Status.NOT_FOUND, read.status());
+        assertEquals("é".repeat(0xFFFF / 2), read.message());
+    }
+
+    @Test
+    void shouldOpenOnlyAfterJournalRecovery(@TempDir Path dir) throws Exception {
+        // Given
+        String[] properties = {"server.port=0", "bank.binary.enabled=true", "bank.binary.port=0",
+            "bank.journal.enabled=true", "bank.journal.path=" + dir.resolve("journal.log"),
+            "bank.snapshot.path=" + dir.resolve("snapshot.bin"), "bank.snapshot.on-shutdown=false",
+            "logging.level.root=WARN"};
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+                .properties(properties).run()) {
+            context.getBean(CreateAccountUseCase.class).execute(new CreateAccountRequest("John Doe", new BigDecimal("10.00")));
+        }
+        AtomicInteger portOnStart = new AtomicInteger();
+        AtomicLong balanceOnStart = new AtomicLong();
+
+        // When
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+                .properties(properties)
+                .listeners(event -> {
+                    if (event instanceof ApplicationStartedEvent started) {
+                        ConfigurableApplicationContext starting = started.getApplicationContext();
+                        portOnStart.set(starting.getBean(BinaryProtocolServer.class).port());
+                        balanceOnStart.set(starting.getBean(IAccountRepository.class).findById("ACC001")
+                            .orElseThrow().balanceCents());
+                    }
+                })
+                .run();
+             BinaryProtocolClient client = new BinaryProtocolClient("localhost",
+                 context.getBean(BinaryProtocolServer.class).port())) {
+            Response deposit = client.deposit("ACC001", 250);
+
+            // Then
+            assertEquals(-1, portOnStart.get(), "The listener is closed while the context starts");
+            assertEquals(1_000, balanceOnStart.get());
+            assertEquals(1_250, deposit.balanceCents());
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+                .properties(properties).run()) {
+            assertEquals(1_250, context.getBean(IAccountRepository.class).findById("ACC001").orElseThrow().balanceCents(),
+                "The binary deposit is journaled after the recovered state");
+        }
+    }
+
+    @Test
+    void shouldFailClientWhenServerStops() throws Exception {
+        try (BinaryProtocolClient client = start(false)) {
+            // When
+            server.stop();
+
+            // Then
+            assertThrows(IOException.class, () -> client.balance("ACC001"));
+        }
+    }
+}
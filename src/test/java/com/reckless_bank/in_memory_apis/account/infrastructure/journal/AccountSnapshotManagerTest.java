@@ -0,0 +1,265 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import com.reckless_bank.in_memory_apis.common.exception.RepositoryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountSnapshotManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path journalPath;
+    private Path snapshotPath;
+    private AccountRepository repository;
+    private AccountHolderIndex holderIndex;
+    private BalanceIndex balanceIndex;
+    private BankAggregates aggregates;
+    private FileAccountJournal journal;
+    private AccountSnapshotManager snapshotManager;
+    private CreateAccountUseCase createAccountUseCase;
+    private TransferUseCase transferUseCase;
+    private long replayed;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("journal.log");
+        snapshotPath = tempDir.resolve("snapshot.bin");
+        open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private void open() {
+        repository = new AccountRepository();
+        holderIndex = new AccountHolderIndex();
+        balanceIndex = new BalanceIndex(repository, true, 0);
+        journal = new FileAccountJournal(journalPath, JournalDurability.BATCH, 1);
+        aggregates = new BankAggregates(repository);
+        snapshotManager = new AccountSnapshotManager(repository, journal, holderIndex, balanceIndex, aggregates, snapshotPath, 0, false, 4);
+        createAccountUseCase = new CreateAccountUseCase(repository, journal, AccountMetrics.disabled(), holderIndex, balanceIndex, aggregates);
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(64), journal, new TransactionHistory(0), AccountMetrics.disabled(), balanceIndex, aggregates);
+    }
+
+    private Map<String, Account> restart() {
+        Map<String, Account> before = repository.findAll();
+        journal.close();
+        open();
+        replayed = snapshotManager.recover();
+        return before;
+    }
+
+    @Test
+    void shouldReplayWholeJournalWithoutSnapshot() {
+        // Given
+        createAccountUseCase.execute(new CreateAccountRequest("John Doe", new BigDecimal("500.00")));
+        createAccountUseCase.execute(new CreateAccountRequest("Jane Smith", new BigDecimal("300.00")));
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+        transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("25.50")));
+        transferUseCase.execute(new TransferRequest("ACC002", null, new BigDecimal("0.50")));
+
+        // When
+        Map<String, Account> before = restart();
+
+        // Then
+        assertEquals(before, repository.findAll());
+        assertEquals(new BigDecimal("425.50"), repository.findById("ACC001").orElseThrow().balance());
+        assertEquals(new BigDecimal("399.50"), repository.findById("ACC002").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldReplayOnlyJournalTailAfterSnapshot() {
+        // Given
+        createAccountUseCase.execute(new CreateAccountRequest("John Doe", new BigDecimal("500.00")));
+        createAccountUseCase.execute(new CreateAccountRequest("Jane Smith", new BigDecimal("300.00")));
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+        snapshotManager.snapshot();
+        createAccountUseCase.execute(new CreateAccountRequest("Bob Johnson", new BigDecimal("10.00")));
+        transferUseCase.execute(new TransferRequest("ACC002", "ACC003", new BigDecimal("50.00")));
+
+        // When
+        Map<String, Account> before = restart();
+
+        // Then
+        assertEquals(before, repository.findAll());
+        assertEquals(2, replayed, "Only the create and transfer after the snapshot are replayed");
+        assertTrue(journal.archivesAfter(0).isEmpty(), "Archives covered by the snapshot are deleted");
+    }
+
+    @Test
+    void shouldIndexHoldersOfRestoredAccounts() {
+        // Given
+        createAccountUseCase.execute(new CreateAccountRequest("John Doe", new BigDecimal("500.00")));
+        snapshotManager.snapshot();
+        createAccountUseCase.execute(new CreateAccountRequest("John Smith", new BigDecimal("10.00")));
+
+        // When
+        restart();
+
+        // Then
+        assertEquals(List.of("ACC001", "ACC002"), holderIndex.findByHolderPrefix("john", 10));
+    }
+
+    @Test
+    void shouldRebuildAggregatesFromSnapshotAndJournal() {
+        // Given
+        createAccountUseCase.execute(new CreateAccountRequest("John Doe", new BigDecimal("500.00")));
+        createAccountUseCase.execute(new CreateAccountRequest("Jane Smith", BigDecimal.ZERO));
+        snapshotManager.snapshot();
+        createAccountUseCase.execute(new CreateAccountRequest("Bob Johnson", new BigDecimal("10.00")));
+        transferUseCase.execute(new TransferRequest("ACC003", null, new BigDecimal("10.00")));
+        transferUseCase.execute(new TransferRequest("ACC001", "ACC002", new BigDecimal("100.00")));
+
+        // When
+        restart();
+
+        // Then
+        assertEquals(3, aggregates.accountCount());
+        assertEquals(2, aggregates.activeAccountCount());
+        assertEquals(50_000, aggregates.totalBalanceCents());
+    }
+
+    @Test
+    void shouldSnapshotConsistentStateWhileTransfersAreRunning() throws Exception {
+        // Given
+        int accounts = 50;
+        for (int i = 0; i < accounts; i++) {
+            createAccountUseCase.execute(new CreateAccountRequest("Holder " + i, new BigDecimal("100.00")));
+        }
+        List<String> accountIds = new ArrayList<>(repository.findAll().keySet());
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    String from = accountIds.get(random.nextInt(accounts));
+                    String to = accountIds.get(random.nextInt(accounts));
+                    if (from.equals(to)) {
+                        continue;
+                    }
+                    try {
+                        transferUseCase.execute(new TransferRequest(from, to, new BigDecimal("1.00")));
+                    } catch (InsufficientFundsException ignored) {
+                        // Expected once an account is drained
+                    }
+                }
+            }));
+        }
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            snapshotManager.snapshot();
+        }
+        running.set(false);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Map<String, Account> before = restart();
+
+        // Then
+        assertEquals(before, repository.findAll());
+        long total = repository.findAll().values().stream().mapToLong(Account::balanceCents).sum();
+        assertEquals(accounts * 10_000L, total, "Transfers conserve money across snapshot and replay");
+    }
+
+    @Test
+    void shouldKeepSnapshotIntactWhenSnapshotsOverlap() throws Exception {
+        // Given
+        for (int i = 0; i < 2_000; i++) {
+            createAccountUseCase.execute(new CreateAccountRequest("Holder " + i, new BigDecimal("100.00")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    transferUseCase.execute(new TransferRequest(null, "ACC001", new BigDecimal("1.00")));
+                    snapshotManager.snapshot();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Map<String, Account> before = restart();
+
+        // Then
+        assertEquals(before, repository.findAll());
+        assertEquals(0, replayed, "The last snapshot covers every operation");
+        assertEquals(new BigDecimal("120.00"), repository.findById("ACC001").orElseThrow().balance());
+    }
+
+    @Test
+    void shouldRefuseReplayThatOverdrawsAnAccount() {
+        // Given
+        journal.append(JournalEntry.created("ACC001", "John Doe", 0L));
+        journal.append(JournalEntry.withdrew("ACC001", 1_000L));
+        journal.flush();
+        journal.close();
+        open();
+
+        // When & Then
+        RepositoryException exception = assertThrows(RepositoryException.class, () -> snapshotManager.recover());
+        assertTrue(exception.getMessage().contains("journal replay leaves a balance of -1000 cents"), exception.getMessage());
+    }
+
+    @Test
+    void shouldLoadMultiSegmentSnapshotInParallel() throws Exception {
+        // Given
+        int accounts = 300_000;
+        List<Account> written = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            written.add(new Account("ACC" + i, "Holder " + i, i));
+        }
+        Path path = tempDir.resolve("large.bin");
+
+        // When
+        AccountSnapshotFile.write(path, written, 1234L);
+        Map<String, Account> loaded = new ConcurrentHashMap<>();
+        long position = AccountSnapshotFile.load(path, account -> loaded.put(account.accountId(), account), 4);
+
+        // Then
+        assertEquals(1234L, position);
+        assertEquals(accounts, loaded.size());
+        assertEquals(new Account("ACC299999", "Holder 299999", 299_999L), loaded.get("ACC299999"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.journal;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAccountJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(JournalDurability.class)
+    void shouldReadBackEveryAppendedEntry(JournalDurability durability) throws IOException {
+        // Given
+        Path path = tempDir.resolve("journal.log");
+        List<JournalEntry> entries = List.of(
+            JournalEntry.created("ACC001", "John Doe", 50_000L),
+            JournalEntry.deposited("ACC001", 1_000L),
+            JournalEntry.withdrew("ACC001", 250L),
+            JournalEntry.transferred("ACC001", "ACC002", 100L));
+
+        // When
+        try (FileAccountJournal journal = new FileAccountJournal(path, durability, 1)) {
+            entries.forEach(journal::append);
+            journal.flush();
+            assertEquals(entries.size(), journal.appendedEntries());
+        }
+
+        // Then
+        assertEquals(entries, readAll(path));
+    }
+
+    @Test
+    void shouldGroupConcurrentAppendsWithoutLosingEntries() throws Exception {
+        // Given
+        Path path = tempDir.resolve("journal.log");
+        int threads = 8;
+        int appendsPerThread = 500;
+
+        // When
+        try (FileAccountJournal journal = new FileAccountJournal(path, JournalDurability.BATCH, 1)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String accountId = "ACC" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        journal.append(JournalEntry.deposited(accountId, 1L));
+                        journal.flush();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+        }
+
+        // Then
+        List<JournalEntry> entries = readAll(path);
+        assertEquals(threads * appendsPerThread, entries.size());
+        for (int t = 0; t < threads; t++) {
+            String accountId = "ACC" + t;
+            assertEquals(appendsPerThread, entries.stream().filter(e -> e.accountId().equals(accountId)).count());
+        }
+    }
+
+    @Test
+    void shouldTruncateTornTailWhenReopened() throws IOException {
+        // Given
+        Path path = tempDir.resolve("journal.log");
+        try (FileAccountJournal journal = new FileAccountJournal(path, JournalDurability.SYNC, 1)) {
+            journal.append(JournalEntry.deposited("ACC001", 100L));
+            journal.append(JournalEntry.deposited("ACC001", 200L));
+        }
+        long intactLength = Files.size(path);
+        byte[] partialRecord = JournalCodec.encode(JournalEntry.deposited("ACC001", 300L));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(partialRecord, 0, partialRecord.length / 2));
+        }
+
+        // When
+        try (FileAccountJournal journal = new FileAccountJournal(path, JournalDurability.SYNC, 1)) {
+            assertEquals(intactLength, Files.size(path), "Torn record should be cut off");
+            journal.append(JournalEntry.deposited("ACC001", 400L));
+        }
+
+        // Then
+        List<Long> amounts = readAll(path).stream().map(JournalEntry::amountCents).toList();
+        assertEquals(List.of(100L, 200L, 400L), amounts);
+    }
+
+    @Test
+    void shouldRejectFileThatIsNotAJournal() throws IOException {
+        // Given
+        Path path = tempDir.resolve("journal.log");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> new FileAccountJournal(path, JournalDurability.BATCH, 1));
+    }
+
+    private static List<JournalEntry> readAll(Path path) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        try (JournalReader reader = JournalReader.open(path, JournalCodec.FILE_HEADER_SIZE)) {
+            JournalEntry entry;
+            while ((entry = reader.next()) != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
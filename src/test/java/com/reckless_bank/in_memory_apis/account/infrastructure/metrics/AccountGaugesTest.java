@@ -0,0 +1,31 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.metrics;
+
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountGaugesTest {
+
+    @Test
+    void shouldReportAccountCountAndAggregates() {
+        AccountRepository repository = new AccountRepository();
+        BankAggregates aggregates = new BankAggregates(repository);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AccountGauges(repository, aggregates).bindTo(registry);
+
+        for (int i = 0; i < 2_500; i++) {
+            aggregates.recordCreated(repository.save(new Account("ACC" + i, "Holder " + i, i < 2_000 ? 150 : 0)));
+        }
+        aggregates.recordDeposit(1_234);
+
+        assertEquals(2_500, registry.get("bank.accounts").gauge().value());
+        assertEquals(2_000, registry.get("bank.accounts.active").gauge().value());
+        assertEquals(3_012.34, registry.get("bank.balance.total").gauge().value());
+        assertEquals(12.34, registry.get("bank.flow.today").tag("type", "deposited").gauge().value());
+        assertEquals(0.0, registry.get("bank.flow.today").tag("type", "withdrawn").gauge().value());
+    }
+}
@@ -0,0 +1,67 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.metrics;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepositoryContractTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository contract through the metered wrapper, plus the timing it adds.
+ */
+class MeteredAccountRepositoryTest extends IAccountRepositoryContractTest {
+
+    @Override
+    protected IAccountRepository createRepository() {
+        return new MeteredAccountRepository(new AccountRepository(), new SimpleMeterRegistry(), 16);
+    }
+
+    @Test
+    void shouldCountAndTimeEachCallByMethod() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IAccountRepository repository = new MeteredAccountRepository(new AccountRepository(), registry, 1);
+
+        repository.save(new Account("ACC001", "John Doe", new BigDecimal("10.00")));
+        repository.findById("ACC001");
+        repository.findById("ACC002");
+        assertThrows(IllegalStateException.class, () -> repository.update("ACC001", account -> {
+            throw new IllegalStateException("rejected");
+        }));
+
+        assertEquals(1, callCount(registry, "save"));
+        assertEquals(2, callCount(registry, "findById"));
+        assertEquals(1, callCount(registry, "update"), "Calls that throw are counted too");
+        assertEquals(0, callCount(registry, "deleteById"));
+        assertEquals(2, registry.get("bank.repository.latency").tag("method", "findById").functionTimer().count());
+        assertEquals(1, registry.get("bank.repository.latency").tag("method", "update").functionTimer().count());
+    }
+
+    @Test
+    void shouldCountEveryCallButTimeOnlyASample() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IAccountRepository repository = new MeteredAccountRepository(new AccountRepository(), registry, 16);
+
+        for (int i = 0; i < 16_000; i++) {
+            repository.existsById("ACC001");
+        }
+
+        assertEquals(16_000, callCount(registry, "existsById"));
+        double timed = registry.get("bank.repository.latency").tag("method", "existsById").functionTimer().count();
+        assertTrue(timed > 700 && timed < 1300, "About one call in 16 should be timed but was " + timed);
+    }
+
+    @Test
+    void shouldRejectSampleIntervalsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MeteredAccountRepository(new AccountRepository(), new SimpleMeterRegistry(), 10));
+    }
+
+    private static long callCount(SimpleMeterRegistry registry, String method) {
+        return (long) registry.get("bank.repository.calls").tag("method", method).functionCounter().count();
+    }
+}
@@ -1,30 +1,42 @@
 package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
 import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransactionRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferFailure;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
 import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.application.idempotency.IdempotencyCache;
 import com.reckless_bank.in_memory_apis.account.application.usecase.*;
 import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountTransaction;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,6 +65,21 @@ class AccountControllerTest {
     @Mock
     private TransferUseCase transferUseCase;
 
+    @Mock
+    private GetAccountTransactionsUseCase getAccountTransactionsUseCase;
+
+    @Mock
+    private SearchAccountsUseCase searchAccountsUseCase;
+
+    @Mock
+    private GetAccountsByBalanceUseCase getAccountsByBalanceUseCase;
+
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(1000, 3600);
+
+    @Spy
+    private AccountResponseCache responseCache = new AccountResponseCache(new ObjectMapper(), 64);
+
     @InjectMocks
     private AccountController accountController;
 
@@ -71,11 +98,7 @@ class AccountControllerTest {
         Account account1 = new Account("acc1", "John Doe", new BigDecimal("1000.00"));
         Account account2 = new Account("acc2", "Jane Smith", new BigDecimal("2000.00"));
         
-        Map<String, Account> accountsMap = new HashMap<>();
-        accountsMap.put("acc1", account1);
-        accountsMap.put("acc2", account2);
-        
-        when(getAllAccountsUseCase.execute()).thenReturn(accountsMap);
+        when(getAllAccountsUseCase.stream()).thenReturn(List.of(account1, account2));
 
         // When & Then
         mockMvc.perform(get("/api/accounts"))
@@ -88,11 +111,117 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[*].balance", containsInAnyOrder(1000.00, 2000.00)));
     }
 
+    @Test
+    void getAccountsPage_ShouldReturnAccountsAndNextCursor() throws Exception {
+        // Given
+        Account account = new Account("acc2", "Jane Smith", new BigDecimal("2000.00"));
+        when(getAllAccountsUseCase.executePage("acc1", 1)).thenReturn(new AccountPage(List.of(account), "acc2"));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts").param("limit", "1").param("cursor", "acc1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(1)))
+                .andExpect(jsonPath("$.accounts[0].accountId", is("acc2")))
+                .andExpect(jsonPath("$.nextCursor", is("acc2")));
+    }
+
+    @Test
+    void getAccountsPage_ShouldStartFromBeginning_WhenNoCursorGiven() throws Exception {
+        // Given
+        when(getAllAccountsUseCase.executePage(null, 50)).thenReturn(new AccountPage(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void searchAccounts_ShouldMatchHolderPrefixByDefault() throws Exception {
+        // Given
+        Account account = new Account("acc1", "John Doe", new BigDecimal("1000.00"));
+        when(searchAccountsUseCase.execute("jo", true, 50)).thenReturn(List.of(account));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/search").param("holder", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].accountHolder", is("John Doe")));
+    }
+
+    @Test
+    void searchAccounts_ShouldMatchWholeName_WhenExact() throws Exception {
+        // Given
+        when(searchAccountsUseCase.execute("John", false, 10)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/search").param("holder", "John").param("exact", "true").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getTopAccounts_ShouldReturnHighestBalancesFirst() throws Exception {
+        // Given
+        Account richer = new Account("acc2", "Jane Smith", new BigDecimal("2000.00"));
+        Account rich = new Account("acc1", "John Doe", new BigDecimal("1000.00"));
+        when(getAccountsByBalanceUseCase.top(2)).thenReturn(List.of(richer, rich));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/top").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].accountId", contains("acc2", "acc1")));
+    }
+
+    @Test
+    void getAccountsByBalance_ShouldPassInclusiveBounds() throws Exception {
+        // Given
+        Account account = new Account("acc1", "John Doe", new BigDecimal("1000.00"));
+        when(getAccountsByBalanceUseCase.range(new BigDecimal("500.00"), null, 100)).thenReturn(List.of(account));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/by-balance").param("min", "500.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].balance", is(1000.00)));
+    }
+
+    @Test
+    void getTransactions_ShouldReturnNewestFirstPage() throws Exception {
+        // Given
+        AccountTransaction deposit = new AccountTransaction(2, AccountTransaction.Type.DEPOSIT, null, 5_000L, 15_000L, 1_700_000_000_000L);
+        when(getAccountTransactionsUseCase.execute("acc1", null, 1))
+            .thenReturn(Optional.of(new TransactionPage(List.of(deposit), "2", 3, -1_250L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/acc1/transactions").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.transactions[0].sequence", is(2)))
+                .andExpect(jsonPath("$.transactions[0].type", is("DEPOSIT")))
+                .andExpect(jsonPath("$.transactions[0].amount", is(50.00)))
+                .andExpect(jsonPath("$.transactions[0].balanceAfter", is(150.00)))
+                .andExpect(jsonPath("$.transactions[0].counterpartyId").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is("2")))
+                .andExpect(jsonPath("$.compactedTransactions", is(3)))
+                .andExpect(jsonPath("$.compactedNetChange", is(-12.50)));
+    }
+
+    @Test
+    void getTransactions_ShouldReturnNotFound_WhenAccountDoesNotExist() throws Exception {
+        // Given
+        when(getAccountTransactionsUseCase.execute("missing", null, 50)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/missing/transactions"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getAllAccounts_ShouldReturnEmptyList_WhenNoAccountsExist() throws Exception {
         // Given
-        Map<String, Account> emptyMap = new HashMap<>();
-        when(getAllAccountsUseCase.execute()).thenReturn(emptyMap);
+        when(getAllAccountsUseCase.stream()).thenReturn(List.of());
 
         // When & Then
         mockMvc.perform(get("/api/accounts"))
@@ -118,6 +247,30 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balance", is(1000.00)));
     }
 
+    @Test
+    void getAccount_ShouldReturnNotModified_WhenEtagIsCurrent() throws Exception {
+        // Given
+        String accountId = "acc1";
+        Account account = new Account(accountId, "John Doe", new BigDecimal("1000.00"));
+        Account changed = account.deposit(1);
+        when(getAccountUseCase.execute(accountId)).thenReturn(Optional.of(account), Optional.of(account),
+            Optional.of(changed));
+        String etag = mockMvc.perform(get("/api/accounts/{accountId}", accountId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/{accountId}", accountId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/accounts/{accountId}", accountId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.balance", is(1000.01)));
+        verify(responseCache, times(2)).account(any());
+    }
+
     @Test
     void getAccount_ShouldReturnNotFound_WhenAccountDoesNotExist() throws Exception {
         // Given
@@ -155,8 +308,8 @@ class AccountControllerTest {
         TransactionRequest request = new TransactionRequest(new BigDecimal("500.00"));
         Account updatedAccount = new Account(accountId, "John Doe", new BigDecimal("1500.00"));
         
-        when(depositUseCase.execute(anyString(), any(TransactionRequest.class)))
-                .thenReturn(Optional.of(updatedAccount));
+        when(depositUseCase.attempt(anyString(), any(TransactionRequest.class)))
+                .thenReturn(TransferAttempt.succeeded(new TransferResult(null, updatedAccount)));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/{accountId}/deposit", accountId)
@@ -174,14 +327,17 @@ class AccountControllerTest {
         String accountId = "nonexistent";
         TransactionRequest request = new TransactionRequest(new BigDecimal("500.00"));
         
-        when(depositUseCase.execute(anyString(), any(TransactionRequest.class)))
-                .thenReturn(Optional.empty());
+        when(depositUseCase.attempt(anyString(), any(TransactionRequest.class)))
+                .thenReturn(TransferAttempt.failed(TransferFailure.accountNotFound(accountId)));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/{accountId}/deposit", accountId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("Account Not Found")))
+                .andExpect(jsonPath("$.message", is("Account not found with ID: nonexistent")))
+                .andExpect(jsonPath("$.traceId", matchesPattern("[0-9a-f]{8}")));
     }
 
     @Test
@@ -191,8 +347,8 @@ class AccountControllerTest {
         TransactionRequest request = new TransactionRequest(new BigDecimal("300.00"));
         Account updatedAccount = new Account(accountId, "John Doe", new BigDecimal("700.00"));
         
-        when(withdrawUseCase.execute(anyString(), any(TransactionRequest.class)))
-                .thenReturn(Optional.of(updatedAccount));
+        when(withdrawUseCase.attempt(anyString(), any(TransactionRequest.class)))
+                .thenReturn(TransferAttempt.succeeded(new TransferResult(updatedAccount, null)));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/{accountId}/withdraw", accountId)
@@ -222,6 +378,20 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.accountHolder", is("John Doe")));
     }
 
+    @Test
+    void getBalance_ShouldReturnNotModified_WhenEtagIsCurrent() throws Exception {
+        // Given
+        String accountId = "acc1";
+        Account account = new Account(accountId, "John Doe", new BigDecimal("1000.00"));
+        when(getAccountBalanceUseCase.execute(accountId)).thenReturn(Optional.of(account));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/{accountId}/balance", accountId)
+                        .header("If-None-Match", AccountResponseCache.etag(account)))
+                .andExpect(status().isNotModified());
+        verify(responseCache, times(0)).balance(any());
+    }
+
     @Test
     void transfer_ShouldReturnTransferResult_WhenTransferSuccessful() throws Exception {
         // Given
@@ -230,8 +400,8 @@ class AccountControllerTest {
         Account toAccount = new Account("acc2", "Jane Smith", new BigDecimal("1500.00"));
         TransferResult transferResult = new TransferResult(fromAccount, toAccount);
         
-        when(transferUseCase.execute(any(TransferRequest.class)))
-                .thenReturn(Optional.of(transferResult));
+        when(transferUseCase.attempt(any(TransferRequest.class)))
+                .thenReturn(TransferAttempt.succeeded(transferResult));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/transfer")
@@ -250,13 +420,84 @@ class AccountControllerTest {
         // Given
         TransferRequest request = new TransferRequest("acc1", "acc2", new BigDecimal("500.00"));
         
-        when(transferUseCase.execute(any(TransferRequest.class)))
-                .thenReturn(Optional.empty());
+        when(transferUseCase.attempt(any(TransferRequest.class)))
+                .thenReturn(TransferAttempt.failed(TransferFailure.insufficientFunds("acc1", 50_000L, 20_000L)));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Insufficient Funds")))
+                .andExpect(jsonPath("$.path", is("/api/accounts/transfer")))
+                .andExpect(jsonPath("$.details.availableBalance", is(200.00)))
+                .andExpect(jsonPath("$.details.shortfall", is(300.00)));
+    }
+
+    @Test
+    void transfer_ShouldReturnFirstResult_WhenRetriedWithSameIdempotencyKey() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest("acc1", "acc2", new BigDecimal("500.00"));
+        TransferResult transferResult = new TransferResult(
+            new Account("acc1", "John Doe", new BigDecimal("500.00")),
+            new Account("acc2", "Jane Smith", new BigDecimal("1500.00")));
+        when(transferUseCase.attempt(any(TransferRequest.class))).thenReturn(TransferAttempt.succeeded(transferResult));
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/accounts/transfer")
+                    .header(AccountController.IDEMPOTENCY_KEY, "retry-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.fromAccount.balance", is(500.00)));
+        }
+        verify(transferUseCase, times(1)).attempt(any(TransferRequest.class));
+    }
+
+    @Test
+    void transferBatch_ShouldReturnPerItemOutcomes() throws Exception {
+        // Given
+        List<TransferRequest> requests = List.of(
+            new TransferRequest("acc1", "acc2", new BigDecimal("100.00")),
+            new TransferRequest("acc1", "missing", new BigDecimal("100.00")));
+        Account fromAccount = new Account("acc1", "John Doe", new BigDecimal("400.00"));
+        Account toAccount = new Account("acc2", "Jane Smith", new BigDecimal("1100.00"));
+        BatchTransferResult batchResult = BatchTransferResult.of(false, List.of(
+            TransferOutcome.succeeded(0, new TransferResult(fromAccount, toAccount)),
+            TransferOutcome.failed(1, "Account Not Found", "Account not found with ID: missing")));
+
+        when(transferUseCase.executeBatch(anyList(), eq(false))).thenReturn(batchResult);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atomic", is(false)))
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("SUCCEEDED")))
+                .andExpect(jsonPath("$.results[0].fromAccount.balance", is(400.00)))
+                .andExpect(jsonPath("$.results[1].status", is("FAILED")))
+                .andExpect(jsonPath("$.results[1].error", is("Account Not Found")))
+                .andExpect(jsonPath("$.results[1].fromAccount").doesNotExist());
+    }
+
+    @Test
+    void transferBatch_ShouldPassAtomicFlag() throws Exception {
+        // Given
+        List<TransferRequest> requests = List.of(new TransferRequest("acc1", "acc2", new BigDecimal("100.00")));
+        when(transferUseCase.executeBatch(anyList(), eq(true)))
+                .thenReturn(BatchTransferResult.of(true, List.of(TransferOutcome.failed(0, "Insufficient Funds", "No funds"))));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                .param("atomic", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atomic", is(true)))
+                .andExpect(jsonPath("$.succeeded", is(0)));
     }
-}
\ No newline at end of file
+}
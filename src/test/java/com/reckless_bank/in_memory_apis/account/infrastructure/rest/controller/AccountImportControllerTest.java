@@ -0,0 +1,140 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.OffHeapAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AccountImportControllerTest {
+
+    private AccountRepository accountRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new AccountRepository();
+        CreateAccountUseCase createAccountUseCase = new CreateAccountUseCase(accountRepository, new NoOpAccountJournal(), AccountMetrics.disabled(), new AccountHolderIndex(),
+            BalanceIndex.disabled(), new BankAggregates(accountRepository));
+        mockMvc = MockMvcBuilders.standaloneSetup(new AccountImportController(createAccountUseCase, new ObjectMapper())).build();
+    }
+
+    private List<String> importLines(String body) throws Exception {
+        String response = mockMvc.perform(post("/api/accounts/bulk")
+                .contentType(AccountImportController.NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AccountImportController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return response.isEmpty() ? List.of() : List.of(response.split("\n"));
+    }
+
+    @Test
+    void importAccounts_ShouldStreamAssignedIdsInInputOrder() throws Exception {
+        // Given
+        String body = """
+            {"accountHolder": "John Doe", "initialBalance": 500.00}
+            {"accountHolder": "Jane Smith", "initialBalance": 300.00}
+            """;
+
+        // When
+        List<String> lines = importLines(body);
+
+        // Then
+        assertEquals(List.of("{\"line\":1,\"accountId\":\"ACC001\"}", "{\"line\":2,\"accountId\":\"ACC002\"}"), lines);
+        assertEquals(new BigDecimal("300.00"), accountRepository.findById("ACC002").orElseThrow().balance());
+    }
+
+    @Test
+    void importAccounts_ShouldRejectInvalidLinesAndContinue() throws Exception {
+        // Given
+        String body = """
+            {"accountHolder": "John Doe", "initialBalance": 500.00}
+
+            {"accountHolder": "", "initialBalance": 10.00}
+            not json
+            {"accountHolder": "Jane Smith", "initialBalance": 300.00}""";
+
+        // When
+        List<String> lines = importLines(body);
+
+        // Then
+        assertEquals(4, lines.size());
+        assertEquals("{\"line\":1,\"accountId\":\"ACC001\"}", lines.get(0));
+        assertEquals("{\"line\":3,\"error\":\"Account holder cannot be null or empty\"}", lines.get(1));
+        assertTrue(lines.get(2).startsWith("{\"line\":4,\"error\":"));
+        assertEquals("{\"line\":5,\"accountId\":\"ACC002\"}", lines.get(3));
+        assertEquals(2, accountRepository.count());
+    }
+
+    @Test
+    void importAccounts_ShouldCreateAcrossMultipleChunks() throws Exception {
+        // Given
+        int accounts = AccountImportController.CHUNK_SIZE * 2 + 7;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < accounts; i++) {
+            body.append("{\"accountHolder\":\"Holder ").append(i).append("\",\"initialBalance\":1.00}\r\n");
+        }
+
+        // When
+        List<String> lines = importLines(body.toString());
+
+        // Then
+        assertEquals(accounts, lines.size());
+        assertEquals(accounts, accountRepository.count());
+        assertEquals("{\"line\":" + accounts + ",\"accountId\":\"ACC" + accounts + "\"}", lines.get(accounts - 1));
+    }
+
+    @Test
+    void importAccounts_ShouldRejectOverlongLineWithoutBufferingIt() throws Exception {
+        // Given
+        String body = "{\"accountHolder\":\"" + "x".repeat(AccountImportController.MAX_LINE_LENGTH) + "\",\"initialBalance\":1}\n"
+            + "{\"accountHolder\":\"John Doe\",\"initialBalance\":1}\n";
+
+        // When
+        List<String> lines = importLines(body);
+
+        // Then
+        assertEquals(List.of(
+            "{\"line\":1,\"error\":\"Line exceeds " + AccountImportController.MAX_LINE_LENGTH + " characters\"}",
+            "{\"line\":2,\"accountId\":\"ACC001\"}"), lines);
+    }
+
+    @Test
+    void importAccounts_ShouldReportLineTheRepositoryRejectsAndContinue() throws Exception {
+        // Given
+        OffHeapAccountRepository offHeapRepository = new OffHeapAccountRepository(16);
+        CreateAccountUseCase createAccountUseCase = new CreateAccountUseCase(offHeapRepository, new NoOpAccountJournal(), AccountMetrics.disabled(), new AccountHolderIndex(),
+            BalanceIndex.disabled(), new BankAggregates(offHeapRepository));
+        mockMvc = MockMvcBuilders.standaloneSetup(new AccountImportController(createAccountUseCase, new ObjectMapper())).build();
+        String body = "{\"accountHolder\":\"John Doe\",\"initialBalance\":1}\n"
+            + "{\"accountHolder\":\"" + "x".repeat(200) + "\",\"initialBalance\":1}\n"
+            + "{\"accountHolder\":\"Jane Smith\",\"initialBalance\":1}\n";
+
+        // When
+        List<String> lines = importLines(body);
+
+        // Then
+        assertEquals(3, lines.size());
+        assertEquals("{\"line\":1,\"accountId\":\"ACC001\"}", lines.get(0));
+        assertTrue(lines.get(1).startsWith("{\"line\":2,\"error\":\"Account holder exceeds"), lines.get(1));
+        assertTrue(lines.get(2).matches("\\{\"line\":3,\"accountId\":\"ACC00\\d\"}"), lines.get(2));
+        assertEquals(2, offHeapRepository.count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldReuseJsonUntilAccountChanges() throws Exception {
+        // Given
+        AccountResponseCache cache = new AccountResponseCache(objectMapper, 16);
+        Account account = new Account("ACC001", "John Doe", 100_000L);
+
+        // When
+        byte[] first = cache.account(account);
+        byte[] again = cache.account(new Account("ACC001", "John Doe", 100_000L));
+        byte[] changed = cache.account(account.deposit(250));
+
+        // Then
+        assertSame(first, again);
+        assertArrayEquals(objectMapper.writeValueAsBytes(account), first);
+        assertArrayEquals(objectMapper.writeValueAsBytes(account.deposit(250)), changed);
+        assertEquals("{\"accountId\":\"ACC001\",\"accountHolder\":\"John Doe\",\"balance\":1002.50,\"active\":true}",
+            new String(changed, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepViewsApartAndAnswerCorrectlyWhenAccountsShareSlot() throws Exception {
+        // Given
+        AccountResponseCache cache = new AccountResponseCache(objectMapper, 1);
+        Account first = new Account("ACC001", "John Doe", 100_000L);
+        Account second = new Account("ACC002", "Jane Smith", 5_000L);
+
+        // When
+        cache.account(first);
+        byte[] evicting = cache.account(second);
+        byte[] balance = cache.balance(first);
+
+        // Then
+        assertArrayEquals(objectMapper.writeValueAsBytes(second), evicting);
+        assertArrayEquals(objectMapper.writeValueAsBytes(first), cache.account(first));
+        assertArrayEquals(objectMapper.writeValueAsBytes(AccountResponseCache.balanceView(first)), balance);
+    }
+
+    @Test
+    void shouldSerializeEveryTimeWhenDisabled() {
+        // Given
+        AccountResponseCache cache = new AccountResponseCache(objectMapper, 0);
+        Account account = new Account("ACC001", "John Doe", 100_000L);
+
+        // When & Then
+        assertNotSame(cache.account(account), cache.account(account));
+    }
+
+    @Test
+    void shouldChangeEtagWithBalanceAndHolder() {
+        // Given
+        Account account = new Account("ACC001", "John Doe", 100_000L);
+
+        // When & Then
+        assertEquals(AccountResponseCache.etag(account), AccountResponseCache.etag(new Account("ACC001", "John Doe", 100_000L)));
+        assertNotEquals(AccountResponseCache.etag(account), AccountResponseCache.etag(account.withdraw(1)));
+        assertNotEquals(AccountResponseCache.etag(account), AccountResponseCache.etag(new Account("ACC001", "Jane Smith", 100_000L)));
+        assertTrue(AccountResponseCache.etag(account).matches("\"[0-9a-f]+-[0-9a-f]+\""));
+    }
+}
@@ -0,0 +1,47 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller;
+
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetBankStatisticsUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BankStatisticsControllerTest {
+
+    private BankAggregates aggregates;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new BankAggregates(new AccountRepository());
+        mockMvc = MockMvcBuilders.standaloneSetup(
+            new BankStatisticsController(new GetBankStatisticsUseCase(aggregates))).build();
+    }
+
+    @Test
+    void getStatistics_ShouldReturnAggregates() throws Exception {
+        // Given
+        aggregates.recordCreated(new Account("ACC001", "John Doe", 150_000L));
+        aggregates.recordCreated(new Account("ACC002", "Jane Smith", 0L));
+        aggregates.recordDeposit(2_500L);
+        aggregates.recordWithdrawal(1_000L);
+
+        // When & Then
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", is(2)))
+                .andExpect(jsonPath("$.activeAccounts", is(1)))
+                .andExpect(jsonPath("$.totalDeposits", is(1515.00)))
+                .andExpect(jsonPath("$.today.date", matchesPattern("\\d{4}-\\d{2}-\\d{2}")))
+                .andExpect(jsonPath("$.today.deposited", is(25.00)))
+                .andExpect(jsonPath("$.today.withdrawn", is(10.00)))
+                .andExpect(jsonPath("$.today.netFlow", is(15.00)));
+    }
+}
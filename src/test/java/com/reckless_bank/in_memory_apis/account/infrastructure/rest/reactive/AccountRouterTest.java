@@ -0,0 +1,285 @@
+package com.reckless_bank.in_memory_apis.account.infrastructure.rest.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.idempotency.IdempotencyCache;
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.*;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.AccountResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountRouterTest {
+
+    private AccountRepository accountRepository;
+    private WebTestClient client;
+    private final List<String> idempotencyThreads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new AccountRepository();
+        NoOpAccountJournal journal = new NoOpAccountJournal();
+        AccountHolderIndex holderIndex = new AccountHolderIndex();
+        BalanceIndex balanceIndex = new BalanceIndex(accountRepository, true, 0);
+        BankAggregates aggregates = new BankAggregates(accountRepository);
+        TransactionHistory history = new TransactionHistory(16);
+        TransferUseCase transferUseCase = new TransferUseCase(accountRepository, new AccountLockStripes(16), journal,
+            history, AccountMetrics.disabled(), balanceIndex, aggregates);
+        AccountHandler handler = new AccountHandler(
+            new GetAllAccountsUseCase(accountRepository),
+            new GetAccountUseCase(accountRepository),
+            new CreateAccountUseCase(accountRepository, journal, AccountMetrics.disabled(), holderIndex, balanceIndex, aggregates),
+            new DepositUseCase(transferUseCase),
+            new WithdrawUseCase(transferUseCase),
+            new GetAccountBalanceUseCase(accountRepository),
+            transferUseCase,
+            new GetAccountTransactionsUseCase(accountRepository, history),
+            new SearchAccountsUseCase(accountRepository, holderIndex),
+            new GetAccountsByBalanceUseCase(accountRepository, balanceIndex),
+            new GetBankStatisticsUseCase(aggregates),
+            new IdempotencyCache(1000, 3600) {
+                @Override
+                public <T> T execute(String key, Object request, Supplier<T> operation) {
+                    idempotencyThreads.add(Thread.currentThread().getName());
+                    return super.execute(key, request, operation);
+                }
+            },
+            new AccountResponseCache(new ObjectMapper(), 64),
+            new ObjectMapper(), false, "concurrent");
+        client = WebTestClient.bindToRouterFunction(new AccountRouter().accountRoutes(handler)).build();
+    }
+
+    @Test
+    void getAllAccounts_ShouldStreamEveryAccount() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("1000.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", new BigDecimal("2000.00")));
+
+        // When & Then
+        client.get().uri("/api/accounts").exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(2)
+            .jsonPath("$[0].accountId").isEqualTo("ACC001")
+            .jsonPath("$[1].balance").isEqualTo(2000.00);
+    }
+
+    @Test
+    void getAllAccounts_ShouldWriteOneAccountPerLine_WhenNdjsonAccepted() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("1000.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", new BigDecimal("2000.00")));
+
+        // When
+        List<Account> accounts = client.get().uri("/api/accounts").accept(MediaType.APPLICATION_NDJSON).exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(Account.class)
+            .returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(accounts);
+        assertEquals(List.of("ACC001", "ACC002"), accounts.stream().map(Account::accountId).toList());
+    }
+
+    @Test
+    void getAccountsPage_ShouldReturnPage_WhenLimitGiven() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("1000.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", new BigDecimal("2000.00")));
+
+        // When & Then
+        client.get().uri("/api/accounts?limit=1").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accounts.length()").isEqualTo(1)
+            .jsonPath("$.accounts[0].accountId").isEqualTo("ACC001")
+            .jsonPath("$.nextCursor").isEqualTo("ACC001");
+    }
+
+    @Test
+    void getBalance_ShouldReturnNotModifiedUntilBalanceChanges() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("1000.00")));
+        String etag = client.get().uri("/api/accounts/ACC001/balance").exchange()
+            .expectStatus().isOk()
+            .returnResult(String.class).getResponseHeaders().getETag();
+
+        // When & Then
+        client.get().uri("/api/accounts/ACC001/balance").ifNoneMatch(etag).exchange()
+            .expectStatus().isNotModified();
+        client.post().uri("/api/accounts/ACC001/deposit").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"amount\": 5.00}").exchange()
+            .expectStatus().isOk();
+        client.get().uri("/api/accounts/ACC001/balance").ifNoneMatch(etag).exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.balance").isEqualTo(1005.00);
+    }
+
+    @Test
+    void getAccount_ShouldReturnNotFound_WhenAccountDoesNotExist() {
+        client.get().uri("/api/accounts/missing").exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createAccountAndTransfer_ShouldMoveMoney() {
+        // Given
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"John Doe\", \"initialBalance\": 500.00}").exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.accountId").isEqualTo("ACC001");
+        accountRepository.save(new Account("ACC002", "Jane Smith", BigDecimal.ZERO));
+
+        // When & Then
+        client.post().uri("/api/accounts/transfer").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"fromAccountId\": \"ACC001\", \"toAccountId\": \"ACC002\", \"amount\": 200.00}").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.message").isEqualTo("Transfer successful")
+            .jsonPath("$.fromAccount.balance").isEqualTo(300.00)
+            .jsonPath("$.toAccount.balance").isEqualTo(200.00);
+    }
+
+    @Test
+    void searchAccounts_ShouldFindCreatedAccountsByHolderPrefix() {
+        // Given
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"John Doe\", \"initialBalance\": 10.00}").exchange()
+            .expectStatus().isOk();
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"Jane Smith\", \"initialBalance\": 10.00}").exchange()
+            .expectStatus().isOk();
+
+        // When & Then
+        client.get().uri("/api/accounts/search?holder=jo").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].accountHolder").isEqualTo("John Doe");
+    }
+
+    @Test
+    void getTopAccounts_ShouldFollowTransfers() {
+        // Given
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"John Doe\", \"initialBalance\": 100.00}").exchange()
+            .expectStatus().isOk();
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"Jane Smith\", \"initialBalance\": 50.00}").exchange()
+            .expectStatus().isOk();
+        client.post().uri("/api/accounts/transfer").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"fromAccountId\": \"ACC001\", \"toAccountId\": \"ACC002\", \"amount\": 60.00}").exchange()
+            .expectStatus().isOk();
+
+        // When & Then
+        client.get().uri("/api/accounts/top?limit=1").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].accountId").isEqualTo("ACC002");
+    }
+
+    @Test
+    void getStatistics_ShouldFollowCreationsAndTransfers() {
+        // Given
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"John Doe\", \"initialBalance\": 100.00}").exchange()
+            .expectStatus().isOk();
+        client.post().uri("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"accountHolder\": \"Jane Smith\", \"initialBalance\": 0.00}").exchange()
+            .expectStatus().isOk();
+        client.post().uri("/api/accounts/ACC001/withdraw").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"amount\": 100.00}").exchange()
+            .expectStatus().isOk();
+
+        // When & Then
+        client.get().uri("/api/stats").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accounts").isEqualTo(2)
+            .jsonPath("$.activeAccounts").isEqualTo(0)
+            .jsonPath("$.totalDeposits").isEqualTo(0.0)
+            .jsonPath("$.today.withdrawn").isEqualTo(100.0);
+    }
+
+    @Test
+    void withdraw_ShouldReturnBadRequest_WhenFundsAreInsufficient() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("100.00")));
+
+        // When & Then
+        client.post().uri("/api/accounts/ACC001/withdraw").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"amount\": 150.00}").exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Insufficient Funds")
+            .jsonPath("$.path").isEqualTo("/api/accounts/ACC001/withdraw");
+        assertEquals(new BigDecimal("100.00"), accountRepository.findById("ACC001").orElseThrow().balance());
+    }
+
+    @Test
+    void importAccounts_ShouldRejectInvalidLinesAndContinue() {
+        // Given
+        String body = """
+            {"accountHolder": "John Doe", "initialBalance": 500.00}
+
+            {"accountHolder": "", "initialBalance": 10.00}
+            {"accountHolder": "Jane Smith", "initialBalance": 300.00}
+            """;
+
+        // When
+        String response = client.post().uri("/api/accounts/bulk").contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body).exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class)
+            .returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(response);
+        assertEquals(List.of(
+            "{\"line\":1,\"accountId\":\"ACC001\"}",
+            "{\"line\":3,\"error\":\"Account holder cannot be null or empty\"}",
+            "{\"line\":4,\"accountId\":\"ACC002\"}"), List.of(response.split("\n")));
+        assertEquals(2, accountRepository.count());
+    }
+
+    @Test
+    void transfer_ShouldLeaveEventLoop_WhenIdempotencyKeyGiven() {
+        // Given
+        accountRepository.save(new Account("ACC001", "John Doe", new BigDecimal("500.00")));
+        accountRepository.save(new Account("ACC002", "Jane Smith", BigDecimal.ZERO));
+        String body = "{\"fromAccountId\": \"ACC001\", \"toAccountId\": \"ACC002\", \"amount\": 200.00}";
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            client.post().uri("/api/accounts/transfer").contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "transfer-1")
+                .bodyValue(body).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.fromAccount.balance").isEqualTo(300.00);
+        }
+
+        // Then
+        assertEquals(2, idempotencyThreads.size());
+        assertTrue(idempotencyThreads.stream().allMatch(name -> name.startsWith("boundedElastic")), idempotencyThreads.toString());
+        assertEquals(new BigDecimal("300.00"), accountRepository.findById("ACC001").orElseThrow().balance());
+    }
+}
@@ -0,0 +1,75 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one withdraw + deposit round trip on the long-cents {@link Account}
+ * against the previous BigDecimal-backed record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountArithmeticBenchmark {
+
+    // The previous BigDecimal-backed account, kept here as the comparison baseline
+    record BigDecimalAccount(String accountId, String accountHolder, BigDecimal balance) {
+        BigDecimalAccount deposit(BigDecimal amount) {
+            if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Deposit amount must be positive");
+            }
+            return new BigDecimalAccount(accountId, accountHolder, balance.add(amount));
+        }
+
+        BigDecimalAccount withdraw(BigDecimal amount) {
+            if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Withdrawal amount must be positive");
+            }
+            if (balance.compareTo(amount) < 0) {
+                throw new IllegalArgumentException("Insufficient funds");
+            }
+            return new BigDecimalAccount(accountId, accountHolder, balance.subtract(amount));
+        }
+
+        boolean hasSufficientFunds(BigDecimal amount) {
+            return amount != null && balance.compareTo(amount) >= 0;
+        }
+    }
+
+    private BigDecimalAccount bigDecimalAccount;
+    private BigDecimal bigDecimalAmount;
+    private Account centsAccount;
+    private long centsAmount;
+
+    @Setup
+    public void setUp() {
+        bigDecimalAccount = new BigDecimalAccount("ACC001", "John Doe", new BigDecimal("1000000.00"));
+        bigDecimalAmount = new BigDecimal("12.34");
+        centsAccount = new Account("ACC001", "John Doe", 100_000_000L);
+        centsAmount = 1_234L;
+    }
+
+    @Benchmark
+    public BigDecimalAccount bigDecimalWithdrawDeposit() {
+        BigDecimalAccount account = bigDecimalAccount;
+        if (account.hasSufficientFunds(bigDecimalAmount)) {
+            account = account.withdraw(bigDecimalAmount);
+        }
+        return account.deposit(bigDecimalAmount);
+    }
+
+    @Benchmark
+    public Account centsWithdrawDeposit() {
+        Account account = centsAccount;
+        if (account.hasSufficientFunds(centsAmount)) {
+            account = account.withdraw(centsAmount);
+        }
+        return account.deposit(centsAmount);
+    }
+}
@@ -0,0 +1,64 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAllAccountsUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing every account as GET /api/accounts does: the previous path copies
+ * findAll() into a map and then a list before writing, the streaming path writes the lazy
+ * use-case Iterable, and a single page shows the per-request cost of cursor pagination.
+ * Output goes to a discarding stream so only listing and serialization are measured.
+ * Run with {@code -prof gc} to compare allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountListingBenchmark {
+
+    @Param({"1000000"})
+    public int accounts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AccountRepository repository;
+    private GetAllAccountsUseCase useCase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AccountRepository();
+        for (int i = 0; i < accounts; i++) {
+            repository.save(new Account("ACC" + i, "Account Holder " + i, 100_000L + i));
+        }
+        useCase = new GetAllAccountsUseCase(repository);
+    }
+
+    @Benchmark
+    public void copyThenSerialize() throws IOException {
+        List<Account> copy = new ArrayList<>(useCase.execute().values());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), copy);
+    }
+
+    @Benchmark
+    public void streamSerialize() throws IOException {
+        objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionLikeType(Iterable.class, Account.class))
+            .writeValue(OutputStream.nullOutputStream(), useCase.stream());
+    }
+
+    @Benchmark
+    public void serializeOnePage() throws IOException {
+        AccountPage page = useCase.executePage("ACC5", GetAllAccountsUseCase.MAX_PAGE_SIZE);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.OffHeapAccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the individual {@link IAccountRepository} operations on random accounts,
+ * for the heap and off-heap stores. Creation pairs ID generation with an insert and
+ * a delete, so the store keeps its size across iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountRepositoryBenchmark {
+
+    @Param({"heap", "offheap"})
+    public String store;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private IAccountRepository repository;
+    private String[] accountIds;
+    private Account[] snapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = "offheap".equals(store) ? new OffHeapAccountRepository(accounts) : new AccountRepository();
+        accountIds = new String[accounts];
+        snapshots = new Account[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "ACC" + i;
+            snapshots[i] = repository.save(new Account(accountIds[i], "Holder " + i, 1_000_000L));
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public boolean existsById() {
+        return repository.existsById(randomId());
+    }
+
+    @Benchmark
+    public Account saveExisting() {
+        return repository.save(snapshots[ThreadLocalRandom.current().nextInt(accounts)]);
+    }
+
+    @Benchmark
+    public Optional<Account> updateDeposit() {
+        return repository.update(randomId(), account -> account.deposit(1L));
+    }
+
+    @Benchmark
+    public String createAndDelete() {
+        String accountId = repository.generateNextAccountId();
+        repository.save(new Account(accountId, "New Holder", 0L));
+        repository.deleteById(accountId);
+        return accountId;
+    }
+
+    private String randomId() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accounts)];
+    }
+}
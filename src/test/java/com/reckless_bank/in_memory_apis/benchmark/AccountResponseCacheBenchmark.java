@@ -0,0 +1,105 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.AccountResponseCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of {@code GET /api/accounts/{id}} and {@code /{id}/balance} under a
+ * polling mix: {@value #ACCOUNTS} accounts read at random, both views equally, and
+ * {@code readPercent} of operations reads while the rest deposit into the account first.
+ * {@code serialize} writes every response with Jackson as before, {@code cached} takes it
+ * from {@link AccountResponseCache}, and {@code conditional} models clients that send
+ * back the ETag of their last response and get 304 while the account has not changed.
+ * {@code lookup} is the same mix without a response body, the cost all of them share.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountResponseCacheBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({"95", "99"})
+    public int readPercent;
+
+    private AccountRepository repository;
+    private AccountResponseCache cache;
+    private ObjectWriter accountWriter;
+    private ObjectWriter balanceWriter;
+    private String[] accountIds;
+    private String[] clientEtags;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        repository = new AccountRepository();
+        cache = new AccountResponseCache(objectMapper, 65_536);
+        accountWriter = objectMapper.writerFor(Account.class);
+        balanceWriter = objectMapper.writerFor(Map.class);
+        accountIds = new String[ACCOUNTS];
+        clientEtags = new String[2 * ACCOUNTS];
+        random = new SplittableRandom(42);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = "ACC" + i;
+            repository.save(new Account(accountIds[i], "Holder " + i, 100_000L));
+        }
+    }
+
+    // The account read by this operation, after depositing into it for the write share
+    private Account next(int index) {
+        String accountId = accountIds[index];
+        if (random.nextInt(100) >= readPercent) {
+            return repository.update(accountId, account -> account.deposit(1)).orElseThrow();
+        }
+        return repository.findById(accountId).orElseThrow();
+    }
+
+    @Benchmark
+    public Account lookup() {
+        int index = random.nextInt(ACCOUNTS);
+        Account account = next(index);
+        return random.nextBoolean() ? account : null;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        int index = random.nextInt(ACCOUNTS);
+        Account account = next(index);
+        return random.nextBoolean() ? accountWriter.writeValueAsBytes(account)
+            : balanceWriter.writeValueAsBytes(AccountResponseCache.balanceView(account));
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        int index = random.nextInt(ACCOUNTS);
+        Account account = next(index);
+        return random.nextBoolean() ? cache.account(account) : cache.balance(account);
+    }
+
+    @Benchmark
+    public Object conditional() {
+        int index = random.nextInt(ACCOUNTS);
+        Account account = next(index);
+        boolean balance = random.nextBoolean();
+        int client = 2 * index + (balance ? 1 : 0);
+        String etag = AccountResponseCache.etag(account);
+        if (etag.equals(clientEtags[client])) {
+            return etag;
+        }
+        clientEtags[client] = etag;
+        return balance ? cache.balance(account) : cache.account(account);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.OffHeapAccountRepository;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Heap, off-heap and GC comparison of the heap and off-heap account stores.
+ * Not a JMH benchmark: it loads N accounts into each store, reports retained memory
+ * per account, then runs N random deposits and reports collector activity.
+ * Usage: AccountStoreFootprint [accounts], run with a fixed heap (e.g. -Xms4g -Xmx4g).
+ */
+public class AccountStoreFootprint {
+
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        measure("heap", new AccountRepository(), accounts);
+        measure("offheap", new OffHeapAccountRepository(accounts), accounts);
+    }
+
+    private static void measure(String name, IAccountRepository repository, int accounts) {
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directMemoryUsed();
+
+        long loadStart = System.nanoTime();
+        for (int i = 0; i < accounts; i++) {
+            repository.save(new Account("ACC" + i, "Account Holder " + i, 100_000L));
+        }
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        long directBytes = directMemoryUsed() - directBefore;
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long workloadStart = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < accounts; i++) {
+            repository.update("ACC" + random.nextInt(accounts), account -> account.deposit(1L));
+        }
+        long workloadMillis = (System.nanoTime() - workloadStart) / 1_000_000;
+
+        System.out.printf("%-8s accounts=%d load=%dms heap=%.1fMB (%d B/account) direct=%.1fMB (%d B/account)%n",
+            name, accounts, loadMillis, heapBytes / 1e6, heapBytes / accounts, directBytes / 1e6, directBytes / accounts);
+        System.out.printf("%-8s deposits=%d time=%dms gcCount=%d gcTime=%dms%n",
+            name, accounts, workloadMillis, gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+
+        repository.clear();
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemoryUsed() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+            .filter(pool -> pool.getName().equals("direct"))
+            .mapToLong(BufferPoolMXBean::getMemoryUsed)
+            .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+            .sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+            .sum();
+    }
+}
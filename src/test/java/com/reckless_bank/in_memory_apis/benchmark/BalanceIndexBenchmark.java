@@ -0,0 +1,90 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.GetAccountsByBalanceUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping the {@link BalanceIndex} in sync: transfers through the use case with
+ * the index {@code off} and {@code on}, the latter including its background refresher,
+ * which shares the machine with the benchmark threads. Also a top-100 query through the
+ * index next to the sort of every account it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceIndexBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"off", "on"})
+    public String index;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private AccountRepository repository;
+    private TransferUseCase transferUseCase;
+    private GetAccountsByBalanceUseCase getAccountsByBalanceUseCase;
+    private BalanceIndex balanceIndex;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AccountRepository();
+        balanceIndex = index.equals("on") ? new BalanceIndex(repository, true, 100) : BalanceIndex.disabled();
+        accountIds = new String[accounts];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "ACC" + i;
+            repository.save(new Account(accountIds[i], "Holder " + i, 1_000_000_000L + random.nextLong(1_000_000L)));
+            balanceIndex.markChanged(accountIds[i]);
+        }
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(1024), new NoOpAccountJournal(),
+            new TransactionHistory(0), AccountMetrics.disabled(), balanceIndex, new BankAggregates(repository));
+        getAccountsByBalanceUseCase = new GetAccountsByBalanceUseCase(repository, balanceIndex);
+        balanceIndex.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        balanceIndex.stop();
+    }
+
+    @Benchmark
+    public Object transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return transferUseCase.execute(new TransferRequest(accountIds[from], accountIds[to], AMOUNT));
+    }
+
+    @Benchmark
+    public List<Account> top100() {
+        if (index.equals("on")) {
+            return getAccountsByBalanceUseCase.top(100);
+        }
+        List<Account> all = new ArrayList<>(repository.findAll().values());
+        all.sort(Comparator.comparingLong(Account::balanceCents).reversed());
+        return all.subList(0, 100);
+    }
+}
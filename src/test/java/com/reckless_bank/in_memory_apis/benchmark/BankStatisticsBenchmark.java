@@ -0,0 +1,68 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.dto.BankStatistics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountPage;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the bank-wide figures: {@code aggregates} reads the maintained
+ * {@link BankAggregates}, {@code scan} computes the account count, active count and
+ * total by walking the store a page at a time, as the {@code bank.balance.total} gauge
+ * used to. The first should not grow with the number of accounts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BankStatisticsBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"10000", "1000000"})
+    public int accounts;
+
+    private AccountRepository repository;
+    private BankAggregates aggregates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AccountRepository();
+        aggregates = new BankAggregates(repository);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account("ACC" + i, "Holder " + i, random.nextLong(4) * 1_000L);
+            aggregates.recordCreated(repository.save(account));
+        }
+    }
+
+    @Benchmark
+    public BankStatistics aggregates() {
+        return aggregates.snapshot();
+    }
+
+    @Benchmark
+    public long[] scan() {
+        long count = 0;
+        long active = 0;
+        long totalCents = 0;
+        String cursor = null;
+        do {
+            AccountPage page = repository.findPage(cursor, PAGE_SIZE);
+            for (Account account : page.accounts()) {
+                count++;
+                active += account.isActive() ? 1 : 0;
+                totalCents += account.balanceCents();
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return new long[]{count, active, totalCents};
+    }
+}
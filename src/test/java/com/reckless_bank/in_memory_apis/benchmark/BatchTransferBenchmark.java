@@ -0,0 +1,138 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.InMemoryApisApplication;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end transfer throughput over HTTP: {@code batchSize} separate
+ * POST /api/accounts/transfer calls against one POST /api/accounts/transfers/batch
+ * carrying the same transfers, in both batch modes. Scores are transfers per millisecond.
+ * The application is started in-process on a random port, with the journal enabled
+ * when {@code journal} is set, so flush cost per round trip is included.
+ * Run {@link #main} to sweep thread counts; each run writes target/jmh-batch-&lt;threads&gt;t.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchTransferBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    @Param({"10000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI transferUri;
+    private URI batchUri;
+    private URI atomicBatchUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dataDirectory = Files.createTempDirectory("batch-benchmark");
+        context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+            .properties("server.port=0", "logging.level.root=WARN",
+                "bank.journal.enabled=" + journal,
+                "bank.journal.path=" + dataDirectory.resolve("journal.log"),
+                "bank.snapshot.path=" + dataDirectory.resolve("snapshot.bin"),
+                "bank.snapshot.on-shutdown=false")
+            .run();
+        IAccountRepository repository = context.getBean(IAccountRepository.class);
+        for (int i = 0; i < accounts; i++) {
+            repository.save(new Account("BENCH" + i, "Holder " + i, new BigDecimal("1000000000.00")));
+        }
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/accounts";
+        transferUri = URI.create(base + "/transfer");
+        batchUri = URI.create(base + "/transfers/batch");
+        atomicBatchUri = URI.create(base + "/transfers/batch?atomic=true");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int perRequest() throws Exception {
+        int status = 0;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            status += post(transferUri, randomTransfer());
+        }
+        return status;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int batch() throws Exception {
+        return post(batchUri, batchBody());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int atomicBatch() throws Exception {
+        return post(atomicBatchUri, batchBody());
+    }
+
+    private int post(URI uri, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String batchBody() {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            body.add(randomTransfer());
+        }
+        return body.toString();
+    }
+
+    private String randomTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return "{\"fromAccountId\":\"BENCH" + from + "\",\"toAccountId\":\"BENCH" + to + "\",\"amount\":1.00}";
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 4, 16}) {
+            Options options = new OptionsBuilder()
+                .include(BatchTransferBenchmark.class.getSimpleName())
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-batch-" + threads + "t.json")
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.InMemoryApisApplication;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.usecase.CreateAccountUseCase;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Request;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocol.Response;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocolClient;
+import com.reckless_bank.in_memory_apis.account.infrastructure.binary.BinaryProtocolServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deposits through the running application over localhost: as JSON over HTTP/1.1 to
+ * {@code AccountController}, one at a time and as a batch, and over the binary protocol,
+ * one at a time and pipelined. Each thread keeps one connection and deposits into its own
+ * account. The pipelined and batch variants count each deposit as an operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryProtocolBenchmark {
+
+    private static final int PIPELINE = 256;
+    private static final int MAX_THREADS = 64;
+
+    private ConfigurableApplicationContext context;
+    private List<String> accountIds;
+    private int httpPort;
+    private int binaryPort;
+    private final AtomicInteger nextAccount = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+            .properties("server.port=0", "bank.binary.enabled=true", "bank.binary.port=0",
+                "logging.level.root=WARN")
+            .run();
+        httpPort = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        binaryPort = context.getBean(BinaryProtocolServer.class).port();
+        CreateAccountUseCase createAccountUseCase = context.getBean(CreateAccountUseCase.class);
+        accountIds = new ArrayList<>(MAX_THREADS);
+        for (int i = 0; i < MAX_THREADS; i++) {
+            accountIds.add(createAccountUseCase.execute(
+                new CreateAccountRequest("Holder " + i, BigDecimal.ZERO)).accountId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+
+        private HttpClient httpClient;
+        private HttpRequest deposit;
+        private HttpRequest batch;
+        private BinaryProtocolClient binaryClient;
+        private String accountId;
+        private List<Request> pipeline;
+
+        @Setup
+        public void setUp(BinaryProtocolBenchmark benchmark) throws IOException {
+            accountId = benchmark.accountIds.get(benchmark.nextAccount.getAndIncrement() % MAX_THREADS);
+            String baseUrl = "http://localhost:" + benchmark.httpPort + "/api/accounts/";
+            httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            deposit = HttpRequest.newBuilder(URI.create(baseUrl + accountId + "/deposit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":0.01}"))
+                .build();
+            String item = "{\"toAccountId\":\"" + accountId + "\",\"amount\":0.01}";
+            batch = HttpRequest.newBuilder(URI.create(baseUrl + "transfers/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[" + String.join(",", Collections.nCopies(PIPELINE, item)) + "]"))
+                .build();
+            binaryClient = new BinaryProtocolClient("localhost", benchmark.binaryPort);
+            pipeline = Collections.nCopies(PIPELINE, Request.deposit(accountId, 1));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            binaryClient.close();
+        }
+    }
+
+    @Benchmark
+    public String restDeposit(Connection connection) throws Exception {
+        return connection.httpClient.send(connection.deposit, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE)
+    public String restBatch(Connection connection) throws Exception {
+        return connection.httpClient.send(connection.batch, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public Response binaryDeposit(Connection connection) throws IOException {
+        return connection.binaryClient.deposit(connection.accountId, 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE)
+    public List<Response> binaryPipelined(Connection connection) throws IOException {
+        return connection.binaryClient.executeAll(connection.pipeline);
+    }
+}
@@ -0,0 +1,169 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.InMemoryApisApplication;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.AccountImportController;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams N generated NDJSON lines to POST /api/accounts/bulk on an in-process server
+ * and reads the assigned IDs back as they arrive, sampling the heap after a GC once a second.
+ * The server runs the offheap profile so account storage does not count against the heap;
+ * what remains is the import path itself, which should stay flat as N grows.
+ * Not a JMH benchmark: a single long-running import is timed directly.
+ * Usage: BulkImportBenchmark [accounts], run with -XX:MaxDirectMemorySize large enough for the accounts.
+ */
+public class BulkImportBenchmark {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    public static void main(String[] args) throws Exception {
+        long accounts = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InMemoryApisApplication.class)
+            .profiles("offheap")
+            .properties("server.port=0", "logging.level.root=WARN", "bank.offheap.initial-capacity=" + accounts)
+            .run();
+        AtomicLong received = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            System.gc();
+            long usedHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            System.out.printf("received=%d heapAfterGc=%.1fMB%n", received.get(), usedHeap / 1e6);
+        }, 1, 1, TimeUnit.SECONDS);
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            long start = System.nanoTime();
+            long errors = importOverSocket(port, accounts, received);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("imported=%d errors=%d time=%dms rate=%.0f accounts/s%n",
+                received.get() - errors, errors, elapsedMillis, received.get() * 1000.0 / Math.max(1, elapsedMillis));
+        } finally {
+            sampler.shutdownNow();
+            context.close();
+        }
+    }
+
+    // The JDK HttpClient does not read the response until the request body is sent, so a long
+    // import would stall once both socket buffers fill. A raw socket uploads on one thread and
+    // reads the chunked response on another, as a full-duplex client must
+    private static long importOverSocket(int port, long accounts, AtomicLong received) throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            Thread uploader = Thread.ofPlatform().start(() -> {
+                try {
+                    OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 1 << 16);
+                    out.write(("POST /api/accounts/bulk HTTP/1.1\r\nHost: localhost\r\n"
+                        + "Content-Type: " + AccountImportController.NDJSON + "\r\n"
+                        + "Transfer-Encoding: chunked\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    byte[] chunk = new byte[1 << 15];
+                    try (InputStream body = new GeneratedLines(accounts)) {
+                        for (int n = body.read(chunk); n > 0; n = body.read(chunk)) {
+                            out.write((Integer.toHexString(n) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                            out.write(chunk, 0, n);
+                            out.write(CRLF);
+                        }
+                    }
+                    out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+            String status = readAsciiLine(in);
+            if (!status.contains(" 200 ")) {
+                throw new IOException("Unexpected response: " + status);
+            }
+            while (!readAsciiLine(in).isEmpty()) {
+                // Skip headers; the response is chunked because it is streamed
+            }
+            long errors = 0;
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            for (int size = Integer.parseInt(readAsciiLine(in), 16); size > 0; size = Integer.parseInt(readAsciiLine(in), 16)) {
+                for (int i = 0; i < size; i++) {
+                    int b = in.read();
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    received.incrementAndGet();
+                    if (line.toString(StandardCharsets.UTF_8).contains("\"error\"")) {
+                        errors++;
+                    }
+                    line.reset();
+                }
+                readAsciiLine(in);
+            }
+            uploader.join();
+            return errors;
+        }
+    }
+
+    private static String readAsciiLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) {
+                throw new EOFException("Connection closed mid-response");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    // NDJSON body generated on demand so the client side does not hold it either
+    private static final class GeneratedLines extends InputStream {
+
+        private final long lines;
+        private long next;
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedLines(long lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (next == lines) {
+                    return -1;
+                }
+                current = ("{\"accountHolder\":\"Holder " + next++ + "\",\"initialBalance\":100.00}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return current[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int count = 0;
+            while (count < length) {
+                int b = read();
+                if (b == -1) {
+                    return count == 0 ? -1 : count;
+                }
+                buffer[offset + count++] = (byte) b;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.rest.controller.TransferFailureResponses;
+import com.reckless_bank.in_memory_apis.common.exception.GlobalExceptionHandler;
+import com.reckless_bank.in_memory_apis.common.exception.InsufficientFundsException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of declining a withdrawal for insufficient funds, from the use case to the error
+ * response body, excluding HTTP and JSON:
+ * <ul>
+ *   <li>{@code thrown}: {@code execute} throws and {@link GlobalExceptionHandler} maps the
+ *   exception, as for callers of the throwing API</li>
+ *   <li>{@code returned}: {@code attempt} returns the failure and the controllers map it
+ *   with {@link TransferFailureResponses}</li>
+ *   <li>{@code succeeded}: a withdrawal that is applied, for scale</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeclinePathBenchmark {
+
+    private static final String PATH = "/api/accounts/POOR/withdraw";
+
+    private TransferUseCase transferUseCase;
+    private GlobalExceptionHandler exceptionHandler;
+    private MockHttpServletRequest servletRequest;
+    private TransferRequest declined;
+    private TransferRequest applied;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository repository = new AccountRepository();
+        repository.save(new Account("POOR", "Poor Holder", new BigDecimal("10.00")));
+        repository.save(new Account("RICH", "Rich Holder", new BigDecimal("1000000000000.00")));
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(64), new NoOpAccountJournal(),
+            new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        exceptionHandler = new GlobalExceptionHandler();
+        servletRequest = new MockHttpServletRequest("POST", PATH);
+        declined = new TransferRequest("POOR", null, new BigDecimal("25.00"));
+        applied = new TransferRequest("RICH", null, new BigDecimal("0.01"));
+    }
+
+    @Benchmark
+    public Object thrown() {
+        try {
+            return transferUseCase.execute(declined);
+        } catch (InsufficientFundsException ex) {
+            return exceptionHandler.handleInsufficientFundsException(ex, servletRequest);
+        }
+    }
+
+    @Benchmark
+    public Object returned() {
+        TransferAttempt attempt = transferUseCase.attempt(declined);
+        return attempt.succeeded() ? attempt.result() : TransferFailureResponses.of(attempt.failure(), PATH);
+    }
+
+    @Benchmark
+    public Object succeeded() {
+        return transferUseCase.attempt(applied);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.usecase.SearchAccountsUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holder searches through {@link SearchAccountsUseCase}, which resolves the index hits
+ * against the store, next to the full scan of every account they replace. Holders are
+ * drawn from a pool of {@code accounts / 4} names, so an exact name matches about four
+ * accounts. Run with {@code -p accounts=10000000} and a large heap for the 10M case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolderSearchBenchmark {
+
+    @Param({"1000000"})
+    public int accounts;
+
+    private AccountRepository repository;
+    private SearchAccountsUseCase searchAccountsUseCase;
+    private int holders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AccountRepository();
+        AccountHolderIndex holderIndex = new AccountHolderIndex();
+        holders = Math.max(1, accounts / 4);
+        for (int i = 0; i < accounts; i++) {
+            Account account = repository.save(new Account("ACC" + i, holderName(i % holders), 1_000L));
+            holderIndex.add(account);
+        }
+        searchAccountsUseCase = new SearchAccountsUseCase(repository, holderIndex);
+    }
+
+    @Benchmark
+    public List<Account> exact() {
+        return searchAccountsUseCase.execute(randomHolder(), false, 50);
+    }
+
+    @Benchmark
+    public List<Account> prefix() {
+        String holder = randomHolder();
+        return searchAccountsUseCase.execute(holder.substring(0, holder.length() - 2), true, 50);
+    }
+
+    @Benchmark
+    @Measurement(iterations = 3, time = 5)
+    public List<Account> fullScan() {
+        String holder = randomHolder();
+        List<Account> matches = new ArrayList<>();
+        for (Account account : repository.findAll().values()) {
+            if (account.accountHolder().equalsIgnoreCase(holder)) {
+                matches.add(account);
+            }
+        }
+        return matches;
+    }
+
+    private String randomHolder() {
+        return holderName(ThreadLocalRandom.current().nextInt(holders));
+    }
+
+    private static String holderName(int holder) {
+        return "Holder " + holder;
+    }
+}
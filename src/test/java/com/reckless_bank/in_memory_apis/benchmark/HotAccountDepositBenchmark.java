@@ -0,0 +1,66 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferAttempt;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.SequentialAccountIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit throughput to a single account from 64 threads, with the account a plain heap
+ * entry ({@code hot=false}) or a striped hot account ({@code hot=true}), both at the
+ * store and through {@link TransferUseCase}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class HotAccountDepositBenchmark {
+
+    private static final String MERCHANT = "MERCHANT";
+
+    @Param({"false", "true"})
+    public boolean hot;
+
+    @Param({"16"})
+    public int cells;
+
+    private AccountRepository repository;
+    private TransferUseCase transferUseCase;
+    private TransferRequest deposit;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        String[] hotAccountIds = hot ? new String[]{MERCHANT} : new String[0];
+        repository = new AccountRepository(new SequentialAccountIdGenerator("ACC", null), hotAccountIds, cells);
+        repository.save(new Account(MERCHANT, "Merchant", 0L));
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(64), new NoOpAccountJournal(),
+            new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+        deposit = new TransferRequest(null, MERCHANT, new BigDecimal("0.01"));
+    }
+
+    @Benchmark
+    public Optional<Account> credit() {
+        return repository.credit(MERCHANT, 1L);
+    }
+
+    @Benchmark
+    public TransferAttempt deposit() {
+        return transferUseCase.attempt(deposit);
+    }
+}
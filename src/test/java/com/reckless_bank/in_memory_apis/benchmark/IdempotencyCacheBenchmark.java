@@ -0,0 +1,62 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.idempotency.IdempotencyCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the idempotency cache around a trivial operation:
+ * <ul>
+ *   <li>{@code hit}: a retried key, answered from the cache without running the operation</li>
+ *   <li>{@code churn}: a fresh key every call, so each call inserts an entry and, once the
+ *   cache is full, evicts the oldest one</li>
+ *   <li>{@code uncached}: no key, the baseline</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdempotencyCacheBenchmark {
+
+    private static final Object REQUEST = "transfer ACC1->ACC2 1.00";
+    private static final Supplier<Object> OPERATION = () -> REQUEST;
+
+    @Param({"100000"})
+    public int maxEntries;
+
+    private IdempotencyCache cache;
+    private String[] retriedKeys;
+    private final AtomicLong nextKey = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new IdempotencyCache(maxEntries, 3600);
+        retriedKeys = new String[maxEntries / 2];
+        for (int i = 0; i < retriedKeys.length; i++) {
+            retriedKeys[i] = "retry-" + i;
+            cache.execute(retriedKeys[i], REQUEST, OPERATION);
+        }
+    }
+
+    @Benchmark
+    public Object hit() {
+        return cache.execute(retriedKeys[ThreadLocalRandom.current().nextInt(retriedKeys.length)], REQUEST, OPERATION);
+    }
+
+    @Benchmark
+    public Object churn() {
+        return cache.execute("fresh-" + nextKey.incrementAndGet(), REQUEST, OPERATION);
+    }
+
+    @Benchmark
+    public Object uncached() {
+        return cache.execute(null, REQUEST, OPERATION);
+    }
+}
@@ -0,0 +1,73 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.FileAccountJournal;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.JournalDurability;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acknowledged journal writes per millisecond for each durability mode.
+ * Each operation appends a transfer entry and waits in flush() as the use cases do,
+ * so BATCH shows how group commit amortises one fsync over concurrent callers and
+ * SYNC shows the cost of an fsync per operation.
+ * Run {@link #main} to sweep thread counts; each run writes target/jmh-journal-&lt;threads&gt;t.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalThroughputBenchmark {
+
+    @Param({"NONE", "BATCH", "SYNC"})
+    public JournalDurability durability;
+
+    @Param({"1"})
+    public long flushIntervalMillis;
+
+    private Path directory;
+    private FileAccountJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new FileAccountJournal(directory.resolve("journal.log"), durability, flushIntervalMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(directory.resolve("journal.log"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void appendAndFlush() {
+        int from = ThreadLocalRandom.current().nextInt(10_000);
+        journal.append(JournalEntry.transferred("ACC" + from, "ACC" + (from + 1), 100L));
+        journal.flush();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 4, 16, 64}) {
+            Options options = new OptionsBuilder()
+                .include(JournalThroughputBenchmark.class.getSimpleName())
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-journal-" + threads + "t.json")
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
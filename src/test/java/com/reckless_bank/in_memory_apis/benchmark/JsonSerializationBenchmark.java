@@ -0,0 +1,118 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reckless_bank.in_memory_apis.account.application.dto.BatchTransferResult;
+import com.reckless_bank.in_memory_apis.account.application.dto.CreateAccountRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferOutcome;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferResult;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.model.AccountTransaction;
+import com.reckless_bank.in_memory_apis.account.domain.model.TransactionPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the request and response bodies on the hot endpoints: reading
+ * create-account, transfer and batch requests, and writing accounts, transfer results,
+ * batch results and transaction history pages. Readers and writers are resolved once,
+ * as Spring's message converters cache them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ObjectReader createAccountReader;
+    private ObjectReader transferReader;
+    private ObjectReader batchReader;
+    private ObjectWriter writer;
+
+    private byte[] createAccountJson;
+    private byte[] transferJson;
+    private byte[] batchJson;
+    private Account account;
+    private TransferResult transferResult;
+    private BatchTransferResult batchResult;
+    private TransactionPage transactionPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        createAccountReader = objectMapper.readerFor(CreateAccountRequest.class);
+        transferReader = objectMapper.readerFor(TransferRequest.class);
+        batchReader = objectMapper.readerFor(new TypeReference<List<TransferRequest>>() { });
+        writer = objectMapper.writer();
+
+        createAccountJson = "{\"accountHolder\":\"John Doe\",\"initialBalance\":1000.00}".getBytes();
+        transferJson = "{\"fromAccountId\":\"ACC001\",\"toAccountId\":\"ACC002\",\"amount\":25.50}".getBytes();
+        List<TransferRequest> batch = new ArrayList<>(BATCH_SIZE);
+        List<TransferOutcome> outcomes = new ArrayList<>(BATCH_SIZE);
+        account = new Account("ACC001", "John Doe", 100_000L);
+        Account counterparty = new Account("ACC002", "Jane Smith", 50_000L);
+        transferResult = new TransferResult(account, counterparty);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new TransferRequest("ACC" + i, "ACC" + (i + 1), AMOUNT));
+            outcomes.add(TransferOutcome.succeeded(i, transferResult));
+        }
+        batchJson = objectMapper.writeValueAsBytes(batch);
+        batchResult = BatchTransferResult.of(false, outcomes);
+
+        List<AccountTransaction> transactions = new ArrayList<>(50);
+        for (int i = 50; i > 0; i--) {
+            transactions.add(new AccountTransaction(i, AccountTransaction.Type.TRANSFER_OUT, "ACC002", 2_550L,
+                100_000L - i, 1_760_000_000_000L + i));
+        }
+        transactionPage = new TransactionPage(transactions, "1", 0, 0);
+    }
+
+    @Benchmark
+    public CreateAccountRequest readCreateAccountRequest() throws IOException {
+        return createAccountReader.readValue(createAccountJson);
+    }
+
+    @Benchmark
+    public TransferRequest readTransferRequest() throws IOException {
+        return transferReader.readValue(transferJson);
+    }
+
+    @Benchmark
+    public List<TransferRequest> readBatchRequest() throws IOException {
+        return batchReader.readValue(batchJson);
+    }
+
+    @Benchmark
+    public byte[] writeAccount() throws IOException {
+        return writer.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] writeTransferResult() throws IOException {
+        return writer.writeValueAsBytes(transferResult);
+    }
+
+    @Benchmark
+    public byte[] writeBatchResult() throws IOException {
+        return writer.writeValueAsBytes(batchResult);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionPage() throws IOException {
+        return writer.writeValueAsBytes(transactionPage);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.domain.repository.IAccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.metrics.MeteredAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Micrometer instrumentation: transfers through the use case and bare repository
+ * lookups, with metrics {@code off} (unwrapped store, meters bound to no registry) and
+ * {@code on} (metered store and use-case timers recording into a cumulative registry, as
+ * the Prometheus registry does).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"off", "on"})
+    public String metrics;
+
+    @Param({"10000"})
+    public int accounts;
+
+    private IAccountRepository repository;
+    private TransferUseCase transferUseCase;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository store = new AccountRepository();
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "ACC" + i;
+            store.save(new Account(accountIds[i], "Holder " + i, new BigDecimal("1000000000.00")));
+        }
+        AccountMetrics accountMetrics;
+        if (metrics.equals("on")) {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            repository = new MeteredAccountRepository(store, registry, 16);
+            accountMetrics = new AccountMetrics(registry);
+        } else {
+            repository = store;
+            accountMetrics = AccountMetrics.disabled();
+        }
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(1024), new NoOpAccountJournal(),
+            new TransactionHistory(0), accountMetrics, BalanceIndex.disabled(), new BankAggregates(repository));
+    }
+
+    @Benchmark
+    public Object transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return transferUseCase.execute(new TransferRequest(accountIds[from], accountIds[to], AMOUNT));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(accountIds[ThreadLocalRandom.current().nextInt(accounts)]);
+    }
+}
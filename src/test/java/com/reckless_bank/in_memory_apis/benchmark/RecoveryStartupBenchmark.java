@@ -0,0 +1,121 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.index.AccountHolderIndex;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.AccountSnapshotFile;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.AccountSnapshotManager;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.FileAccountJournal;
+import com.reckless_bank.in_memory_apis.account.infrastructure.journal.JournalDurability;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Startup recovery time for N accounts, from a snapshot plus a journal tail of
+ * N/10 operations, compared with replaying the whole journal. Startup time covers
+ * opening the journal and recovering into an empty repository.
+ * Not a JMH benchmark: recovery is a one-shot cold path, so it is timed directly
+ * after a small warm-up round.
+ * Usage: RecoveryStartupBenchmark [accounts] [threads], run with a heap large enough for the accounts.
+ */
+public class RecoveryStartupBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path directory = Files.createTempDirectory("recovery-benchmark");
+        try {
+            // Warm up class loading, logging and the JIT so the measured rounds reflect recovery itself
+            measureSnapshotRecovery(directory, 200_000, threads);
+            measureFullReplay(directory, 200_000, threads);
+            measureSnapshotRecovery(directory, accounts, threads);
+            measureFullReplay(directory, accounts, threads);
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void measureSnapshotRecovery(Path directory, int accounts, int threads) throws IOException {
+        Path journalPath = directory.resolve("snapshot-journal.log");
+        Path snapshotPath = directory.resolve("snapshot.bin");
+        long writeMillis;
+        try (FileAccountJournal journal = new FileAccountJournal(journalPath, JournalDurability.NONE, 10)) {
+            long sequence = journal.checkpoint(sealed -> sealed);
+            long writeStart = System.nanoTime();
+            AccountSnapshotFile.write(snapshotPath, generatedAccounts(accounts), sequence);
+            writeMillis = (System.nanoTime() - writeStart) / 1_000_000;
+            journal.deleteArchivesThrough(sequence);
+            appendTail(journal, accounts, accounts / 10);
+        }
+
+        System.gc();
+        AccountRepository repository = new AccountRepository();
+        long start = System.nanoTime();
+        try (FileAccountJournal journal = new FileAccountJournal(journalPath, JournalDurability.NONE, 10)) {
+            new AccountSnapshotManager(repository, journal, new AccountHolderIndex(),
+                new BalanceIndex(repository, true, 0), new BankAggregates(repository), snapshotPath, 0, false, threads).recover();
+            System.out.printf("snapshot   accounts=%d threads=%d snapshotSize=%.1fMB write=%dms startup=%dms (tail %d ops)%n",
+                accounts, threads, Files.size(snapshotPath) / 1e6, writeMillis,
+                (System.nanoTime() - start) / 1_000_000, accounts / 10);
+        }
+        Files.delete(snapshotPath);
+        Files.delete(journalPath);
+    }
+
+    private static void measureFullReplay(Path directory, int accounts, int threads) throws IOException {
+        Path journalPath = directory.resolve("full-journal.log");
+        try (FileAccountJournal journal = new FileAccountJournal(journalPath, JournalDurability.NONE, 10)) {
+            for (int i = 0; i < accounts; i++) {
+                journal.append(JournalEntry.created("ACC" + i, "Account Holder " + i, 100_000L));
+            }
+            appendTail(journal, accounts, accounts / 10);
+        }
+
+        System.gc();
+        AccountRepository repository = new AccountRepository();
+        long start = System.nanoTime();
+        try (FileAccountJournal journal = new FileAccountJournal(journalPath, JournalDurability.NONE, 10)) {
+            new AccountSnapshotManager(repository, journal, new AccountHolderIndex(),
+                new BalanceIndex(repository, true, 0), new BankAggregates(repository), directory.resolve("absent.bin"), 0, false, threads).recover();
+            System.out.printf("fullReplay accounts=%d threads=%d journalSize=%.1fMB startup=%dms (%d ops)%n",
+                accounts, threads, Files.size(journalPath) / 1e6, (System.nanoTime() - start) / 1_000_000,
+                accounts + accounts / 10);
+        }
+        Files.delete(journalPath);
+    }
+
+    private static void appendTail(FileAccountJournal journal, int accounts, int operations) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < operations; i++) {
+            int from = random.nextInt(accounts);
+            journal.append(JournalEntry.transferred("ACC" + from, "ACC" + ((from + 1) % accounts), 1L));
+        }
+    }
+
+    // Accounts are generated on demand so the source data does not occupy the heap
+    private static AbstractList<Account> generatedAccounts(int accounts) {
+        return new AbstractList<>() {
+            @Override
+            public Account get(int index) {
+                return new Account("ACC" + index, "Account Holder " + index, 100_000L);
+            }
+
+            @Override
+            public int size() {
+                return accounts;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.JournalEntry;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording transaction history on the striped transfer path: throughput with
+ * history disabled ({@code capacity} 0) against the default and a large per-account ring.
+ * Every account's ring is filled during setup so the measured appends include compaction.
+ * Run {@link #main} to sweep thread counts; each run writes target/jmh-history-&lt;threads&gt;t.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionHistoryBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"0", "256", "4096"})
+    public int capacity;
+
+    @Param({"10000"})
+    public int accounts;
+
+    private TransferUseCase transferUseCase;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository repository = new AccountRepository();
+        TransactionHistory history = new TransactionHistory(capacity);
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "ACC" + i;
+            repository.save(new Account(accountIds[i], "Holder " + i, new BigDecimal("1000000000.00")));
+            for (int j = 0; j < capacity; j++) {
+                history.record(JournalEntry.deposited(accountIds[i], 1L), 1L);
+            }
+        }
+        transferUseCase = new TransferUseCase(repository, new AccountLockStripes(1024), new NoOpAccountJournal(), history, AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+    }
+
+    @Benchmark
+    public Object transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return transferUseCase.execute(new TransferRequest(accountIds[from], accountIds[to], AMOUNT));
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 4, 16}) {
+            Options options = new OptionsBuilder()
+                .include(TransactionHistoryBenchmark.class.getSimpleName())
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-history-" + threads + "t.json")
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
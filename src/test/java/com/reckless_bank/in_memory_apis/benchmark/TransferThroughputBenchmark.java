@@ -0,0 +1,111 @@
+package com.reckless_bank.in_memory_apis.benchmark;
+
+import com.reckless_bank.in_memory_apis.account.application.concurrency.AccountLockStripes;
+import com.reckless_bank.in_memory_apis.account.application.dto.TransferRequest;
+import com.reckless_bank.in_memory_apis.account.application.history.TransactionHistory;
+import com.reckless_bank.in_memory_apis.account.application.index.BalanceIndex;
+import com.reckless_bank.in_memory_apis.account.application.journal.NoOpAccountJournal;
+import com.reckless_bank.in_memory_apis.account.application.metrics.AccountMetrics;
+import com.reckless_bank.in_memory_apis.account.application.stats.BankAggregates;
+import com.reckless_bank.in_memory_apis.account.application.usecase.SequencedTransferUseCase;
+import com.reckless_bank.in_memory_apis.account.application.usecase.TransferUseCase;
+import com.reckless_bank.in_memory_apis.account.domain.model.Account;
+import com.reckless_bank.in_memory_apis.account.domain.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer throughput of the striped-lock engine against a single global lock,
+ * the single-writer sequenced engine and the previous unsynchronized read-modify-write path.
+ * With the {@code hotKey} distribution nine in ten transfers touch one of
+ * {@value #HOT_ACCOUNTS} hot accounts, so threads contend on the same stripes and entries.
+ * Run {@link #main} to sweep thread counts; each run writes target/jmh-transfer-&lt;threads&gt;t.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferThroughputBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    static final int HOT_ACCOUNTS = 16;
+
+    @Param({"striped", "globalLock", "sequenced", "unsynchronized"})
+    public String engine;
+
+    @Param({"uniform", "hotKey"})
+    public String distribution;
+
+    @Param({"10000"})
+    public int accounts;
+
+    private AccountRepository repository;
+    private TransferUseCase transferUseCase;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AccountRepository();
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "ACC" + i;
+            repository.save(new Account(accountIds[i], "Holder " + i, new BigDecimal("1000000000.00")));
+        }
+        int stripes = "globalLock".equals(engine) ? 1 : 1024;
+        transferUseCase = "sequenced".equals(engine)
+            ? new SequencedTransferUseCase(repository, new AccountLockStripes(stripes), new NoOpAccountJournal(), new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository), 65536)
+            : new TransferUseCase(repository, new AccountLockStripes(stripes), new NoOpAccountJournal(), new TransactionHistory(0), AccountMetrics.disabled(), BalanceIndex.disabled(), new BankAggregates(repository));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (transferUseCase instanceof SequencedTransferUseCase sequenced) {
+            sequenced.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Object transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = "hotKey".equals(distribution) && random.nextInt(10) != 0
+            ? random.nextInt(HOT_ACCOUNTS)
+            : random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        TransferRequest request = new TransferRequest(accountIds[from], accountIds[to], AMOUNT);
+        if ("unsynchronized".equals(engine)) {
+            return unsynchronizedTransfer(request);
+        }
+        return transferUseCase.execute(request);
+    }
+
+    // The pre-striping path: two reads, two saves, no coordination
+    private Account unsynchronizedTransfer(TransferRequest request) {
+        Account fromAccount = repository.findById(request.fromAccountId()).orElseThrow();
+        Account toAccount = repository.findById(request.toAccountId()).orElseThrow();
+        Account updatedFrom = fromAccount.withdraw(request.amountCents());
+        Account updatedTo = toAccount.deposit(request.amountCents());
+        repository.save(updatedFrom);
+        return repository.save(updatedTo);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            Options options = new OptionsBuilder()
+                .include(TransferThroughputBenchmark.class.getSimpleName())
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-transfer-" + threads + "t.json")
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -58,6 +58,7 @@ class GlobalExceptionHandlerTest {
         assertTrue(errorResponse.message().contains(accountId));
         assertEquals("/api/accounts/test", errorResponse.path());
         assertNotNull(errorResponse.traceId());
+        assertTrue(errorResponse.traceId().matches("[0-9a-f]{8}"));
     }
 
     @Test
@@ -116,6 +117,24 @@ class GlobalExceptionHandlerTest {
         assertEquals(details, responseDetails.get("details"));
     }
 
+    @Test
+    void shouldHandleIdempotencyKeyReusedException() {
+        // Given
+        IdempotencyKeyReusedException exception = new IdempotencyKeyReusedException("retry-42");
+
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+            .handleIdempotencyKeyReusedException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        ErrorResponse errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(422, errorResponse.status());
+        assertEquals("Idempotency Key Reused", errorResponse.error());
+        assertEquals("retry-42", errorResponse.details().get("idempotencyKey"));
+    }
+
     @Test
     void shouldHandleRepositoryException() {
         // Given
@@ -0,0 +1,49 @@
+package com.reckless_bank.in_memory_apis.common.exception;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SampledLoggerTest {
+
+    @Test
+    void shouldLogOncePerIntervalAndReportSuppressedCount() {
+        // Given
+        Logger logger = mock(Logger.class);
+        when(logger.isWarnEnabled()).thenReturn(true);
+        AtomicLong now = new AtomicLong();
+        SampledLogger sampled = new SampledLogger(logger, Duration.ofSeconds(1), now::get);
+
+        // When
+        sampled.warn("Declined - AccountId: {}", "ACC001");
+        sampled.warn("Declined - AccountId: {}", "ACC002");
+        sampled.warn("Declined - AccountId: {}", "ACC003");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sampled.warn("Declined - AccountId: {}", "ACC004");
+
+        // Then
+        verify(logger).warn("Declined - AccountId: {}", new Object[]{"ACC001"});
+        verify(logger).warn("Declined - AccountId: {}, Suppressed since last: {}", new Object[]{"ACC004", 2L});
+        verify(logger, times(2)).warn(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void shouldNotCountWhenWarnIsDisabled() {
+        // Given
+        Logger logger = mock(Logger.class);
+        SampledLogger sampled = new SampledLogger(logger, Duration.ofSeconds(1));
+
+        // When
+        sampled.warn("Declined - AccountId: {}", "ACC001");
+
+        // Then
+        verify(logger, never()).warn(anyString(), any(Object[].class));
+    }
+}
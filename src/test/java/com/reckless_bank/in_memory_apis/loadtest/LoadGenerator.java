@@ -0,0 +1,282 @@
+package com.reckless_bank.in_memory_apis.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop HTTP load generator for a running instance, started with
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=2000 --duration=60"}.
+ * Creates {@code --accounts} accounts through the bulk import endpoint, then starts requests
+ * on a fixed schedule of {@code --rate} per second, drawing operations from {@code --mix}
+ * and accounts from a Zipf distribution. Requests are sent asynchronously, so a slow
+ * response never delays the next request.
+ * Latency is measured from the moment a request was scheduled to start, not from when it
+ * was actually sent, so time a request spent queued behind a stalled generator or server
+ * is counted (no coordinated omission). The uncorrected service time is reported alongside.
+ * With {@code --connections} it runs closed loop instead: that many clients each send their
+ * next request as soon as the previous one completes, which holds that many connections
+ * open; latency is then the service time, since there is no schedule to fall behind.
+ */
+public final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int IMPORT_CHUNK = 10_000;
+    private static final String JSON = "application/json";
+
+    private final LoadOptions options;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ZipfianAccountChooser chooser;
+    private final Operation[] schedule;
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> failures = new EnumMap<>(Operation.class);
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong maxOutstanding = new AtomicLong();
+    private String[] accountIds;
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.chooser = new ZipfianAccountChooser(options.accounts(), options.skew());
+        this.schedule = scheduleOf(options.mix());
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            serviceTimes.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            failures.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadGenerator generator = new LoadGenerator(options);
+        generator.createAccounts();
+        generator.run();
+        generator.report(System.out);
+    }
+
+    void createAccounts() throws IOException, InterruptedException {
+        List<String> ids = new ArrayList<>(options.accounts());
+        URI bulkUri = URI.create(options.baseUri() + "/api/accounts/bulk");
+        while (ids.size() < options.accounts()) {
+            int count = Math.min(IMPORT_CHUNK, options.accounts() - ids.size());
+            StringBuilder body = new StringBuilder(count * 64);
+            for (int i = 0; i < count; i++) {
+                body.append("{\"accountHolder\":\"Load Holder ").append(ids.size() + i)
+                    .append("\",\"initialBalance\":1000000000.00}\n");
+            }
+            HttpRequest request = HttpRequest.newBuilder(bulkUri)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                throw new IOException("Bulk import failed with status " + response.statusCode());
+            }
+            for (String line : (Iterable<String>) response.body()::iterator) {
+                JsonNode outcome = objectMapper.readTree(line);
+                if (!outcome.hasNonNull("accountId")) {
+                    throw new IOException("Bulk import rejected a line: " + line);
+                }
+                ids.add(outcome.get("accountId").asText());
+            }
+        }
+        accountIds = ids.toArray(String[]::new);
+    }
+
+    void run() {
+        if (options.connections() > 0) {
+            runClosedLoop();
+        } else {
+            runOpenLoop();
+        }
+    }
+
+    private void runOpenLoop() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            // When behind schedule, send immediately; the lag is charged to these requests
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            pending.add(send(nextOperation(), intended, intended >= recordFrom));
+            if (pending.size() >= 100_000) {
+                pending.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void runClosedLoop() {
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        CompletableFuture<?>[] clients = new CompletableFuture[options.connections()];
+        for (int i = 0; i < clients.length; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            sendUntil(recordFrom, end, done);
+            clients[i] = done;
+        }
+        CompletableFuture.allOf(clients).join();
+    }
+
+    // One closed-loop client; continues asynchronously so a failing server cannot grow the stack
+    private void sendUntil(long recordFrom, long end, CompletableFuture<Void> done) {
+        long now = System.nanoTime();
+        if (now >= end) {
+            done.complete(null);
+            return;
+        }
+        send(nextOperation(), now, now >= recordFrom).whenCompleteAsync((ignored, failure) -> sendUntil(recordFrom, end, done));
+    }
+
+    private Operation nextOperation() {
+        return schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+    }
+
+    private CompletableFuture<?> send(Operation operation, long intended, boolean record) {
+        HttpRequest request = requestFor(operation);
+        long sent = System.nanoTime();
+        long inFlight = outstanding.incrementAndGet();
+        maxOutstanding.accumulateAndGet(inFlight, Math::max);
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, failure) -> {
+                long now = System.nanoTime();
+                outstanding.decrementAndGet();
+                if (record) {
+                    latencies.get(operation).recordValue(Math.min(now - intended, HIGHEST_TRACKABLE_NANOS));
+                    serviceTimes.get(operation).recordValue(Math.min(now - sent, HIGHEST_TRACKABLE_NANOS));
+                    if (failure != null || response.statusCode() >= 400) {
+                        failures.get(operation).incrementAndGet();
+                    }
+                }
+                return null;
+            });
+    }
+
+    private HttpRequest requestFor(Operation operation) {
+        String accounts = options.baseUri() + "/api/accounts";
+        int account = chooser.next();
+        String accountId = accountIds[account];
+        return switch (operation) {
+            case CREATE -> post(accounts, "{\"accountHolder\":\"Load Holder\",\"initialBalance\":100.00}");
+            case DEPOSIT -> post(accounts + "/" + accountId + "/deposit", "{\"amount\":1.00}");
+            case WITHDRAW -> post(accounts + "/" + accountId + "/withdraw", "{\"amount\":1.00}");
+            case TRANSFER -> post(accounts + "/transfer", "{\"fromAccountId\":\"" + accountId
+                + "\",\"toAccountId\":\"" + accountIds[chooser.nextOther(account)] + "\",\"amount\":1.00}");
+            case BALANCE -> HttpRequest.newBuilder(URI.create(accounts + "/" + accountId + "/balance")).GET().build();
+        };
+    }
+
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    void report(PrintStream out) throws IOException {
+        String load = options.connections() > 0
+            ? options.connections() + " connections"
+            : options.rate() + " requests/s";
+        out.printf("%s for %d s after %d s warmup, %d accounts, skew %.2f, peak %d in flight%n",
+            load, options.durationSeconds(), options.warmupSeconds(), options.accounts(), options.skew(),
+            maxOutstanding.get());
+        out.println(options.connections() > 0
+            ? "Latency from send, closed loop (ms):"
+            : "Latency from intended start, corrected for coordinated omission (ms):");
+        out.printf("%-10s %10s %8s %9s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long totalFailures = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalFailures += failures.get(operation).get();
+            printRow(out, operation.name().toLowerCase(), histogram, failures.get(operation).get());
+        }
+        printRow(out, "all", total, totalFailures);
+        out.printf("Throughput: %.0f requests/s%n", (double) total.getTotalCount() / options.durationSeconds());
+
+        if (options.connections() == 0) {
+            Histogram service = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            serviceTimes.values().forEach(service::add);
+            out.println("Uncorrected service time, send to response (ms):");
+            printRow(out, "all", service, totalFailures);
+        }
+
+        if (options.histogramDirectory() != null) {
+            Files.createDirectories(options.histogramDirectory());
+            for (Operation operation : Operation.values()) {
+                try (PrintStream file = new PrintStream(
+                        Files.newOutputStream(options.histogramDirectory().resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                    latencies.get(operation).outputPercentileDistribution(file, 1_000_000.0);
+                }
+            }
+            try (PrintStream file = new PrintStream(Files.newOutputStream(options.histogramDirectory().resolve("all.hgrm")))) {
+                total.outputPercentileDistribution(file, 1_000_000.0);
+            }
+            out.println("Percentile distributions written to " + options.histogramDirectory());
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors) {
+        out.printf("%-10s %10d %8d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, histogram.getTotalCount(), errors,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getValueAtPercentile(99.99)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // One slot per unit of weight, so a uniform draw over the array follows the mix
+    private static Operation[] scheduleOf(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+}
@@ -0,0 +1,90 @@
+package com.reckless_bank.in_memory_apis.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load run, parsed from {@code --name=value} arguments.
+ * @param baseUri Root of the running instance
+ * @param rate Requests started per second, independent of how fast responses arrive
+ * @param connections Closed-loop clients, each sending its next request when the previous
+ *                    one completes; 0 for the open-loop {@code rate}
+ * @param warmupSeconds Seconds of load before recording starts
+ * @param durationSeconds Seconds of recorded load
+ * @param accounts Accounts created before the run and targeted by the operations
+ * @param skew Zipf exponent of the account choice; 0 is uniform, 0.99 is YCSB's default skew
+ * @param mix Relative weight of each operation
+ * @param histogramDirectory Where to write one .hgrm percentile file per operation, or null
+ */
+record LoadOptions(URI baseUri, int rate, int connections, int warmupSeconds, int durationSeconds, int accounts, double skew,
+                   Map<Operation, Integer> mix, Path histogramDirectory) {
+
+    static final String USAGE = """
+        Options (all optional):
+          --url=http://localhost:8080     instance under test
+          --rate=1000                     requests started per second
+          --connections=0                 instead of --rate, keep this many requests in flight
+          --warmup=10                     seconds before recording starts
+          --duration=60                   seconds recorded
+          --accounts=10000                accounts created up front
+          --skew=0.99                     Zipf exponent of account choice, 0 for uniform
+          --mix=create:5,deposit:20,withdraw:20,transfer:40,balance:15
+          --hgrm=target/loadtest          write <operation>.hgrm percentile files here
+        """;
+
+    LoadOptions {
+        if (rate < 1 || connections < 0 || accounts < 2 || durationSeconds < 1 || warmupSeconds < 0 || skew < 0) {
+            throw new IllegalArgumentException("Rate and duration must be positive, skew and connections not negative, and accounts at least 2");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+    }
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String hgrm = values.remove("hgrm");
+        LoadOptions options = new LoadOptions(
+            URI.create(values.getOrDefault("url", "http://localhost:8080").replaceAll("/+$", "")),
+            Integer.parseInt(values.getOrDefault("rate", "1000")),
+            Integer.parseInt(values.getOrDefault("connections", "0")),
+            Integer.parseInt(values.getOrDefault("warmup", "10")),
+            Integer.parseInt(values.getOrDefault("duration", "60")),
+            Integer.parseInt(values.getOrDefault("accounts", "10000")),
+            Double.parseDouble(values.getOrDefault("skew", "0.99")),
+            parseMix(values.getOrDefault("mix", "create:5,deposit:20,withdraw:20,transfer:40,balance:15")),
+            hgrm == null ? null : Path.of(hgrm));
+        values.keySet().removeAll(List.of("url", "rate", "connections", "warmup", "duration", "accounts", "skew", "mix"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in the mix but got " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative");
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        return weights;
+    }
+}
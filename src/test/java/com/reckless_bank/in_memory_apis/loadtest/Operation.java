@@ -0,0 +1,8 @@
+package com.reckless_bank.in_memory_apis.loadtest;
+
+/**
+ * The AccountController operations the load generator drives.
+ */
+enum Operation {
+    CREATE, DEPOSIT, WITHDRAW, TRANSFER, BALANCE
+}
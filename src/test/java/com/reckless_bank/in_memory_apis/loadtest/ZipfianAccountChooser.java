@@ -0,0 +1,41 @@
+package com.reckless_bank.in_memory_apis.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks account indexes with a Zipf distribution: index i is chosen with probability
+ * proportional to 1 / (i + 1)^skew, so a skew of 0 is uniform and larger skews
+ * concentrate traffic on the first accounts. Sampling is a binary search of the
+ * precomputed cumulative distribution.
+ */
+final class ZipfianAccountChooser {
+
+    private final double[] cumulative;
+
+    ZipfianAccountChooser(int accounts, double skew) {
+        cumulative = new double[accounts];
+        double total = 0;
+        for (int i = 0; i < accounts; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < accounts; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    // A second, different account, for transfers
+    int nextOther(int account) {
+        int other = next();
+        while (other == account) {
+            other = next();
+        }
+        return other;
+    }
+}